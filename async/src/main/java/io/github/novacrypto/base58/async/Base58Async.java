@@ -0,0 +1,255 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58.async;
+
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.Base58IncrementalDecoder;
+import io.github.novacrypto.base58.Base58IncrementalEncoder;
+import io.github.novacrypto.base58.Base58Limits;
+
+import java.nio.CharBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Encodes and decodes on an {@link Executor}, returning {@link CompletableFuture}s, so that large inputs never block
+ * the calling thread.
+ * <p>
+ * Each thread that does the work uses its own incremental engine, created on first use and reused after that. The
+ * input is fed to the engine in steps of roughly equal work. Between steps the future is checked, so
+ * {@link CompletableFuture#cancel(boolean)} stops the work early. Interrupting the worker thread also stops the work
+ * and cancels the future. Because the cost of each byte grows with the output so far, the steps get shorter as the
+ * input is consumed.
+ * <p>
+ * Inputs up to {@link #inlineLength()} bytes, or the characters that many bytes encode to, are converted on the
+ * calling thread and returned as an already completed future, as that is cheaper than the hand off.
+ * <p>
+ * The input must not be modified until the future completes. Threadsafe.
+ */
+public final class Base58Async {
+
+    /**
+     * Inputs this size and below cost less to convert than to hand to another thread.
+     */
+    public static final int DEFAULT_INLINE_LENGTH = 128;
+
+    /**
+     * Approximate number of digit operations between cancellation checks, around a millisecond.
+     */
+    private static final int WORK_PER_STEP = 1 << 20;
+
+    private final Base58Alphabet alphabet;
+    private final Base58Limits limits;
+    private final boolean secure;
+    private final int inlineLength;
+
+    private final ThreadLocal<Base58IncrementalEncoder> encoders = new ThreadLocal<Base58IncrementalEncoder>() {
+        @Override
+        protected Base58IncrementalEncoder initialValue() {
+            return secure
+                    ? Base58.newSecureIncrementalEncoder(alphabet, limits)
+                    : Base58.newIncrementalEncoder(alphabet, limits);
+        }
+    };
+
+    private final ThreadLocal<Base58IncrementalDecoder> decoders = new ThreadLocal<Base58IncrementalDecoder>() {
+        @Override
+        protected Base58IncrementalDecoder initialValue() {
+            return secure
+                    ? Base58.newSecureIncrementalDecoder(alphabet, limits)
+                    : Base58.newIncrementalDecoder(alphabet, limits);
+        }
+    };
+
+    private Base58Async(final Base58Alphabet alphabet, final Base58Limits limits, final boolean secure,
+                        final int inlineLength) {
+        if (inlineLength < 0)
+            throw new IllegalArgumentException("inlineLength must not be negative");
+        this.alphabet = alphabet;
+        this.limits = limits;
+        this.secure = secure;
+        this.inlineLength = inlineLength;
+    }
+
+    public static Base58Async newInstance() {
+        return newInstance(Base58Alphabet.BITCOIN, Base58Limits.NONE);
+    }
+
+    public static Base58Async newInstance(final Base58Alphabet alphabet, final Base58Limits limits) {
+        return new Base58Async(alphabet, limits, false, DEFAULT_INLINE_LENGTH);
+    }
+
+    /**
+     * Engines keep their working state in masked buffers and clear them after every conversion, including
+     * cancelled ones. The results themselves are ordinary arrays and strings.
+     */
+    public static Base58Async newSecureInstance() {
+        return newSecureInstance(Base58Alphabet.BITCOIN, Base58Limits.NONE);
+    }
+
+    public static Base58Async newSecureInstance(final Base58Alphabet alphabet, final Base58Limits limits) {
+        return new Base58Async(alphabet, limits, true, DEFAULT_INLINE_LENGTH);
+    }
+
+    /**
+     * @param inlineLength largest input, in bytes, converted on the calling thread, 0 to always use the executor
+     * @return a copy of this with the given inline length
+     */
+    public Base58Async withInlineLength(final int inlineLength) {
+        return new Base58Async(alphabet, limits, secure, inlineLength);
+    }
+
+    public int inlineLength() {
+        return inlineLength;
+    }
+
+    /**
+     * Encodes given bytes as a number in base58.
+     *
+     * @param bytes    bytes to encode, not to be modified until the future completes
+     * @param executor runs the encode, unless the input is small enough to encode inline
+     * @return future base58 string representation
+     */
+    public CompletableFuture<String> encodeAsync(final byte[] bytes, final Executor executor) {
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        if (bytes.length <= inlineLength) {
+            encode(bytes, result);
+            return result;
+        }
+        submit(executor, result, new Runnable() {
+            @Override
+            public void run() {
+                encode(bytes, result);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Decodes given base58 as a number.
+     *
+     * @param base58   string to decode, not to be modified until the future completes
+     * @param executor runs the decode, unless the input is small enough to decode inline
+     * @return future number as bytes, completes exceptionally with the engine's exception for bad input
+     */
+    public CompletableFuture<byte[]> decodeAsync(final CharSequence base58, final Executor executor) {
+        final CompletableFuture<byte[]> result = new CompletableFuture<>();
+        if (base58.length() <= Base58.maximumEncodedLength(inlineLength)) {
+            decode(base58, result);
+            return result;
+        }
+        submit(executor, result, new Runnable() {
+            @Override
+            public void run() {
+                decode(base58, result);
+            }
+        });
+        return result;
+    }
+
+    private static void submit(final Executor executor, final CompletableFuture<?> result, final Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (final RejectedExecutionException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * The engine is always reset before the future completes, as dependent stages can run on this thread straight
+     * away and may use the same engine.
+     */
+    private void encode(final byte[] bytes, final CompletableFuture<String> result) {
+        final Base58IncrementalEncoder encoder = encoders.get();
+        String encoded = null;
+        RuntimeException failure = null;
+        boolean stopped = false;
+        try {
+            int done = 0;
+            while (done < bytes.length && !(stopped = stopped(result))) {
+                final int step = nextStep(done, bytes.length - done);
+                encoder.update(bytes, done, step);
+                done += step;
+            }
+            if (!stopped)
+                encoded = encoder.finish();
+        } catch (final RuntimeException e) {
+            failure = e;
+        } finally {
+            encoder.reset();
+        }
+        complete(result, encoded, failure, stopped);
+    }
+
+    private void decode(final CharSequence base58, final CompletableFuture<byte[]> result) {
+        final Base58IncrementalDecoder decoder = decoders.get();
+        byte[] decoded = null;
+        RuntimeException failure = null;
+        boolean stopped = false;
+        try {
+            final int length = base58.length();
+            int done = 0;
+            while (done < length && !(stopped = stopped(result))) {
+                final int step = nextStep(done, length - done);
+                decoder.update(CharBuffer.wrap(base58, done, done + step));
+                done += step;
+            }
+            if (!stopped)
+                decoded = decoder.finish();
+        } catch (final RuntimeException e) {
+            failure = e;
+        } finally {
+            decoder.reset();
+        }
+        complete(result, decoded, failure, stopped);
+    }
+
+    private static <R> void complete(final CompletableFuture<R> result, final R value,
+                                     final RuntimeException failure, final boolean stopped) {
+        if (stopped)
+            result.cancel(false);
+        else if (failure != null)
+            result.completeExceptionally(failure);
+        else
+            result.complete(value);
+    }
+
+    /**
+     * @return true if the future was cancelled or completed elsewhere, or this thread was interrupted
+     */
+    private static boolean stopped(final CompletableFuture<?> result) {
+        return result.isDone() || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Each input unit costs about one operation per output digit so far, which is proportional to the input so far.
+     * So a step of s units after d costs about s * (d + s), this picks the s that makes that {@link #WORK_PER_STEP}.
+     */
+    static int nextStep(final int done, final int remaining) {
+        final double d = done;
+        final int step = (int) ((Math.sqrt(d * d + 4.0 * WORK_PER_STEP) - d) / 2);
+        return Math.min(remaining, Math.max(1, step));
+    }
+}
@@ -0,0 +1,344 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58.async;
+
+import io.github.novacrypto.base58.BadCharacterException;
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.Base58Limits;
+import io.github.novacrypto.base58.LengthLimitException;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class Base58AsyncTests {
+
+    private static final Executor NOT_USED = new Executor() {
+        @Override
+        public void execute(final Runnable command) {
+            throw new AssertionError("Expected to run inline");
+        }
+    };
+
+    /**
+     * Holds tasks until {@link #runAll()}, on the test thread.
+     */
+    private static final class QueueExecutor implements Executor {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(final Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+    }
+
+    private static byte[] randomBytes(final int length, final long seed) {
+        final byte[] bytes = new byte[length];
+        new Random(seed).nextBytes(bytes);
+        return bytes;
+    }
+
+    @Test
+    public void small_inputs_complete_inline() throws Exception {
+        final Base58Async async = Base58Async.newInstance();
+        final byte[] bytes = randomBytes(async.inlineLength(), 1);
+        final CompletableFuture<String> encoded = async.encodeAsync(bytes, NOT_USED);
+        assertTrue(encoded.isDone());
+        assertEquals(Base58.base58Encode(bytes), encoded.get());
+        final CompletableFuture<byte[]> decoded = async.decodeAsync(encoded.get(), NOT_USED);
+        assertTrue(decoded.isDone());
+        assertArrayEquals(bytes, decoded.get());
+    }
+
+    @Test
+    public void large_inputs_use_the_executor() throws Exception {
+        final Base58Async async = Base58Async.newInstance();
+        final QueueExecutor executor = new QueueExecutor();
+        final byte[] bytes = randomBytes(async.inlineLength() + 1, 2);
+        final CompletableFuture<String> encoded = async.encodeAsync(bytes, executor);
+        assertFalse(encoded.isDone());
+        executor.runAll();
+        assertEquals(Base58.base58Encode(bytes), encoded.get());
+        final CompletableFuture<byte[]> decoded = async.decodeAsync(encoded.get(), executor);
+        assertFalse(decoded.isDone());
+        executor.runAll();
+        assertArrayEquals(bytes, decoded.get());
+    }
+
+    @Test
+    public void matches_static_api_on_a_thread_pool() throws Exception {
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            final Base58Async async = Base58Async.newInstance().withInlineLength(0);
+            final CompletableFuture<?>[] futures = new CompletableFuture<?>[40];
+            for (int i = 0; i < futures.length; i++) {
+                final byte[] bytes = randomBytes(i * 50, i);
+                if (bytes.length > 0)
+                    bytes[0] = 0;
+                final String expected = Base58.base58Encode(bytes);
+                futures[i] = async.encodeAsync(bytes, pool)
+                        .thenCompose(s -> {
+                            assertEquals(expected, s);
+                            return async.decodeAsync(s, pool);
+                        })
+                        .thenAccept(decoded -> assertArrayEquals(bytes, decoded));
+            }
+            CompletableFuture.allOf(futures).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void large_input_spanning_many_steps() throws Exception {
+        final byte[] bytes = randomBytes(8000, 3);
+        final Base58Async async = Base58Async.newSecureInstance();
+        final QueueExecutor executor = new QueueExecutor();
+        final CompletableFuture<String> encoded = async.encodeAsync(bytes, executor);
+        executor.runAll();
+        assertEquals(Base58.base58Encode(bytes), encoded.get());
+        final CompletableFuture<byte[]> decoded = async.decodeAsync(encoded.get(), executor);
+        executor.runAll();
+        assertArrayEquals(bytes, decoded.get());
+    }
+
+    @Test
+    public void other_alphabet() throws Exception {
+        final Base58Async async = Base58Async.newInstance(Base58Alphabet.RIPPLE, Base58Limits.NONE)
+                .withInlineLength(0);
+        final QueueExecutor executor = new QueueExecutor();
+        final byte[] bytes = randomBytes(300, 4);
+        final CompletableFuture<String> encoded = async.encodeAsync(bytes, executor);
+        executor.runAll();
+        assertEquals(Base58.newInstance(Base58Alphabet.RIPPLE).encode(bytes), encoded.get());
+    }
+
+    @Test
+    public void cancelled_before_running_does_no_work_and_leaves_engine_reusable() throws Exception {
+        final Base58Async async = Base58Async.newInstance().withInlineLength(0);
+        final QueueExecutor executor = new QueueExecutor();
+        final CompletableFuture<String> cancelled = async.encodeAsync(randomBytes(500, 5), executor);
+        assertTrue(cancelled.cancel(false));
+        executor.runAll();
+        assertTrue(cancelled.isCancelled());
+        final byte[] bytes = randomBytes(300, 6);
+        final CompletableFuture<String> next = async.encodeAsync(bytes, executor);
+        executor.runAll();
+        assertEquals(Base58.base58Encode(bytes), next.get());
+    }
+
+    @Test
+    public void interrupted_worker_cancels() throws Exception {
+        final Base58Async async = Base58Async.newInstance().withInlineLength(0);
+        final QueueExecutor executor = new QueueExecutor();
+        final CompletableFuture<byte[]> decoded = async.decodeAsync("3mJr7AoUXx2Wqd", executor);
+        Thread.currentThread().interrupt();
+        try {
+            executor.runAll();
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+        assertTrue(decoded.isCancelled());
+    }
+
+    /**
+     * Runs an action when the character at a given index is first read.
+     */
+    private static final class TripwireChars implements CharSequence {
+        private final String chars;
+        private final int trigger;
+        private final Runnable action;
+        int highestRead = -1;
+
+        TripwireChars(final String chars, final int trigger, final Runnable action) {
+            this.chars = chars;
+            this.trigger = trigger;
+            this.action = action;
+        }
+
+        @Override
+        public int length() {
+            return chars.length();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if (index == trigger && highestRead < trigger)
+                action.run();
+            highestRead = Math.max(highestRead, index);
+            return chars.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return chars.substring(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return chars;
+        }
+    }
+
+    private static String base58Chars(final int length) {
+        final StringBuilder chars = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            chars.append('z');
+        }
+        return chars.toString();
+    }
+
+    @Test
+    public void cancelled_between_steps_stops_and_leaves_engine_reusable() throws Exception {
+        final Base58Async async = Base58Async.newInstance();
+        final QueueExecutor executor = new QueueExecutor();
+        final AtomicReference<CompletableFuture<byte[]>> future = new AtomicReference<>();
+        final TripwireChars chars = new TripwireChars(base58Chars(3000), 500, () -> future.get().cancel(false));
+        future.set(async.decodeAsync(chars, executor));
+        executor.runAll();
+        assertTrue(future.get().isCancelled());
+        assertEquals(Base58Async.nextStep(0, 3000) - 1, chars.highestRead);
+        assertArrayEquals(new byte[]{1}, async.decodeAsync("2", NOT_USED).get());
+    }
+
+    @Test
+    public void interrupted_between_steps_cancels_and_leaves_engine_reusable() throws Exception {
+        final Base58Async async = Base58Async.newInstance();
+        final QueueExecutor executor = new QueueExecutor();
+        final TripwireChars chars = new TripwireChars(base58Chars(3000), 500,
+                () -> Thread.currentThread().interrupt());
+        final CompletableFuture<byte[]> decoded = async.decodeAsync(chars, executor);
+        try {
+            executor.runAll();
+        } finally {
+            assertTrue(Thread.interrupted());
+        }
+        assertTrue(decoded.isCancelled());
+        assertArrayEquals(new byte[]{1}, async.decodeAsync("2", NOT_USED).get());
+    }
+
+    @Test
+    public void engine_is_reset_before_dependent_stages_run_after_decode_failure() throws Exception {
+        final Base58Async async = Base58Async.newInstance();
+        final QueueExecutor executor = new QueueExecutor();
+        final StringBuilder bad = new StringBuilder(base58Chars(2000));
+        bad.setCharAt(1500, '0');
+        final CompletableFuture<byte[]> fallback = async.decodeAsync(bad, executor)
+                .exceptionally(e -> async.decodeAsync("2", NOT_USED).join());
+        executor.runAll();
+        assertArrayEquals(new byte[]{1}, fallback.get());
+    }
+
+    @Test
+    public void engine_is_reset_before_dependent_stages_run_after_encode_failure() throws Exception {
+        final Base58Async async = Base58Async.newInstance(Base58Alphabet.BITCOIN,
+                Base58Limits.NONE.withMaxEncodeInputLength(1500));
+        final QueueExecutor executor = new QueueExecutor();
+        final CompletableFuture<String> fallback = async.encodeAsync(randomBytes(2000, 7), executor)
+                .exceptionally(e -> async.encodeAsync(new byte[]{1}, NOT_USED).join());
+        executor.runAll();
+        assertEquals("2", fallback.get());
+    }
+
+    @Test
+    public void engine_is_reset_before_dependent_stages_run_after_success() throws Exception {
+        final Base58Async async = Base58Async.newInstance();
+        final QueueExecutor executor = new QueueExecutor();
+        final byte[] bytes = randomBytes(2000, 8);
+        final CompletableFuture<String> next = async.encodeAsync(bytes, executor)
+                .thenCompose(s -> async.encodeAsync(new byte[]{1}, NOT_USED));
+        executor.runAll();
+        assertEquals("2", next.get());
+    }
+
+    @Test
+    public void bad_character_completes_exceptionally() {
+        final Base58Async async = Base58Async.newInstance().withInlineLength(0);
+        final QueueExecutor executor = new QueueExecutor();
+        final CompletableFuture<byte[]> decoded = async.decodeAsync("3mJr0", executor);
+        executor.runAll();
+        assertTrue(decoded.isCompletedExceptionally());
+        assertThatThrownBy(decoded::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(BadCharacterException.class);
+    }
+
+    @Test
+    public void inline_failure_completes_exceptionally() {
+        final Base58Async async = Base58Async.newInstance(Base58Alphabet.BITCOIN,
+                Base58Limits.NONE.withMaxEncodeInputLength(4));
+        final CompletableFuture<String> encoded = async.encodeAsync(new byte[5], NOT_USED);
+        assertThatThrownBy(encoded::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(LengthLimitException.class);
+    }
+
+    @Test
+    public void rejected_execution_completes_exceptionally() {
+        final ExecutorService pool = Executors.newSingleThreadExecutor();
+        pool.shutdown();
+        final CompletableFuture<String> encoded = Base58Async.newInstance().withInlineLength(0)
+                .encodeAsync(new byte[1], pool);
+        assertThatThrownBy(encoded::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    public void negative_inline_length() {
+        assertThatThrownBy(() -> Base58Async.newInstance().withInlineLength(-1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("inlineLength must not be negative");
+    }
+
+    @Test
+    public void steps_shrink_as_input_is_consumed() {
+        assertEquals(100, Base58Async.nextStep(0, 100));
+        assertEquals(1024, Base58Async.nextStep(0, Integer.MAX_VALUE));
+        assertEquals(632, Base58Async.nextStep(1024, Integer.MAX_VALUE));
+        assertEquals(1, Base58Async.nextStep(1 << 20, Integer.MAX_VALUE));
+        assertEquals(1, Base58Async.nextStep(Integer.MAX_VALUE - 1, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,407 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58.flow;
+
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.Base58Limits;
+import io.github.novacrypto.base58.EncoderDecoder;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link Flow.Processor} that encodes or decodes each item, for one upstream publisher and one subscriber.
+ * <p>
+ * Items are taken from upstream in micro-batches of up to the batch size and converted by an engine that is reused
+ * for every batch. With an {@link Executor} and more than one worker, up to that many batches are converted at once,
+ * each with its own engine, and results are still delivered in upstream order.
+ * <p>
+ * The subscriber never receives more than it has requested. Upstream is asked for at most two batches per worker
+ * ahead of what has been delivered, so memory is bounded however slow the subscriber is.
+ * <p>
+ * A conversion failure, such as a bad character, is delivered with {@code onError} after the results of the items
+ * before it, and upstream is cancelled. An upstream error or completion is delivered after all buffered results.
+ */
+public final class Base58Processor<T, R> implements Flow.Processor<T, R> {
+
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
+    private static final Executor CALLING_THREAD = Runnable::run;
+
+    private interface Conversion<T, R> {
+        R convert(EncoderDecoder engine, T item);
+    }
+
+    private final Conversion<T, R> conversion;
+    private final int batchSize;
+    private final Executor executor;
+    private final long capacity;
+
+    private final ConcurrentLinkedQueue<EncoderDecoder> engines = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<T> inputs = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicReference<Flow.Subscription> upstream = new AtomicReference<>();
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private volatile Flow.Subscriber<? super R> downstream;
+    private volatile boolean upstreamDone;
+    private volatile Throwable upstreamError;
+    private volatile Throwable requestError;
+    private volatile boolean cancelled;
+
+    // Only touched by the thread in drain
+    private final ArrayDeque<Batch> batches = new ArrayDeque<>();
+    private long outstanding;
+    private long buffered;
+    private boolean terminated;
+
+    private Base58Processor(final Conversion<T, R> conversion, final Base58Alphabet alphabet,
+                            final Base58Limits limits, final int batchSize, final Executor executor,
+                            final int workers) {
+        if (batchSize < 1)
+            throw new IllegalArgumentException("batchSize must be positive");
+        if (workers < 1)
+            throw new IllegalArgumentException("workers must be positive");
+        this.conversion = conversion;
+        this.batchSize = batchSize;
+        this.executor = Objects.requireNonNull(executor);
+        this.capacity = 2L * batchSize * workers;
+        for (int i = 0; i < workers; i++) {
+            engines.add(Base58.newInstance(alphabet, limits));
+        }
+    }
+
+    public static Base58Processor<byte[], String> newEncoder() {
+        return newEncoder(Base58Alphabet.BITCOIN, Base58Limits.NONE, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Converts on the thread that delivers the items or the demand.
+     */
+    public static Base58Processor<byte[], String> newEncoder(final Base58Alphabet alphabet, final Base58Limits limits,
+                                                             final int batchSize) {
+        return newEncoder(alphabet, limits, batchSize, CALLING_THREAD, 1);
+    }
+
+    /**
+     * @param executor runs the batches
+     * @param workers  most batches converted at once
+     */
+    public static Base58Processor<byte[], String> newEncoder(final Base58Alphabet alphabet, final Base58Limits limits,
+                                                             final int batchSize, final Executor executor,
+                                                             final int workers) {
+        return new Base58Processor<>(EncoderDecoder::encode, alphabet, limits, batchSize, executor, workers);
+    }
+
+    public static Base58Processor<CharSequence, byte[]> newDecoder() {
+        return newDecoder(Base58Alphabet.BITCOIN, Base58Limits.NONE, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Converts on the thread that delivers the items or the demand.
+     */
+    public static Base58Processor<CharSequence, byte[]> newDecoder(final Base58Alphabet alphabet,
+                                                                   final Base58Limits limits, final int batchSize) {
+        return newDecoder(alphabet, limits, batchSize, CALLING_THREAD, 1);
+    }
+
+    /**
+     * @param executor runs the batches
+     * @param workers  most batches converted at once
+     */
+    public static Base58Processor<CharSequence, byte[]> newDecoder(final Base58Alphabet alphabet,
+                                                                   final Base58Limits limits, final int batchSize,
+                                                                   final Executor executor, final int workers) {
+        return new Base58Processor<>(EncoderDecoder::decode, alphabet, limits, batchSize, executor, workers);
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super R> subscriber) {
+        Objects.requireNonNull(subscriber);
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+            subscriber.onError(new IllegalStateException("Base58Processor allows only one subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(final long n) {
+                if (n <= 0) {
+                    requestError = new IllegalArgumentException("Request must be positive, was " + n);
+                } else {
+                    addRequested(n);
+                }
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                cancelled = true;
+                drain();
+            }
+        });
+        downstream = subscriber;
+        drain();
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+        Objects.requireNonNull(subscription);
+        if (!upstream.compareAndSet(null, subscription)) {
+            subscription.cancel();
+            return;
+        }
+        if (cancelled) {
+            subscription.cancel();
+            return;
+        }
+        drain();
+    }
+
+    @Override
+    public void onNext(final T item) {
+        inputs.add(Objects.requireNonNull(item));
+        drain();
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+        upstreamError = Objects.requireNonNull(throwable);
+        upstreamDone = true;
+        drain();
+    }
+
+    @Override
+    public void onComplete() {
+        upstreamDone = true;
+        drain();
+    }
+
+    private void addRequested(final long n) {
+        long current;
+        long next;
+        do {
+            current = requested.get();
+            next = current + n < 0 ? Long.MAX_VALUE : current + n;
+        } while (!requested.compareAndSet(current, next));
+    }
+
+    /**
+     * Every signal calls this, exactly one thread at a time does the work and it repeats until no signal was missed.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0)
+            return;
+        int missed = 1;
+        do {
+            drainOnce();
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drainOnce() {
+        if (terminated || cancelled) {
+            terminate();
+            return;
+        }
+        final Flow.Subscriber<? super R> subscriber = downstream;
+        if (subscriber == null)
+            return;
+        final Throwable badRequest = requestError;
+        if (badRequest != null) {
+            terminate();
+            subscriber.onError(badRequest);
+            return;
+        }
+        if (!emit(subscriber))
+            return;
+        dispatch();
+        if (upstreamDone && inputs.isEmpty() && batches.isEmpty()) {
+            terminate();
+            final Throwable error = upstreamError;
+            if (error != null)
+                subscriber.onError(error);
+            else
+                subscriber.onComplete();
+            return;
+        }
+        requestMore();
+    }
+
+    /**
+     * Delivers finished batches in order, as far as the demand allows.
+     *
+     * @return false if terminated
+     */
+    @SuppressWarnings("unchecked")
+    private boolean emit(final Flow.Subscriber<? super R> subscriber) {
+        final long demand = requested.get();
+        long emitted = 0;
+        try {
+            Batch batch;
+            while ((batch = batches.peek()) != null && batch.done) {
+                while (batch.emitted < batch.failedAt && emitted != demand) {
+                    final Object result = batch.results[batch.emitted];
+                    batch.results[batch.emitted++] = null;
+                    buffered--;
+                    emitted++;
+                    subscriber.onNext((R) result);
+                    if (cancelled) {
+                        terminate();
+                        return false;
+                    }
+                }
+                if (batch.emitted < batch.failedAt)
+                    break;
+                if (batch.failure != null) {
+                    terminate();
+                    subscriber.onError(batch.failure);
+                    return false;
+                }
+                batches.poll();
+            }
+            return true;
+        } finally {
+            if (emitted != 0 && demand != Long.MAX_VALUE)
+                requested.addAndGet(-emitted);
+        }
+    }
+
+    /**
+     * Starts a batch of whatever input has arrived, for each free engine.
+     */
+    @SuppressWarnings("unchecked")
+    private void dispatch() {
+        while (!inputs.isEmpty()) {
+            final EncoderDecoder engine = engines.poll();
+            if (engine == null)
+                return;
+            final Object[] items = new Object[batchSize];
+            int count = 0;
+            T item;
+            while (count < batchSize && (item = inputs.poll()) != null) {
+                items[count++] = item;
+            }
+            outstanding -= count;
+            buffered += count;
+            final Batch batch = new Batch(items, count, engine);
+            batches.add(batch);
+            try {
+                executor.execute(batch);
+            } catch (final RejectedExecutionException e) {
+                batch.reject(e);
+            }
+        }
+    }
+
+    /**
+     * Tops up the upstream request a batch at a time, keeping requested plus buffered within capacity.
+     */
+    private void requestMore() {
+        final Flow.Subscription subscription = upstream.get();
+        if (subscription == null || upstreamDone)
+            return;
+        final long missing = capacity - outstanding - buffered;
+        if (missing < batchSize)
+            return;
+        outstanding += missing;
+        subscription.request(missing);
+    }
+
+    private void terminate() {
+        if (!terminated) {
+            terminated = true;
+            cancelled = true;
+            final Flow.Subscription subscription = upstream.get();
+            if (subscription != null)
+                subscription.cancel();
+        }
+        inputs.clear();
+        batches.clear();
+    }
+
+    private final class Batch implements Runnable {
+        private final Object[] results;
+        private final int count;
+        private EncoderDecoder engine;
+        private int emitted;
+        private int failedAt;
+        private Throwable failure;
+        private volatile boolean done;
+
+        Batch(final Object[] items, final int count, final EncoderDecoder engine) {
+            this.results = items;
+            this.count = count;
+            this.engine = engine;
+            this.failedAt = count;
+        }
+
+        /**
+         * Replaces each item with its result.
+         */
+        @SuppressWarnings("unchecked")
+        @Override
+        public void run() {
+            int i = 0;
+            try {
+                for (; i < count; i++) {
+                    results[i] = conversion.convert(engine, (T) results[i]);
+                }
+            } catch (final RuntimeException e) {
+                failedAt = i;
+                failure = e;
+            }
+            release();
+        }
+
+        void reject(final RejectedExecutionException e) {
+            failedAt = 0;
+            failure = e;
+            release();
+        }
+
+        private void release() {
+            engines.add(engine);
+            engine = null;
+            done = true;
+            drain();
+        }
+    }
+}
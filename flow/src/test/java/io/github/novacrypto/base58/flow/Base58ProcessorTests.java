@@ -0,0 +1,349 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58.flow;
+
+import io.github.novacrypto.base58.BadCharacterException;
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.Base58Limits;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public final class Base58ProcessorTests {
+
+    /**
+     * Sends items only when the test says so, and records what was asked of it.
+     */
+    private static final class ManualPublisher<T> implements Flow.Publisher<T> {
+        Flow.Subscriber<? super T> subscriber;
+        long requested;
+        boolean cancelled;
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(final long n) {
+                    requested += n;
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+
+        void next(final T item) {
+            assertTrue("Sent more than requested", requested > 0);
+            requested--;
+            subscriber.onNext(item);
+        }
+    }
+
+    private static final class CollectingSubscriber<T> implements Flow.Subscriber<T> {
+        final List<T> items = Collections.synchronizedList(new ArrayList<T>());
+        final CountDownLatch terminated = new CountDownLatch(1);
+        final long initialRequest;
+        volatile Flow.Subscription subscription;
+        volatile Throwable error;
+        volatile boolean completed;
+
+        CollectingSubscriber(final long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0)
+                subscription.request(initialRequest);
+        }
+
+        @Override
+        public void onNext(final T item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            terminated.countDown();
+        }
+
+        void await() throws InterruptedException {
+            assertTrue("Timed out", terminated.await(10, TimeUnit.SECONDS));
+        }
+    }
+
+    private static List<byte[]> randomValues(final int count, final long seed) {
+        final Random random = new Random(seed);
+        final List<byte[]> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final byte[] bytes = new byte[random.nextInt(40)];
+            random.nextBytes(bytes);
+            if (bytes.length > 1 && i % 3 == 0)
+                bytes[0] = 0;
+            values.add(bytes);
+        }
+        return values;
+    }
+
+    private static void assertEncoded(final List<byte[]> values, final List<String> encoded) {
+        assertEquals(values.size(), encoded.size());
+        for (int i = 0; i < values.size(); i++) {
+            assertEquals(Base58.base58Encode(values.get(i)), encoded.get(i));
+        }
+    }
+
+    @Test
+    public void encodes_in_order() throws InterruptedException {
+        final List<byte[]> values = randomValues(500, 1);
+        final Base58Processor<byte[], String> processor = Base58Processor.newEncoder();
+        final CollectingSubscriber<String> subscriber = new CollectingSubscriber<>(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+        try (SubmissionPublisher<byte[]> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            for (final byte[] value : values) {
+                publisher.submit(value);
+            }
+        }
+        subscriber.await();
+        assertTrue(subscriber.completed);
+        assertEncoded(values, subscriber.items);
+    }
+
+    @Test
+    public void decodes_in_order() throws InterruptedException {
+        final List<byte[]> values = randomValues(200, 2);
+        final Base58Processor<CharSequence, byte[]> processor = Base58Processor.newDecoder();
+        final CollectingSubscriber<byte[]> subscriber = new CollectingSubscriber<>(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+        try (SubmissionPublisher<CharSequence> publisher = new SubmissionPublisher<>()) {
+            publisher.subscribe(processor);
+            for (final byte[] value : values) {
+                publisher.submit(new StringBuilder(Base58.base58Encode(value)));
+            }
+        }
+        subscriber.await();
+        assertTrue(subscriber.completed);
+        for (int i = 0; i < values.size(); i++) {
+            assertArrayEquals(values.get(i), subscriber.items.get(i));
+        }
+    }
+
+    @Test
+    public void parallel_workers_keep_order() throws InterruptedException {
+        final ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            final List<byte[]> values = randomValues(5000, 3);
+            final Base58Processor<byte[], String> processor = Base58Processor.newEncoder(Base58Alphabet.BITCOIN,
+                    Base58Limits.NONE, 16, pool, 4);
+            final CollectingSubscriber<String> subscriber = new CollectingSubscriber<>(7);
+            processor.subscribe(new Flow.Subscriber<String>() {
+                @Override
+                public void onSubscribe(final Flow.Subscription subscription) {
+                    subscriber.onSubscribe(subscription);
+                }
+
+                @Override
+                public void onNext(final String item) {
+                    subscriber.onNext(item);
+                    if (subscriber.items.size() % 7 == 0)
+                        subscriber.subscription.request(7);
+                }
+
+                @Override
+                public void onError(final Throwable throwable) {
+                    subscriber.onError(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                    subscriber.onComplete();
+                }
+            });
+            try (SubmissionPublisher<byte[]> publisher = new SubmissionPublisher<>()) {
+                publisher.subscribe(processor);
+                for (final byte[] value : values) {
+                    publisher.submit(value);
+                }
+            }
+            subscriber.await();
+            assertNull(subscriber.error);
+            assertEncoded(values, subscriber.items);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void delivers_no_more_than_requested_and_bounds_upstream_requests() {
+        final Base58Processor<byte[], String> processor = Base58Processor.newEncoder(Base58Alphabet.BITCOIN,
+                Base58Limits.NONE, 4);
+        final CollectingSubscriber<String> subscriber = new CollectingSubscriber<>(3);
+        processor.subscribe(subscriber);
+        final ManualPublisher<byte[]> publisher = new ManualPublisher<>();
+        publisher.subscribe(processor);
+        assertEquals(8, publisher.requested);
+        for (int i = 0; i < 8; i++) {
+            publisher.next(new byte[]{(byte) i});
+        }
+        assertEquals(3, subscriber.items.size());
+        assertEquals(0, publisher.requested);
+        subscriber.subscription.request(2);
+        assertEquals(5, subscriber.items.size());
+        assertEquals(5, publisher.requested);
+        subscriber.subscription.request(100);
+        assertEquals(8, subscriber.items.size());
+        assertEquals(5, publisher.requested);
+        publisher.subscriber.onComplete();
+        assertTrue(subscriber.completed);
+        assertEquals(Base58.base58Encode(new byte[]{7}), subscriber.items.get(7));
+    }
+
+    @Test
+    public void bad_item_delivers_earlier_results_then_error_and_cancels_upstream() {
+        final Base58Processor<CharSequence, byte[]> processor = Base58Processor.newDecoder();
+        final CollectingSubscriber<byte[]> subscriber = new CollectingSubscriber<>(Long.MAX_VALUE);
+        processor.subscribe(subscriber);
+        final ManualPublisher<CharSequence> publisher = new ManualPublisher<>();
+        publisher.subscribe(processor);
+        publisher.next("LUv");
+        publisher.next("0");
+        publisher.next("LUv");
+        assertEquals(1, subscriber.items.size());
+        assertTrue(subscriber.error instanceof BadCharacterException);
+        assertTrue(publisher.cancelled);
+    }
+
+    @Test
+    public void upstream_error_follows_buffered_results() {
+        final Base58Processor<byte[], String> processor = Base58Processor.newEncoder();
+        final CollectingSubscriber<String> subscriber = new CollectingSubscriber<>(0);
+        processor.subscribe(subscriber);
+        final ManualPublisher<byte[]> publisher = new ManualPublisher<>();
+        publisher.subscribe(processor);
+        publisher.next(new byte[]{1});
+        final IllegalStateException error = new IllegalStateException("upstream");
+        publisher.subscriber.onError(error);
+        assertNull(subscriber.error);
+        subscriber.subscription.request(1);
+        assertEquals(1, subscriber.items.size());
+        assertEquals(error, subscriber.error);
+    }
+
+    @Test
+    public void cancel_cancels_upstream() {
+        final Base58Processor<byte[], String> processor = Base58Processor.newEncoder();
+        final CollectingSubscriber<String> subscriber = new CollectingSubscriber<>(1);
+        processor.subscribe(subscriber);
+        final ManualPublisher<byte[]> publisher = new ManualPublisher<>();
+        publisher.subscribe(processor);
+        subscriber.subscription.cancel();
+        assertTrue(publisher.cancelled);
+        publisher.next(new byte[]{1});
+        assertEquals(0, subscriber.items.size());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    public void non_positive_request_is_an_error() {
+        final Base58Processor<byte[], String> processor = Base58Processor.newEncoder();
+        final CollectingSubscriber<String> subscriber = new CollectingSubscriber<>(0);
+        processor.subscribe(subscriber);
+        final ManualPublisher<byte[]> publisher = new ManualPublisher<>();
+        publisher.subscribe(processor);
+        subscriber.subscription.request(0);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertTrue(publisher.cancelled);
+    }
+
+    @Test
+    public void only_one_subscriber() {
+        final Base58Processor<byte[], String> processor = Base58Processor.newEncoder();
+        processor.subscribe(new CollectingSubscriber<String>(0));
+        final CollectingSubscriber<String> second = new CollectingSubscriber<>(0);
+        processor.subscribe(second);
+        assertTrue(second.error instanceof IllegalStateException);
+    }
+
+    @Test
+    public void second_upstream_is_cancelled() {
+        final Base58Processor<byte[], String> processor = Base58Processor.newEncoder();
+        new ManualPublisher<byte[]>().subscribe(processor);
+        final ManualPublisher<byte[]> second = new ManualPublisher<>();
+        second.subscribe(processor);
+        assertTrue(second.cancelled);
+    }
+
+    @Test
+    public void rejected_batch_is_an_error() {
+        final ExecutorService pool = Executors.newSingleThreadExecutor();
+        pool.shutdown();
+        final Base58Processor<byte[], String> processor = Base58Processor.newEncoder(Base58Alphabet.BITCOIN,
+                Base58Limits.NONE, 4, pool, 2);
+        final CollectingSubscriber<String> subscriber = new CollectingSubscriber<>(1);
+        processor.subscribe(subscriber);
+        final ManualPublisher<byte[]> publisher = new ManualPublisher<>();
+        publisher.subscribe(processor);
+        publisher.next(new byte[]{1});
+        assertTrue(subscriber.error instanceof RejectedExecutionException);
+    }
+
+    @Test
+    public void bad_arguments() {
+        assertThatThrownBy(() -> Base58Processor.newEncoder(Base58Alphabet.BITCOIN, Base58Limits.NONE, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("batchSize must be positive");
+        assertThatThrownBy(() -> Base58Processor.newDecoder(Base58Alphabet.BITCOIN, Base58Limits.NONE, 1,
+                Runnable::run, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("workers must be positive");
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups of 25 byte addresses in a {@link Base58KeyMap} against a {@code HashSet<String>}, half of them present.
+ * <p>
+ * Run with {@code ./gradlew jmh}. For the memory comparison run with {@code -prof gc} or compare heap dumps, a
+ * {@code HashSet<String>} of addresses costs around 100 bytes per entry.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class Base58KeyMapBenchmark {
+
+    private static final int ADDRESS_LENGTH = 25;
+
+    @Param({"10000", "1000000"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean direct;
+
+    private Set<String> hashSet;
+    private Base58KeyMap keyMap;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(44);
+        hashSet = new HashSet<>();
+        keyMap = Base58.newKeyMap(size, direct);
+        queries = new String[1 << 14];
+        for (int i = 0; i < size; i++) {
+            final String address = randomAddress(random);
+            hashSet.add(address);
+            keyMap.put(address, i);
+            if (i < queries.length / 2)
+                queries[i * 2] = address;
+        }
+        for (int i = 0; i < queries.length; i++) {
+            if (queries[i] == null)
+                queries[i] = randomAddress(random);
+        }
+    }
+
+    private static String randomAddress(final Random random) {
+        final byte[] bytes = new byte[ADDRESS_LENGTH];
+        random.nextBytes(bytes);
+        bytes[0] = 0;
+        return Base58.base58Encode(bytes);
+    }
+
+    private String nextQuery() {
+        final String query = queries[next];
+        next = (next + 1) & (queries.length - 1);
+        return query;
+    }
+
+    @Benchmark
+    public boolean hashSetContains() {
+        return hashSet.contains(nextQuery());
+    }
+
+    @Benchmark
+    public boolean keyMapContains() {
+        return keyMap.contains(nextQuery());
+    }
+
+    @Benchmark
+    public boolean hashSetContainsCopy() {
+        return hashSet.contains(new StringBuilder(nextQuery()).toString());
+    }
+
+    @Benchmark
+    public boolean keyMapContainsBuilder() {
+        return keyMap.contains(new StringBuilder(nextQuery()));
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The overhead of the constant time engine against the variable time engine, both with secure working buffers,
+ * for key sized inputs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ConstantTimeBenchmark {
+
+    @Param({"32", "64"})
+    public int length;
+
+    private SecureEncoderDecoder variableTime;
+    private SecureEncoderDecoder constantTime;
+    private byte[] bytes;
+    private String base58;
+    private final StringBuilder encoded = new StringBuilder();
+    private final EncodeTarget encodeTarget = new EncodeTarget() {
+        @Override
+        public void append(final char c) {
+            encoded.append(c);
+        }
+    };
+    private final ByteArrayTarget decodeTarget = new ByteArrayTarget();
+
+    @Setup
+    public void setup() {
+        variableTime = Base58.newSecureInstance();
+        constantTime = Base58.newConstantTimeInstance();
+        bytes = new byte[length];
+        new Random(46).nextBytes(bytes);
+        base58 = Base58.base58Encode(bytes);
+    }
+
+    @Benchmark
+    public int encodeVariableTime() {
+        encoded.setLength(0);
+        variableTime.encode(bytes, encodeTarget);
+        return encoded.length();
+    }
+
+    @Benchmark
+    public int encodeConstantTime() {
+        encoded.setLength(0);
+        constantTime.encode(bytes, encodeTarget);
+        return encoded.length();
+    }
+
+    @Benchmark
+    public byte[] decodeVariableTime() {
+        variableTime.decode(base58, decodeTarget);
+        return decodeTarget.asByteArray();
+    }
+
+    @Benchmark
+    public byte[] decodeConstantTime() {
+        constantTime.decode(base58, decodeTarget);
+        return decodeTarget.asByteArray();
+    }
+}
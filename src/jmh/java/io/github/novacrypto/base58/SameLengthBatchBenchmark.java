@@ -0,0 +1,89 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding a batch of same length values one at a time against the lane per value kernels: the scalar interleaved
+ * kernel, and the kernel the runtime selects. That is the vector kernel when running on 17+ with the incubator module
+ * added, see the jmh block in build.gradle, and the interleaved kernel otherwise.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SameLengthBatchBenchmark {
+
+    @Param({"20", "32"})
+    public int valueLength;
+
+    @Param({"1024"})
+    public int count;
+
+    private Base58BatchCodec interleaved;
+    private Base58BatchCodec selected;
+    private byte[] data;
+    private int[] dataOffsets;
+    private byte[] arena;
+    private int[] offsets;
+
+    @Setup
+    public void setup() {
+        interleaved = new Base58BatchCodec(new ByteArrayWorkingBuffer(), Base58Alphabet.BITCOIN, Base58Limits.NONE,
+                new InterleavedSameLengthKernel());
+        selected = Base58.newBatchCodec();
+        data = new byte[valueLength * count];
+        new Random(48).nextBytes(data);
+        dataOffsets = new int[count + 1];
+        for (int i = 0; i <= count; i++) {
+            dataOffsets[i] = i * valueLength;
+        }
+        arena = new byte[count * Base58.maximumEncodedLength(valueLength)];
+        offsets = new int[count + 1];
+    }
+
+    @Benchmark
+    public int encodeEach() {
+        return interleaved.encodeToAscii(data, dataOffsets, count, arena, 0, offsets);
+    }
+
+    @Benchmark
+    public int encodeSameLengthInterleaved() {
+        return interleaved.encodeSameLengthToAscii(data, 0, valueLength, count, arena, 0, offsets);
+    }
+
+    @Benchmark
+    public int encodeSameLengthSelected() {
+        return selected.encodeSameLengthToAscii(data, 0, valueLength, count, arena, 0, offsets);
+    }
+}
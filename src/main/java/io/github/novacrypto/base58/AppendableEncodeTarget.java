@@ -0,0 +1,56 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+/**
+ * Appends base58 output to any {@link Appendable}, in blocks when the encoder supplies them.
+ */
+public final class AppendableEncodeTarget implements BulkEncodeTarget {
+
+    private final Appendable appendable;
+
+    public AppendableEncodeTarget(final Appendable appendable) {
+        this.appendable = appendable;
+    }
+
+    @Override
+    public void append(final char c) {
+        try {
+            appendable.append(c);
+        } catch (final IOException e) {
+            throw new TargetIOException(e);
+        }
+    }
+
+    @Override
+    public void append(final char[] chars, final int offset, final int length) {
+        try {
+            appendable.append(CharBuffer.wrap(chars, offset, length));
+        } catch (final IOException e) {
+            throw new TargetIOException(e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+/**
+ * Decodes into a region of a caller's array, recording rather than failing if the region is too small.
+ */
+final class ArrayRegionTarget implements DecodeTarget, BulkDecodeWriter {
+
+    private static final DecodeWriter DISCARD = new DecodeWriter() {
+        @Override
+        public void append(final byte b) {
+        }
+    };
+
+    private byte[] output;
+    private int idx;
+    private boolean fits;
+
+    ArrayRegionTarget reset(final byte[] output, final int offset) {
+        this.output = output;
+        this.idx = offset;
+        this.fits = false;
+        return this;
+    }
+
+    @Override
+    public DecodeWriter getWriterForLength(final int len) {
+        fits = idx >= 0 && idx <= output.length && len <= output.length - idx;
+        return fits ? this : DISCARD;
+    }
+
+    @Override
+    public void append(final byte b) {
+        output[idx++] = b;
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) {
+        System.arraycopy(bytes, offset, output, idx, length);
+        idx += length;
+    }
+
+    boolean fits() {
+        return fits;
+    }
+
+    /**
+     * @return index after the last byte written
+     */
+    int end() {
+        return idx;
+    }
+}
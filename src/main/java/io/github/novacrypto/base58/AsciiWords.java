@@ -0,0 +1,76 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Validates ASCII base58 input, reading it a long word at a time.
+ * <p>
+ * Each word is checked for any byte with the high bit set, then each of its eight characters is still looked up in
+ * the alphabet's table, one lookup per character. The results are OR-ed together so a word only branches once. Only
+ * a failing word is rescanned a character at a time to locate the exact bad character.
+ */
+final class AsciiWords {
+
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    AsciiWords() {
+    }
+
+    /**
+     * @param values digit value lookup table, 128 entries, -1 for characters not in the alphabet
+     * @param ascii  bytes to scan
+     * @param from   index of first byte, inclusive
+     * @param to     index of last byte, exclusive
+     * @return index of the first byte that is not in the alphabet, or -1 if all are valid
+     */
+    static int indexOfInvalid(final int[] values, final ByteBuffer ascii, final int from, final int to) {
+        int i = from;
+        for (final int lastWord = to - 8; i <= lastWord; i += 8) {
+            final long word = ascii.getLong(i);
+            if ((word & HIGH_BITS) != 0 || lookupWord(values, word) < 0)
+                break;
+        }
+        for (; i < to; i++) {
+            final byte b = ascii.get(i);
+            if (b < 0 || values[b] < 0)
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @return bitwise OR of the eight digit values, negative if any byte is not in the alphabet
+     */
+    private static int lookupWord(final int[] values, final long word) {
+        return values[(int) (word >>> 56)] |
+                values[(int) (word >>> 48) & 0x7f] |
+                values[(int) (word >>> 40) & 0x7f] |
+                values[(int) (word >>> 32) & 0x7f] |
+                values[(int) (word >>> 24) & 0x7f] |
+                values[(int) (word >>> 16) & 0x7f] |
+                values[(int) (word >>> 8) & 0x7f] |
+                values[(int) word & 0x7f];
+    }
+}
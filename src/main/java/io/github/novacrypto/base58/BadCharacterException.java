@@ -25,6 +25,36 @@ package io.github.novacrypto.base58;
 public final class BadCharacterException extends RuntimeException {
 
     public BadCharacterException(final char charAtI) {
-        super("Bad character in base58 string, '" + charAtI + "'");
+        super(message(charAtI));
+    }
+
+    private BadCharacterException(final String message) {
+        super(message, null, false, false);
+    }
+
+    /**
+     * Adds the file position of the line that failed to decode.
+     */
+    BadCharacterException(final BadCharacterException cause, final long position) {
+        super(cause.getMessage() + " in line at " + position, cause);
+    }
+
+    /**
+     * Creates the exception without capturing a stack trace or recording suppressed exceptions, making construction
+     * cheap.
+     *
+     * @param charAtI the character that is not in the alphabet
+     * @return stackless exception
+     */
+    public static BadCharacterException withoutStackTrace(final char charAtI) {
+        return new BadCharacterException(message(charAtI));
+    }
+
+    static BadCharacterException of(final char charAtI, final boolean stackTrace) {
+        return stackTrace ? new BadCharacterException(charAtI) : withoutStackTrace(charAtI);
+    }
+
+    private static String message(final char charAtI) {
+        return "Bad character in base58 string, '" + charAtI + "'";
     }
 }
\ No newline at end of file
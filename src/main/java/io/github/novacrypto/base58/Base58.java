@@ -22,6 +22,8 @@
 
 package io.github.novacrypto.base58;
 
+import java.nio.ByteBuffer;
+
 /**
  * Class for encoding byte arrays to base58.
  * Suitable for small data arrays as the algorithm is O(n^2).
@@ -34,18 +36,401 @@ public final class Base58 {
     }
 
     public static GeneralEncoderDecoder newInstanceWithBuffer(final WorkingBuffer workingBuffer) {
-        return new Base58EncoderDecoder(workingBuffer);
+        return newInstanceWithBuffer(workingBuffer, Base58Alphabet.BITCOIN);
+    }
+
+    public static ExtendedGeneralEncoderDecoder newInstanceWithBuffer(final WorkingBuffer workingBuffer,
+                                                                      final Base58Alphabet alphabet) {
+        return newInstanceWithBuffer(workingBuffer, alphabet, Base58Limits.NONE);
+    }
+
+    public static ExtendedGeneralEncoderDecoder newInstanceWithBuffer(final WorkingBuffer workingBuffer,
+                                                                      final Base58Alphabet alphabet,
+                                                                      final Base58Limits limits) {
+        return newInstanceWithBuffer(workingBuffer, alphabet, limits, true);
+    }
+
+    /**
+     * @param badCharacterStackTraces false to throw {@link BadCharacterException}s without stack traces, so bad input
+     *                                is about as cheap to reject as good input is to decode
+     */
+    public static ExtendedGeneralEncoderDecoder newInstanceWithBuffer(final WorkingBuffer workingBuffer,
+                                                                      final Base58Alphabet alphabet,
+                                                                      final Base58Limits limits,
+                                                                      final boolean badCharacterStackTraces) {
+        return new Base58EncoderDecoder(workingBuffer, alphabet, limits, badCharacterStackTraces);
     }
 
     public static EncoderDecoder newInstance() {
-        return newInstanceWithBuffer(new ByteArrayWorkingBuffer());
+        return newInstance(Base58Alphabet.BITCOIN);
+    }
+
+    public static ExtendedEncoderDecoder newInstance(final Base58Alphabet alphabet) {
+        return newInstance(alphabet, Base58Limits.NONE);
+    }
+
+    public static ExtendedEncoderDecoder newInstance(final Base58Alphabet alphabet, final Base58Limits limits) {
+        return newInstanceWithBuffer(new ByteArrayWorkingBuffer(), alphabet, limits);
     }
 
     public static SecureEncoderDecoder newSecureInstance() {
-        return newInstanceWithBuffer(new SecureWorkingBuffer());
+        return newSecureInstance(Base58Alphabet.BITCOIN);
+    }
+
+    public static ExtendedSecureEncoderDecoder newSecureInstance(final Base58Alphabet alphabet) {
+        return newSecureInstance(alphabet, Base58Limits.NONE);
+    }
+
+    public static ExtendedSecureEncoderDecoder newSecureInstance(final Base58Alphabet alphabet,
+                                                                 final Base58Limits limits) {
+        return newInstanceWithBuffer(new SecureWorkingBuffer(), alphabet, limits);
+    }
+
+    /**
+     * An instance whose running time depends only on the input and output lengths, with a secure working buffer.
+     */
+    public static ExtendedSecureEncoderDecoder newConstantTimeInstance() {
+        return newConstantTimeInstance(Base58Alphabet.BITCOIN, Base58Limits.NONE);
+    }
+
+    public static ExtendedSecureEncoderDecoder newConstantTimeInstance(final Base58Alphabet alphabet,
+                                                                       final Base58Limits limits) {
+        return newConstantTimeInstanceWithBuffer(new SecureWorkingBuffer(), alphabet, limits);
+    }
+
+    public static ExtendedSecureEncoderDecoder newConstantTimeInstanceWithBuffer(final WorkingBuffer workingBuffer,
+                                                                                 final Base58Alphabet alphabet,
+                                                                                 final Base58Limits limits) {
+        return newConstantTimeInstanceWithBuffer(workingBuffer, alphabet, limits, true);
+    }
+
+    /**
+     * @param badCharacterStackTraces false to throw {@link BadCharacterException}s without stack traces
+     */
+    public static ExtendedSecureEncoderDecoder newConstantTimeInstanceWithBuffer(
+            final WorkingBuffer workingBuffer, final Base58Alphabet alphabet, final Base58Limits limits,
+            final boolean badCharacterStackTraces) {
+        return new ConstantTimeEncoderDecoder(workingBuffer, alphabet, limits, badCharacterStackTraces);
+    }
+
+    public static Base58IncrementalEncoder newIncrementalEncoder() {
+        return newIncrementalEncoder(Base58Alphabet.BITCOIN, Base58Limits.NONE);
+    }
+
+    public static Base58IncrementalEncoder newIncrementalEncoder(final Base58Alphabet alphabet,
+                                                                 final Base58Limits limits) {
+        return newIncrementalEncoderWithBuffers(new ByteArrayWorkingBuffer(), new ByteArrayWorkingBuffer(), alphabet,
+                limits);
+    }
+
+    public static Base58IncrementalEncoder newSecureIncrementalEncoder() {
+        return newSecureIncrementalEncoder(Base58Alphabet.BITCOIN, Base58Limits.NONE);
+    }
+
+    public static Base58IncrementalEncoder newSecureIncrementalEncoder(final Base58Alphabet alphabet,
+                                                                       final Base58Limits limits) {
+        return newIncrementalEncoderWithBuffers(new SecureWorkingBuffer(), new SecureWorkingBuffer(), alphabet,
+                limits);
+    }
+
+    /**
+     * The encoder swaps between the two buffers as the digits grow, they must be distinct.
+     */
+    public static Base58IncrementalEncoder newIncrementalEncoderWithBuffers(final WorkingBuffer first,
+                                                                            final WorkingBuffer second,
+                                                                            final Base58Alphabet alphabet,
+                                                                            final Base58Limits limits) {
+        if (first == second)
+            throw new IllegalArgumentException("Buffers must be distinct");
+        return new Base58IncrementalEncoder(first, second, alphabet, limits);
+    }
+
+    public static Base58IncrementalDecoder newIncrementalDecoder() {
+        return newIncrementalDecoder(Base58Alphabet.BITCOIN, Base58Limits.NONE);
+    }
+
+    public static Base58IncrementalDecoder newIncrementalDecoder(final Base58Alphabet alphabet,
+                                                                 final Base58Limits limits) {
+        return newIncrementalDecoderWithBuffers(new ByteArrayWorkingBuffer(), new ByteArrayWorkingBuffer(), alphabet,
+                limits);
+    }
+
+    public static Base58IncrementalDecoder newSecureIncrementalDecoder() {
+        return newSecureIncrementalDecoder(Base58Alphabet.BITCOIN, Base58Limits.NONE);
+    }
+
+    public static Base58IncrementalDecoder newSecureIncrementalDecoder(final Base58Alphabet alphabet,
+                                                                       final Base58Limits limits) {
+        return newIncrementalDecoderWithBuffers(new SecureWorkingBuffer(), new SecureWorkingBuffer(), alphabet,
+                limits);
+    }
+
+    /**
+     * The decoder swaps between the two buffers as the bytes grow, they must be distinct.
+     */
+    public static Base58IncrementalDecoder newIncrementalDecoderWithBuffers(final WorkingBuffer first,
+                                                                            final WorkingBuffer second,
+                                                                            final Base58Alphabet alphabet,
+                                                                            final Base58Limits limits) {
+        return newIncrementalDecoderWithBuffers(first, second, alphabet, limits, true);
+    }
+
+    /**
+     * The decoder swaps between the two buffers as the bytes grow, they must be distinct.
+     *
+     * @param badCharacterStackTraces false to throw {@link BadCharacterException}s without stack traces
+     */
+    public static Base58IncrementalDecoder newIncrementalDecoderWithBuffers(final WorkingBuffer first,
+                                                                            final WorkingBuffer second,
+                                                                            final Base58Alphabet alphabet,
+                                                                            final Base58Limits limits,
+                                                                            final boolean badCharacterStackTraces) {
+        if (first == second)
+            throw new IllegalArgumentException("Buffers must be distinct");
+        return new Base58IncrementalDecoder(first, second, alphabet, limits, badCharacterStackTraces);
+    }
+
+    private static final Base58Numbers BITCOIN_NUMBERS = new Base58Numbers(Base58Alphabet.BITCOIN, true);
+
+    /**
+     * @return threadsafe long and 128-bit encoder/decoder for the Bitcoin alphabet
+     */
+    public static Base58Numbers numbers() {
+        return BITCOIN_NUMBERS;
+    }
+
+    /**
+     * @return threadsafe long and 128-bit encoder/decoder for the alphabet
+     */
+    public static Base58Numbers numbers(final Base58Alphabet alphabet) {
+        return alphabet == Base58Alphabet.BITCOIN ? BITCOIN_NUMBERS : new Base58Numbers(alphabet, true);
+    }
+
+    /**
+     * @param badCharacterStackTraces false to throw {@link BadCharacterException}s without stack traces
+     * @return threadsafe long and 128-bit encoder/decoder for the alphabet
+     */
+    public static Base58Numbers numbers(final Base58Alphabet alphabet, final boolean badCharacterStackTraces) {
+        return badCharacterStackTraces ? numbers(alphabet) : new Base58Numbers(alphabet, false);
+    }
+
+    private static final Base58Comparator BITCOIN_COMPARATOR = new Base58Comparator(Base58Alphabet.BITCOIN, true);
+
+    /**
+     * @return threadsafe comparator by decoded value for the Bitcoin alphabet
+     */
+    public static Base58Comparator comparator() {
+        return BITCOIN_COMPARATOR;
+    }
+
+    /**
+     * @return threadsafe comparator by decoded value for the alphabet
+     */
+    public static Base58Comparator comparator(final Base58Alphabet alphabet) {
+        return alphabet == Base58Alphabet.BITCOIN ? BITCOIN_COMPARATOR : new Base58Comparator(alphabet, true);
+    }
+
+    /**
+     * @param badCharacterStackTraces false to throw {@link BadCharacterException}s without stack traces
+     * @return threadsafe comparator by decoded value for the alphabet
+     */
+    public static Base58Comparator comparator(final Base58Alphabet alphabet, final boolean badCharacterStackTraces) {
+        return badCharacterStackTraces ? comparator(alphabet) : new Base58Comparator(alphabet, false);
+    }
+
+    public static Base58BatchCodec newBatchCodec() {
+        return newBatchCodec(Base58Alphabet.BITCOIN, Base58Limits.NONE);
+    }
+
+    public static Base58BatchCodec newBatchCodec(final Base58Alphabet alphabet, final Base58Limits limits) {
+        return new Base58BatchCodec(new ByteArrayWorkingBuffer(), alphabet, limits);
+    }
+
+    public static Base58BatchCodec newSecureBatchCodec() {
+        return newSecureBatchCodec(Base58Alphabet.BITCOIN, Base58Limits.NONE);
+    }
+
+    public static Base58BatchCodec newSecureBatchCodec(final Base58Alphabet alphabet, final Base58Limits limits) {
+        return new Base58BatchCodec(new SecureWorkingBuffer(), alphabet, limits);
+    }
+
+    public static Base58Scanner newScanner() {
+        return newScanner(Base58Alphabet.BITCOIN, 1, Base58Limits.NONE);
+    }
+
+    /**
+     * @param minLength shorter runs of alphabet characters are skipped
+     */
+    public static Base58Scanner newScanner(final Base58Alphabet alphabet, final int minLength,
+                                           final Base58Limits limits) {
+        return new Base58Scanner(alphabet, minLength, limits);
+    }
+
+    public static Base58FramedFormat newFramedFormat(final int blockSize) {
+        return newFramedFormat(blockSize, Base58Alphabet.BITCOIN);
+    }
+
+    public static Base58FramedFormat newFramedFormat(final int blockSize, final Base58Alphabet alphabet) {
+        return newFramedFormat(blockSize, alphabet, true);
+    }
+
+    /**
+     * @param badCharacterStackTraces false to throw {@link BadCharacterException}s without stack traces
+     */
+    public static Base58FramedFormat newFramedFormat(final int blockSize, final Base58Alphabet alphabet,
+                                                     final boolean badCharacterStackTraces) {
+        return new Base58FramedFormat(blockSize, alphabet, false, badCharacterStackTraces);
+    }
+
+    /**
+     * The working buffers of a secure format are masked direct buffers.
+     */
+    public static Base58FramedFormat newSecureFramedFormat(final int blockSize, final Base58Alphabet alphabet) {
+        return newSecureFramedFormat(blockSize, alphabet, true);
+    }
+
+    /**
+     * The working buffers of a secure format are masked direct buffers.
+     *
+     * @param badCharacterStackTraces false to throw {@link BadCharacterException}s without stack traces
+     */
+    public static Base58FramedFormat newSecureFramedFormat(final int blockSize, final Base58Alphabet alphabet,
+                                                           final boolean badCharacterStackTraces) {
+        return new Base58FramedFormat(blockSize, alphabet, true, badCharacterStackTraces);
+    }
+
+    public static Base58FixedWidthFormat newFixedWidthFormat() {
+        return newFixedWidthFormat(Base58Alphabet.BITCOIN);
+    }
+
+    public static Base58FixedWidthFormat newFixedWidthFormat(final Base58Alphabet alphabet) {
+        return newFixedWidthFormat(alphabet, true);
+    }
+
+    /**
+     * @param badCharacterStackTraces false to throw {@link BadCharacterException}s without stack traces
+     */
+    public static Base58FixedWidthFormat newFixedWidthFormat(final Base58Alphabet alphabet,
+                                                             final boolean badCharacterStackTraces) {
+        return new Base58FixedWidthFormat(new ByteArrayWorkingBuffer(), alphabet, badCharacterStackTraces);
+    }
+
+    /**
+     * The working buffer of a secure format is a masked direct buffer.
+     */
+    public static Base58FixedWidthFormat newSecureFixedWidthFormat(final Base58Alphabet alphabet) {
+        return newSecureFixedWidthFormat(alphabet, true);
+    }
+
+    /**
+     * The working buffer of a secure format is a masked direct buffer.
+     *
+     * @param badCharacterStackTraces false to throw {@link BadCharacterException}s without stack traces
+     */
+    public static Base58FixedWidthFormat newSecureFixedWidthFormat(final Base58Alphabet alphabet,
+                                                                   final boolean badCharacterStackTraces) {
+        return new Base58FixedWidthFormat(new SecureWorkingBuffer(), alphabet, badCharacterStackTraces);
+    }
+
+    public static Base58LineConverter newLineConverter(final Base58LineConverter.Conversion conversion) {
+        return newLineConverter(conversion, Base58Alphabet.BITCOIN);
+    }
+
+    public static Base58LineConverter newLineConverter(final Base58LineConverter.Conversion conversion,
+                                                       final Base58Alphabet alphabet) {
+        return new Base58LineConverter(conversion, alphabet, Base58LineConverter.DEFAULT_WINDOW_SIZE);
+    }
+
+    public static Base58RecordEncoder newRecordEncoder(final int recordSize) {
+        return newRecordEncoder(recordSize, Base58Alphabet.BITCOIN);
+    }
+
+    public static Base58RecordEncoder newRecordEncoder(final int recordSize, final Base58Alphabet alphabet) {
+        return new Base58RecordEncoder(recordSize, alphabet);
+    }
+
+    /**
+     * @param bytes copied, the text is encoded on first use
+     * @return immutable id holding both forms
+     */
+    public static Base58Value valueOf(final byte[] bytes) {
+        return Base58Value.ofBytes(bytes);
+    }
+
+    /**
+     * @param base58 checked and copied as ASCII, the bytes are decoded on first use
+     * @return immutable id holding both forms
+     * @throws BadCharacterException if a character is not in the Bitcoin alphabet
+     */
+    public static Base58Value valueOf(final CharSequence base58) {
+        return valueOf(base58, true);
+    }
+
+    /**
+     * @param base58                  checked and copied as ASCII, the bytes are decoded on first use
+     * @param badCharacterStackTraces false to throw {@link BadCharacterException}s without stack traces
+     * @return immutable id holding both forms
+     * @throws BadCharacterException if a character is not in the Bitcoin alphabet
+     */
+    public static Base58Value valueOf(final CharSequence base58, final boolean badCharacterStackTraces) {
+        return Base58Value.ofText(base58, badCharacterStackTraces);
+    }
+
+    public static Base58KeyMap newKeyMap() {
+        return newKeyMap(0, false);
+    }
+
+    /**
+     * @param expectedKeys number of keys to size the table and arena for, both grow as needed
+     * @param direct       true to keep the decoded keys off the heap in a direct buffer
+     */
+    public static Base58KeyMap newKeyMap(final int expectedKeys, final boolean direct) {
+        return newKeyMap(expectedKeys, direct, Base58Alphabet.BITCOIN, Base58Limits.NONE);
+    }
+
+    public static Base58KeyMap newKeyMap(final int expectedKeys, final boolean direct, final Base58Alphabet alphabet,
+                                         final Base58Limits limits) {
+        return new Base58KeyMap(new Base58EncoderDecoder(new ByteArrayWorkingBuffer(), alphabet, limits),
+                expectedKeys, direct);
+    }
+
+    /**
+     * Creates a threadsafe decoder that caches results, decoding misses with the static threadsafe decoder.
+     *
+     * @param maxEntries maximum number of results to hold
+     * @param maxBytes   maximum total length of the results to hold
+     * @return caching decoder
+     */
+    public static CachingDecoder newCachingDecoder(final int maxEntries, final long maxBytes) {
+        return newCachingDecoder(THREAD_SHARED_DECODER, maxEntries, maxBytes);
+    }
+
+    /**
+     * Creates a decoder that caches results, decoding misses with the supplied decoder.
+     * Only threadsafe if the supplied decoder is.
+     *
+     * @param decoder    decoder for cache misses
+     * @param maxEntries maximum number of results to hold
+     * @param maxBytes   maximum total length of the results to hold
+     * @return caching decoder
+     */
+    public static CachingDecoder newCachingDecoder(final Decoder decoder, final int maxEntries, final long maxBytes) {
+        return new CachingDecoder(decoder, maxEntries, maxBytes);
     }
 
-    private static final ThreadLocal<EncoderDecoder> working = new ThreadLocal<>();
+    private static final ThreadLocal<ExtendedGeneralEncoderDecoder> working = new ThreadLocal<>();
+
+    private static final TryDecoder THREAD_SHARED_DECODER = new TryDecoder() {
+        @Override
+        public byte[] decode(final CharSequence base58) {
+            return base58Decode(base58);
+        }
+
+        @Override
+        public int tryDecode(final CharSequence base58, final byte[] output, final int offset) {
+            return tryBase58Decode(base58, output, offset);
+        }
+    };
 
     /**
      * Encodes given bytes as a number in base58.
@@ -58,6 +443,32 @@ public final class Base58 {
         return getThreadSharedBase58().encode(bytes);
     }
 
+    /**
+     * Encodes given bytes as a number in base58, if within the limits.
+     * Threadsafe, uses an instance per thread.
+     *
+     * @param bytes  bytes to encode
+     * @param limits limits to check before encoding
+     * @return base58 string representation
+     * @throws LengthLimitException if the input is outside the limits
+     */
+    public static String base58Encode(final byte[] bytes, final Base58Limits limits) {
+        limits.checkEncode(bytes.length);
+        return base58Encode(bytes);
+    }
+
+    /**
+     * The maximum length of the base58 encoding of any byte array of the given length, calculated without floating
+     * point arithmetic. It is the exact encoded length of that many 0xff bytes.
+     * Threadsafe.
+     *
+     * @param byteLength number of bytes
+     * @return maximum number of base58 characters
+     */
+    public static int maximumEncodedLength(final int byteLength) {
+        return CapacityCalculator.maximumBase58StringLength(byteLength);
+    }
+
     /**
      * Decodes given bytes as a number in base58.
      * Threadsafe, uses an instance per thread.
@@ -69,10 +480,90 @@ public final class Base58 {
         return getThreadSharedBase58().decode(base58);
     }
 
-    private static EncoderDecoder getThreadSharedBase58() {
-        EncoderDecoder base58 = working.get();
+    /**
+     * Decodes given bytes as a number in base58, if within the limits.
+     * Threadsafe, uses an instance per thread.
+     *
+     * @param base58 string to decode
+     * @param limits limits to check before decoding
+     * @return number as bytes
+     * @throws LengthLimitException if the input is outside the limits
+     */
+    public static byte[] base58Decode(final CharSequence base58, final Base58Limits limits) {
+        limits.checkDecode(base58, Base58Alphabet.BITCOIN.digit(0));
+        return base58Decode(base58);
+    }
+
+    /**
+     * Decodes given ASCII bytes as a number in base58.
+     * Threadsafe, uses an instance per thread.
+     *
+     * @param ascii  array containing the base58 characters as ASCII bytes
+     * @param offset index of the first character
+     * @param length number of characters
+     * @return number as bytes
+     */
+    public static byte[] base58Decode(final byte[] ascii, final int offset, final int length) {
+        final ByteArrayTarget target = new ByteArrayTarget();
+        getThreadSharedBase58().decode(ascii, offset, length, target);
+        return target.asByteArray();
+    }
+
+    /**
+     * Decodes given ASCII bytes as a number in base58.
+     * Threadsafe, uses an instance per thread. The buffer's position is not changed.
+     *
+     * @param ascii buffer containing the base58 characters as ASCII bytes between its position and limit
+     * @return number as bytes
+     */
+    public static byte[] base58Decode(final ByteBuffer ascii) {
+        final ByteArrayTarget target = new ByteArrayTarget();
+        getThreadSharedBase58().decode(ascii, target);
+        return target.asByteArray();
+    }
+
+    /**
+     * Decodes given bytes as a number in base58 into the supplied array, without throwing for bad input.
+     * Threadsafe, uses an instance per thread.
+     *
+     * @param base58 string to decode
+     * @param output array to write the number to
+     * @param offset index in output of the first byte written
+     * @return number of bytes written, or a negative {@link DecodeStatus}
+     */
+    public static int tryBase58Decode(final CharSequence base58, final byte[] output, final int offset) {
+        return getThreadSharedBase58().tryDecode(base58, output, offset);
+    }
+
+    /**
+     * Checks the string only contains base58 characters, without decoding it.
+     * Threadsafe.
+     *
+     * @param base58 string to check
+     * @return true if it can be decoded
+     */
+    public static boolean isValidBase58(final CharSequence base58) {
+        return Base58Alphabet.BITCOIN.isValid(base58);
+    }
+
+    /**
+     * Checks the string only contains base58 characters and has a length consistent with the expected decoded
+     * length, without decoding it.
+     * Threadsafe.
+     *
+     * @param base58                string to check
+     * @param expectedDecodedLength number of bytes it must decode to
+     * @return false if it can not be decoded to the expected length
+     * @see Base58Alphabet#isValid(CharSequence, int)
+     */
+    public static boolean isValidBase58(final CharSequence base58, final int expectedDecodedLength) {
+        return Base58Alphabet.BITCOIN.isValid(base58, expectedDecodedLength);
+    }
+
+    static ExtendedGeneralEncoderDecoder getThreadSharedBase58() {
+        ExtendedGeneralEncoderDecoder base58 = working.get();
         if (base58 == null) {
-            base58 = newInstance();
+            base58 = newInstanceWithBuffer(new ByteArrayWorkingBuffer(), Base58Alphabet.BITCOIN);
             working.set(base58);
         }
         return base58;
@@ -0,0 +1,225 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static io.github.novacrypto.base58.CapacityCalculator.isPlausibleLength;
+import static io.github.novacrypto.base58.CapacityCalculator.isPossibleLength;
+
+/**
+ * The 58 characters used to represent digits, along with the reverse lookup table. Both tables are built once per
+ * alphabet and shared by every instance created with it.
+ */
+public final class Base58Alphabet {
+
+    private static final int ALPHABET_SIZE = 58;
+    private static final int ASCII_SIZE = 128;
+
+    /**
+     * The alphabet used by Bitcoin and most other users of base58.
+     */
+    public static final Base58Alphabet BITCOIN =
+            new Base58Alphabet("123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz");
+
+    /**
+     * The alphabet used for Ripple addresses.
+     */
+    public static final Base58Alphabet RIPPLE =
+            new Base58Alphabet("rpshnaf39wBUDNEGHJKLM4PQRST7VWXYZ2bcdeCg65jkm8oFqi1tuvAxyz");
+
+    /**
+     * The alphabet used for Flickr short urls.
+     */
+    public static final Base58Alphabet FLICKR =
+            new Base58Alphabet("123456789abcdefghijkmnopqrstuvwxyzABCDEFGHJKLMNPQRSTUVWXYZ");
+
+    final char[] digits;
+    final int[] values;
+
+    private Base58Alphabet(final String alphabet) {
+        digits = alphabet.toCharArray();
+        values = initValues(digits);
+    }
+
+    /**
+     * Gets an alphabet from its 58 digit characters in order of value.
+     *
+     * @param alphabet 58 distinct ASCII characters
+     * @return the alphabet, one of the shared constants if it matches one
+     * @throws IllegalArgumentException if the alphabet is not 58 distinct ASCII characters
+     */
+    public static Base58Alphabet of(final String alphabet) {
+        for (final Base58Alphabet builtIn : new Base58Alphabet[]{BITCOIN, RIPPLE, FLICKR}) {
+            if (builtIn.toString().equals(alphabet))
+                return builtIn;
+        }
+        if (alphabet.length() != ALPHABET_SIZE)
+            throw new IllegalArgumentException("Alphabet must be " + ALPHABET_SIZE + " characters long");
+        final boolean[] seen = new boolean[ASCII_SIZE];
+        for (int i = 0; i < ALPHABET_SIZE; i++) {
+            final char c = alphabet.charAt(i);
+            if (c >= ASCII_SIZE)
+                throw new IllegalArgumentException("Alphabet must only contain ASCII characters");
+            if (seen[c])
+                throw new IllegalArgumentException("Alphabet contains '" + c + "' more than once");
+            seen[c] = true;
+        }
+        return new Base58Alphabet(alphabet);
+    }
+
+    /**
+     * @param value digit value 0-57
+     * @return the character representing that digit value
+     */
+    public char digit(final int value) {
+        return digits[value];
+    }
+
+    /**
+     * @return true if the digit characters are in ascending order, so that equal length strings sort by their value
+     */
+    public boolean isAscending() {
+        for (int i = 1; i < ALPHABET_SIZE; i++) {
+            if (digits[i - 1] >= digits[i])
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param c character
+     * @return digit value 0-57 of the character, or -1 if not in this alphabet
+     */
+    public int valueOf(final char c) {
+        if (c >= values.length)
+            return -1;
+        return values[c];
+    }
+
+    /**
+     * Checks all characters are in this alphabet, without decoding.
+     *
+     * @param base58 string to check
+     * @return true if it can be decoded
+     */
+    public boolean isValid(final CharSequence base58) {
+        return indexOfInvalid(base58, 0) < 0;
+    }
+
+    /**
+     * Checks all characters are in this alphabet and that the string's length is consistent with decoding to the
+     * expected number of bytes, without decoding. Impossible lengths are rejected before any characters are checked.
+     * <p>
+     * A true result does not guarantee the decoded length, but a false result guarantees it would not match.
+     *
+     * @param base58                string to check
+     * @param expectedDecodedLength number of bytes it must decode to
+     * @return false if it can not be decoded to the expected length
+     */
+    public boolean isValid(final CharSequence base58, final int expectedDecodedLength) {
+        final int length = base58.length();
+        if (!isPossibleLength(length, expectedDecodedLength))
+            return false;
+        final char zero = digits[0];
+        int blanks = 0;
+        while (blanks < length && base58.charAt(blanks) == zero) {
+            blanks++;
+        }
+        return isPlausibleLength(length - blanks, expectedDecodedLength - blanks) &&
+                indexOfInvalid(base58, blanks) < 0;
+    }
+
+    /**
+     * Checks all ASCII characters are in this alphabet, without decoding.
+     *
+     * @param ascii  array containing the base58 characters as ASCII bytes
+     * @param offset index of the first character
+     * @param length number of characters
+     * @return true if it can be decoded
+     */
+    public boolean isValid(final byte[] ascii, final int offset, final int length) {
+        return isValid(ByteBuffer.wrap(ascii, offset, length));
+    }
+
+    /**
+     * Checks all ASCII characters between the buffer's position and limit are in this alphabet, without decoding.
+     * The buffer's position is not changed.
+     *
+     * @param ascii buffer containing the base58 characters as ASCII bytes
+     * @return true if it can be decoded
+     */
+    public boolean isValid(final ByteBuffer ascii) {
+        return AsciiWords.indexOfInvalid(values, ascii, ascii.position(), ascii.limit()) < 0;
+    }
+
+    /**
+     * Checks all ASCII characters between the buffer's position and limit are in this alphabet and that the length
+     * is consistent with decoding to the expected number of bytes, without decoding.
+     * The buffer's position is not changed.
+     *
+     * @param ascii                 buffer containing the base58 characters as ASCII bytes
+     * @param expectedDecodedLength number of bytes it must decode to
+     * @return false if it can not be decoded to the expected length
+     * @see #isValid(CharSequence, int)
+     */
+    public boolean isValid(final ByteBuffer ascii, final int expectedDecodedLength) {
+        final int start = ascii.position();
+        final int end = ascii.limit();
+        final int length = end - start;
+        if (!isPossibleLength(length, expectedDecodedLength))
+            return false;
+        final byte zero = (byte) digits[0];
+        int blanks = 0;
+        while (blanks < length && ascii.get(start + blanks) == zero) {
+            blanks++;
+        }
+        return isPlausibleLength(length - blanks, expectedDecodedLength - blanks) &&
+                AsciiWords.indexOfInvalid(values, ascii, start + blanks, end) < 0;
+    }
+
+    int indexOfInvalid(final CharSequence base58, final int from) {
+        final int[] values = this.values;
+        final int length = base58.length();
+        for (int i = from; i < length; i++) {
+            final char c = base58.charAt(i);
+            if (c >= values.length || values[c] < 0)
+                return i;
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return new String(digits);
+    }
+
+    private static int[] initValues(final char[] alphabet) {
+        final int[] lookup = new int[ASCII_SIZE];
+        Arrays.fill(lookup, -1);
+        for (int i = 0; i < alphabet.length; i++)
+            lookup[alphabet[i]] = i;
+        return lookup;
+    }
+}
@@ -0,0 +1,414 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.github.novacrypto.base58.CapacityCalculator.maximumBase58StringLength;
+
+/**
+ * Encodes and decodes batches of values into one contiguous arena plus an offsets array, rather than an array per
+ * value.
+ * <p>
+ * For a batch of n values the offsets array needs at least n + 1 entries: value i occupies the arena from
+ * {@code offsets[i]} up to {@code offsets[i + 1]}. Batches to encode are described the same way, so decoded batches
+ * can be encoded again directly. Use {@link #maximumDecodedLength(List)} and {@link #maximumEncodedLength(int[], int)}
+ * to size arenas. If an arena is too small an exception is thrown, and the arena contents are then undefined.
+ * <p>
+ * Don't share instances across threads.
+ */
+public final class Base58BatchCodec {
+
+    private final Base58EncoderDecoder engine;
+    private final char[] digits;
+    private final Base58Limits limits;
+    private final SameLengthKernel kernel;
+    private final ArrayRegionTarget arrayTarget = new ArrayRegionTarget();
+    private final CharArrayTarget charTarget = new CharArrayTarget();
+    private final AsciiArrayTarget asciiTarget = new AsciiArrayTarget();
+    private final BufferTarget bufferTarget = new BufferTarget();
+    private int[] laneDigits = new int[0];
+    private byte[] padded = new byte[0];
+
+    Base58BatchCodec(final WorkingBuffer workingBuffer, final Base58Alphabet alphabet, final Base58Limits limits) {
+        this(workingBuffer, alphabet, limits, SameLengthKernels.create());
+    }
+
+    Base58BatchCodec(final WorkingBuffer workingBuffer, final Base58Alphabet alphabet, final Base58Limits limits,
+                     final SameLengthKernel kernel) {
+        this.engine = new Base58EncoderDecoder(workingBuffer, alphabet, limits);
+        this.digits = alphabet.digits;
+        this.limits = limits;
+        this.kernel = kernel;
+    }
+
+    /**
+     * @param base58 values to decode
+     * @return an arena length that is always enough to decode them
+     */
+    public static int maximumDecodedLength(final List<? extends CharSequence> base58) {
+        long total = 0;
+        for (final CharSequence value : base58) {
+            total += value.length();
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param dataOffsets offsets of the values to encode
+     * @param count       number of values
+     * @return an arena length that is always enough to encode them
+     */
+    public static int maximumEncodedLength(final int[] dataOffsets, final int count) {
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += maximumBase58StringLength(dataOffsets[i + 1] - dataOffsets[i]);
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Decodes all the values into an array arena.
+     *
+     * @param base58  values to decode
+     * @param arena   receives the decoded bytes
+     * @param offset  index in arena of the first byte written
+     * @param offsets receives the start of each value in arena, and the end of the last
+     * @return index in arena after the last byte written
+     * @throws IndexOutOfBoundsException if the arena or offsets are too small
+     */
+    public int decode(final List<? extends CharSequence> base58, final byte[] arena, final int offset,
+                      final int[] offsets) {
+        final int count = base58.size();
+        checkOffsets(offsets, count);
+        int position = offset;
+        for (int i = 0; i < count; i++) {
+            offsets[i] = position;
+            engine.decode(base58.get(i), arrayTarget.reset(arena, position));
+            if (!arrayTarget.fits())
+                throw new IndexOutOfBoundsException("Arena too small for value " + i);
+            position = arrayTarget.end();
+        }
+        offsets[count] = position;
+        return position;
+    }
+
+    /**
+     * Decodes all the values into a buffer arena, from its position. The position is advanced past the bytes written.
+     *
+     * @param base58  values to decode
+     * @param arena   receives the decoded bytes
+     * @param offsets receives the index in arena of the start of each value, and the end of the last
+     * @return number of bytes written
+     * @throws BufferOverflowException  if the arena does not have enough remaining
+     * @throws IndexOutOfBoundsException if the offsets are too small
+     */
+    public int decode(final List<? extends CharSequence> base58, final ByteBuffer arena, final int[] offsets) {
+        final int count = base58.size();
+        checkOffsets(offsets, count);
+        final int start = arena.position();
+        bufferTarget.buffer = arena;
+        try {
+            for (int i = 0; i < count; i++) {
+                offsets[i] = arena.position();
+                engine.decode(base58.get(i), bufferTarget);
+            }
+        } finally {
+            bufferTarget.buffer = null;
+        }
+        offsets[count] = arena.position();
+        return arena.position() - start;
+    }
+
+    /**
+     * Encodes slices of one array into a char arena.
+     *
+     * @param data        values to encode
+     * @param dataOffsets value i is data from {@code dataOffsets[i]} up to {@code dataOffsets[i + 1]}
+     * @param count       number of values
+     * @param arena       receives the base58 characters
+     * @param offset      index in arena of the first character written
+     * @param offsets     receives the start of each value in arena, and the end of the last
+     * @return index in arena after the last character written
+     * @throws IndexOutOfBoundsException if the arena or offsets are too small
+     */
+    public int encode(final byte[] data, final int[] dataOffsets, final int count, final char[] arena,
+                      final int offset, final int[] offsets) {
+        checkOffsets(offsets, count);
+        final CharArrayTarget target = charTarget;
+        target.arena = arena;
+        target.position = offset;
+        try {
+            for (int i = 0; i < count; i++) {
+                offsets[i] = target.position;
+                encodeValue(data, dataOffsets, i, target);
+            }
+            offsets[count] = target.position;
+            return target.position;
+        } finally {
+            target.arena = null;
+        }
+    }
+
+    /**
+     * Encodes slices of one array into an ASCII byte arena.
+     *
+     * @param data        values to encode
+     * @param dataOffsets value i is data from {@code dataOffsets[i]} up to {@code dataOffsets[i + 1]}
+     * @param count       number of values
+     * @param arena       receives the base58 characters as ASCII bytes
+     * @param offset      index in arena of the first byte written
+     * @param offsets     receives the start of each value in arena, and the end of the last
+     * @return index in arena after the last byte written
+     * @throws IndexOutOfBoundsException if the arena or offsets are too small
+     */
+    public int encodeToAscii(final byte[] data, final int[] dataOffsets, final int count, final byte[] arena,
+                             final int offset, final int[] offsets) {
+        checkOffsets(offsets, count);
+        final AsciiArrayTarget target = asciiTarget;
+        target.arena = arena;
+        target.position = offset;
+        try {
+            for (int i = 0; i < count; i++) {
+                offsets[i] = target.position;
+                encodeValue(data, dataOffsets, i, target);
+            }
+            offsets[count] = target.position;
+            return target.position;
+        } finally {
+            target.arena = null;
+        }
+    }
+
+    /**
+     * Encodes slices of one array into an ASCII buffer arena, from its position. The position is advanced past the
+     * bytes written.
+     *
+     * @param data        values to encode
+     * @param dataOffsets value i is data from {@code dataOffsets[i]} up to {@code dataOffsets[i + 1]}
+     * @param count       number of values
+     * @param arena       receives the base58 characters as ASCII bytes
+     * @param offsets     receives the index in arena of the start of each value, and the end of the last
+     * @return number of bytes written
+     * @throws BufferOverflowException   if the arena does not have enough remaining
+     * @throws IndexOutOfBoundsException if the offsets are too small
+     */
+    public int encodeToAscii(final byte[] data, final int[] dataOffsets, final int count, final ByteBuffer arena,
+                             final int[] offsets) {
+        checkOffsets(offsets, count);
+        final int start = arena.position();
+        bufferTarget.buffer = arena;
+        try {
+            for (int i = 0; i < count; i++) {
+                offsets[i] = arena.position();
+                encodeValue(data, dataOffsets, i, bufferTarget);
+            }
+        } finally {
+            bufferTarget.buffer = null;
+        }
+        offsets[count] = arena.position();
+        return arena.position() - start;
+    }
+
+    /**
+     * Encodes values that all have the same length, stored back to back, into an ASCII byte arena. The output is the
+     * same as encoding each value on its own.
+     * <p>
+     * Several values are converted at once, one per lane. On Java 17+ with the {@code jdk.incubator.vector} module
+     * added this uses the Vector API, otherwise an interleaved scalar loop.
+     *
+     * @param data        values to encode, back to back
+     * @param dataOffset  index in data of the first value
+     * @param valueLength number of bytes in every value
+     * @param count       number of values
+     * @param arena       receives the base58 characters as ASCII bytes,
+     *                    {@code count * Base58.maximumEncodedLength(valueLength)} is always enough
+     * @param offset      index in arena of the first byte written
+     * @param offsets     receives the start of each value in arena, and the end of the last
+     * @return index in arena after the last byte written
+     * @throws IndexOutOfBoundsException if the data does not hold count values, or the arena or offsets are too small
+     */
+    public int encodeSameLengthToAscii(final byte[] data, final int dataOffset, final int valueLength,
+                                       final int count, final byte[] arena, final int offset, final int[] offsets) {
+        checkOffsets(offsets, count);
+        if (dataOffset < 0 || valueLength < 0 || count < 0 ||
+                (long) valueLength * count > data.length - dataOffset)
+            throw new IndexOutOfBoundsException("Data does not hold " + count + " values of " + valueLength + " bytes");
+        limits.checkEncode(valueLength);
+        final SameLengthKernel kernel = this.kernel;
+        final int lanes = kernel.lanes();
+        final int width = maximumBase58StringLength(valueLength);
+        final int digitCount = width * lanes;
+        if (laneDigits.length < digitCount)
+            laneDigits = new int[digitCount];
+        final int[] laneDigits = this.laneDigits;
+        final int paddedLength = lanes * valueLength;
+        boolean usedPadded = false;
+        int position = offset;
+        try {
+            for (int first = 0; first < count; first += lanes) {
+                final int values = Math.min(lanes, count - first);
+                final int valueOffset = dataOffset + first * valueLength;
+                if (values == lanes) {
+                    kernel.toDigits(data, valueOffset, valueLength, laneDigits, width);
+                } else {
+                    if (padded.length < paddedLength)
+                        padded = new byte[paddedLength];
+                    usedPadded = true;
+                    System.arraycopy(data, valueOffset, padded, 0, values * valueLength);
+                    kernel.toDigits(padded, 0, valueLength, laneDigits, width);
+                }
+                for (int l = 0; l < values; l++) {
+                    offsets[first + l] = position;
+                    position = writeLane(data, valueOffset + l * valueLength, valueLength, laneDigits, lanes, l,
+                            width, arena, position, first + l);
+                }
+            }
+            offsets[count] = position;
+            return position;
+        } finally {
+            Arrays.fill(laneDigits, 0, digitCount, 0);
+            if (usedPadded)
+                Arrays.fill(padded, 0, paddedLength, (byte) 0);
+        }
+    }
+
+    /**
+     * Writes the leading zero bytes of the value and then its digits from the lane.
+     *
+     * @return index in arena after the last byte written
+     */
+    private int writeLane(final byte[] data, final int from, final int length, final int[] laneDigits,
+                          final int lanes, final int lane, final int width, final byte[] arena, final int position,
+                          final int i) {
+        final char[] a = digits;
+        int blanks = 0;
+        while (blanks < length && data[from + blanks] == 0) {
+            blanks++;
+        }
+        int top = width - 1;
+        while (top >= 0 && laneDigits[top * lanes + lane] == 0) {
+            top--;
+        }
+        final int end = position + blanks + top + 1;
+        if (position < 0 || end > arena.length)
+            throw new IndexOutOfBoundsException("Arena too small for value " + i);
+        int p = position;
+        for (int k = 0; k < blanks; k++) {
+            arena[p++] = (byte) a[0];
+        }
+        for (int j = top; j >= 0; j--) {
+            arena[p++] = (byte) a[laneDigits[j * lanes + lane]];
+        }
+        return end;
+    }
+
+    private void encodeValue(final byte[] data, final int[] dataOffsets, final int i, final EncodeTarget target) {
+        final int from = dataOffsets[i];
+        final int to = dataOffsets[i + 1];
+        if (from < 0 || to < from || to > data.length)
+            throw new IndexOutOfBoundsException("Bad offsets for value " + i);
+        engine.encode(data, from, to - from, target);
+    }
+
+    private static void checkOffsets(final int[] offsets, final int count) {
+        if (offsets.length < count + 1)
+            throw new IndexOutOfBoundsException("Offsets need " + (count + 1) + " entries");
+    }
+
+    private static final class CharArrayTarget implements BulkEncodeTarget {
+        char[] arena;
+        int position;
+
+        @Override
+        public void append(final char c) {
+            arena[position++] = c;
+        }
+
+        @Override
+        public void append(final char[] chars, final int offset, final int length) {
+            System.arraycopy(chars, offset, arena, position, length);
+            position += length;
+        }
+    }
+
+    private static final class AsciiArrayTarget implements BulkEncodeTarget {
+        byte[] arena;
+        int position;
+
+        @Override
+        public void append(final char c) {
+            arena[position++] = (byte) c;
+        }
+
+        @Override
+        public void append(final char[] chars, final int offset, final int length) {
+            if (length > arena.length - position)
+                throw new IndexOutOfBoundsException();
+            for (int i = 0; i < length; i++) {
+                arena[position++] = (byte) chars[offset + i];
+            }
+        }
+    }
+
+    /**
+     * Writes decoded bytes or ASCII characters at the buffer's position.
+     */
+    private static final class BufferTarget implements DecodeTarget, BulkDecodeWriter, BulkEncodeTarget {
+        ByteBuffer buffer;
+
+        @Override
+        public DecodeWriter getWriterForLength(final int len) {
+            if (buffer.remaining() < len)
+                throw new BufferOverflowException();
+            return this;
+        }
+
+        @Override
+        public void append(final byte b) {
+            buffer.put(b);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) {
+            buffer.put(bytes, offset, length);
+        }
+
+        @Override
+        public void append(final char c) {
+            buffer.put((byte) c);
+        }
+
+        @Override
+        public void append(final char[] chars, final int offset, final int length) {
+            if (buffer.remaining() < length)
+                throw new BufferOverflowException();
+            for (int i = 0; i < length; i++) {
+                buffer.put((byte) chars[offset + i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.util.Comparator;
+
+/**
+ * Orders base58 strings by the number they decode to, without decoding.
+ * <p>
+ * Strings are compared by numeric value first: after the leading zero digits, a longer significant part is a larger
+ * number, and equal lengths compare digit by digit through the alphabet's values. Strings of equal value, which
+ * differ only in their leading zero digits, then order by the number of leading zero bytes, fewer first.
+ * <p>
+ * Base58 is canonical, each byte array has exactly one encoding, so strings that compare equal are equal character
+ * for character. {@link #equals(CharSequence, CharSequence)} and {@link #hashCode(CharSequence)} work on any
+ * {@link CharSequence} and agree with {@link String#equals(Object)} and {@link String#hashCode()}.
+ * <p>
+ * Immutable and threadsafe.
+ */
+public final class Base58Comparator implements Comparator<CharSequence> {
+
+    private final char zero;
+    private final int[] values;
+    private final boolean badCharacterStackTraces;
+
+    Base58Comparator(final Base58Alphabet alphabet, final boolean badCharacterStackTraces) {
+        this.zero = alphabet.digits[0];
+        this.values = alphabet.values;
+        this.badCharacterStackTraces = badCharacterStackTraces;
+    }
+
+    /**
+     * @throws BadCharacterException if a compared character is not in the alphabet
+     */
+    @Override
+    public int compare(final CharSequence a, final CharSequence b) {
+        final int aLength = a.length();
+        final int bLength = b.length();
+        final int aBlanks = leadingZeros(a, aLength);
+        final int bBlanks = leadingZeros(b, bLength);
+        final int aSignificant = aLength - aBlanks;
+        final int bSignificant = bLength - bBlanks;
+        if (aSignificant != bSignificant)
+            return aSignificant < bSignificant ? -1 : 1;
+        final int[] values = this.values;
+        for (int i = aBlanks, j = bBlanks; i < aLength; i++, j++) {
+            final char aChar = a.charAt(i);
+            final char bChar = b.charAt(j);
+            if (aChar == bChar)
+                continue;
+            final int difference = value(values, aChar) - value(values, bChar);
+            if (difference != 0)
+                return difference;
+        }
+        return aBlanks < bBlanks ? -1 : aBlanks == bBlanks ? 0 : 1;
+    }
+
+    /**
+     * @return true if both decode to the same bytes
+     */
+    public boolean equals(final CharSequence a, final CharSequence b) {
+        return CharSequences.contentEquals(a, b);
+    }
+
+    /**
+     * @return hash consistent with {@link #equals(CharSequence, CharSequence)}, the same as {@link String#hashCode()}
+     */
+    public int hashCode(final CharSequence base58) {
+        return CharSequences.hash(base58);
+    }
+
+    private int leadingZeros(final CharSequence base58, final int length) {
+        int blanks = 0;
+        while (blanks < length && base58.charAt(blanks) == zero) {
+            blanks++;
+        }
+        return blanks;
+    }
+
+    private int value(final int[] values, final char c) {
+        final int value = Base58EncoderDecoder.valueOf(values, c);
+        if (value < 0)
+            throw BadCharacterException.of(c, badCharacterStackTraces);
+        return value;
+    }
+}
@@ -22,37 +22,107 @@
 
 package io.github.novacrypto.base58;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import static io.github.novacrypto.base58.CapacityCalculator.maximumBase58StringLength;
 
-final class Base58EncoderDecoder implements GeneralEncoderDecoder {
+final class Base58EncoderDecoder implements ExtendedGeneralEncoderDecoder {
 
-    private static final char[] DIGITS = "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz".toCharArray();
-    private static final int[] VALUES = initValues(DIGITS);
+    /**
+     * Output is staged in chunks of this size for {@link BulkEncodeTarget}s and {@link BulkDecodeWriter}s.
+     * The chunks are cleared after every use.
+     */
+    static final int CHUNK_SIZE = 256;
 
+    private final Base58Alphabet alphabet;
+    private final Base58Limits limits;
+    private final boolean badCharacterStackTraces;
+    private final char[] digits;
+    private final int[] values;
     private final WorkingBuffer workingBuffer;
-    private final StringBuilderEncodeTarget target = new StringBuilderEncodeTarget();
+    private final ArrayRegionTarget arrayRegionTarget = new ArrayRegionTarget();
+    private final char[] charChunk = new char[CHUNK_SIZE];
+    private final byte[] byteChunk = new byte[CHUNK_SIZE];
 
-    Base58EncoderDecoder(final WorkingBuffer workingBuffer) {
+    Base58EncoderDecoder(final WorkingBuffer workingBuffer, final Base58Alphabet alphabet, final Base58Limits limits) {
+        this(workingBuffer, alphabet, limits, true);
+    }
+
+    Base58EncoderDecoder(final WorkingBuffer workingBuffer, final Base58Alphabet alphabet, final Base58Limits limits,
+                         final boolean badCharacterStackTraces) {
         this.workingBuffer = workingBuffer;
+        this.alphabet = alphabet;
+        this.limits = limits;
+        this.badCharacterStackTraces = badCharacterStackTraces;
+        this.digits = alphabet.digits;
+        this.values = alphabet.values;
     }
 
     @Override
     public String encode(final byte[] bytes) {
-        target.clear();
-        encode(bytes, target, target);
-        return target.toString();
+        return Latin1Strings.newString(encodeToAscii(bytes));
+    }
+
+    @Override
+    public byte[] encodeToAscii(final byte[] bytes) {
+        limits.checkEncode(bytes.length);
+        final char[] a = digits;
+        final WorkingBuffer d = getBufferOfAtLeastBytes(maximumBase58StringLength(bytes.length));
+        try {
+            final int dlen = toDigits(bytes, 0, bytes.length, d);
+            final int blanks = leadingZeros(bytes, 0, bytes.length);
+            final byte[] ascii = new byte[blanks + dlen + 1];
+            Arrays.fill(ascii, 0, blanks, (byte) a[0]);
+            for (int i = blanks, j = dlen; j >= 0; i++, j--) {
+                ascii[i] = (byte) a[d.get(j)];
+            }
+            return ascii;
+        } finally {
+            d.clear();
+        }
+    }
+
+    @Override
+    public char[] encodeToChars(final byte[] bytes) {
+        limits.checkEncode(bytes.length);
+        final char[] a = digits;
+        final WorkingBuffer d = getBufferOfAtLeastBytes(maximumBase58StringLength(bytes.length));
+        try {
+            final int dlen = toDigits(bytes, 0, bytes.length, d);
+            final int blanks = leadingZeros(bytes, 0, bytes.length);
+            final char[] chars = new char[blanks + dlen + 1];
+            Arrays.fill(chars, 0, blanks, a[0]);
+            for (int i = blanks, j = dlen; j >= 0; i++, j--) {
+                chars[i] = a[d.get(j)];
+            }
+            return chars;
+        } finally {
+            d.clear();
+        }
+    }
+
+    @Override
+    public int encodedLength(final byte[] bytes) {
+        limits.checkEncode(bytes.length);
+        final WorkingBuffer d = getBufferOfAtLeastBytes(maximumBase58StringLength(bytes.length));
+        try {
+            return leadingZeros(bytes, 0, bytes.length) + toDigits(bytes, 0, bytes.length, d) + 1;
+        } finally {
+            d.clear();
+        }
     }
 
     @Override
     public void encode(final byte[] bytes, final EncodeTargetFromCapacity target) {
+        limits.checkEncode(bytes.length);
         final int characters = maximumBase58StringLength(bytes.length);
         encode(bytes, target.withCapacity(characters), characters);
     }
 
     @Override
     public void encode(final byte[] bytes, final EncodeTargetCapacity setCapacity, final EncodeTarget target) {
+        limits.checkEncode(bytes.length);
         final int characters = maximumBase58StringLength(bytes.length);
         setCapacity.setCapacity(characters);
         encode(bytes, target, characters);
@@ -60,47 +130,128 @@ final class Base58EncoderDecoder implements GeneralEncoderDecoder {
 
     @Override
     public void encode(final byte[] bytes, final EncodeTarget target) {
+        limits.checkEncode(bytes.length);
         final int characters = maximumBase58StringLength(bytes.length);
         encode(bytes, target, characters);
     }
 
+    /**
+     * Encodes a slice of the bytes, for batches of slices of one array.
+     */
+    void encode(final byte[] bytes, final int offset, final int length, final EncodeTarget target) {
+        limits.checkEncode(length);
+        encode(bytes, offset, length, target, maximumBase58StringLength(length));
+    }
+
     private void encode(final byte[] bytes, final EncodeTarget target, final int capacity) {
-        final char[] a = DIGITS;
-        final int bLen = bytes.length;
+        encode(bytes, 0, bytes.length, target, capacity);
+    }
+
+    private void encode(final byte[] bytes, final int offset, final int length, final EncodeTarget target,
+                        final int capacity) {
         final WorkingBuffer d = getBufferOfAtLeastBytes(capacity);
         try {
-            int dlen = -1;
-            int blanks = 0;
-            int j = 0;
-            for (int i = 0; i < bLen; i++) {
-                int c = bytes[i] & 0xff;
-                if (c == 0 && blanks == i) {
-                    target.append(a[0]);
-                    blanks++;
+            final int dlen = toDigits(bytes, offset, length, d);
+            final int blanks = leadingZeros(bytes, offset, length);
+            appendDigits(digits, d, dlen, blanks, target, charChunk);
+        } finally {
+            d.clear();
+        }
+    }
+
+    /**
+     * Appends the blanks and then the digits in d, most significant first, to the target.
+     * Uses the chunk for a {@link BulkEncodeTarget}, and clears it afterwards.
+     */
+    static void appendDigits(final char[] a, final WorkingBuffer d, final int dlen, final int blanks,
+                             final EncodeTarget target, final char[] chunk) {
+        if (target instanceof BulkEncodeTarget) {
+            appendInChunks(a, d, dlen, blanks, (BulkEncodeTarget) target, chunk);
+        } else {
+            append(a, d, dlen, blanks, target);
+        }
+    }
+
+    private static void append(final char[] a, final WorkingBuffer d, final int dlen, final int blanks,
+                               final EncodeTarget target) {
+        for (int i = 0; i < blanks; i++) {
+            target.append(a[0]);
+        }
+        for (int j = dlen; j >= 0; j--) {
+            target.append(a[d.get(j)]);
+        }
+    }
+
+    private static void appendInChunks(final char[] a, final WorkingBuffer d, final int dlen, final int blanks,
+                                       final BulkEncodeTarget target, final char[] chunk) {
+        final int size = chunk.length;
+        int n = 0;
+        try {
+            for (int i = 0; i < blanks; i++) {
+                chunk[n++] = a[0];
+                if (n == size) {
+                    target.append(chunk, 0, n);
+                    n = 0;
                 }
-                j = 0;
-                while (j <= dlen || c != 0) {
-                    int n;
-                    if (j > dlen) {
-                        dlen = j;
-                        n = c;
-                    } else {
-                        n = d.get(j);
-                        n = (n << 8) + c;
-                    }
-                    d.put(j, (byte) (n % 58));
-                    c = n / 58;
-                    j++;
+            }
+            for (int j = dlen; j >= 0; j--) {
+                chunk[n++] = a[d.get(j)];
+                if (n == size) {
+                    target.append(chunk, 0, n);
+                    n = 0;
                 }
             }
-            while (j-- > 0) {
-                target.append(a[d.get(j)]);
+            if (n > 0) {
+                target.append(chunk, 0, n);
             }
         } finally {
-            d.clear();
+            Arrays.fill(chunk, '\0');
         }
     }
 
+    /**
+     * Converts the bytes to base58 digits in d, least significant digit first.
+     *
+     * @return the index of the most significant digit in d, -1 if the bytes are all zero
+     */
+    private static int toDigits(final byte[] bytes, final int offset, final int length, final WorkingBuffer d) {
+        int dlen = -1;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            dlen = multiplyAdd256(d, dlen, bytes[i] & 0xff);
+        }
+        return dlen;
+    }
+
+    /**
+     * Multiplies the base58 number in d by 256 and adds c.
+     *
+     * @return the new index of the most significant digit in d, -1 while d is zero
+     */
+    static int multiplyAdd256(final WorkingBuffer d, final int dlen, int c) {
+        int j = 0;
+        while (j <= dlen || c != 0) {
+            int n;
+            if (j > dlen) {
+                n = c;
+            } else {
+                n = d.get(j);
+                n = (n << 8) + c;
+            }
+            d.put(j, (byte) (n % 58));
+            c = n / 58;
+            j++;
+        }
+        return j - 1;
+    }
+
+    private static int leadingZeros(final byte[] bytes, final int offset, final int length) {
+        int blanks = 0;
+        while (blanks < length && bytes[offset + blanks] == 0) {
+            blanks++;
+        }
+        return blanks;
+    }
+
     @Override
     public byte[] decode(final CharSequence base58) {
         final ByteArrayTarget target = new ByteArrayTarget();
@@ -110,47 +261,196 @@ final class Base58EncoderDecoder implements GeneralEncoderDecoder {
 
     @Override
     public void decode(final CharSequence base58, final DecodeTarget target) {
+        limits.checkDecode(base58, digits[0]);
+        decodeInto(base58, target);
+    }
+
+    @Override
+    public int tryDecode(final CharSequence base58, final DecodeTarget target) {
+        if (limits.decodeViolation(base58, digits[0]) != Base58Limits.WITHIN_LIMITS) {
+            return DecodeStatus.lengthRejected();
+        }
+        final int invalid = alphabet.indexOfInvalid(base58, 0);
+        if (invalid >= 0) {
+            return DecodeStatus.badCharacter(invalid);
+        }
+        return decodeInto(base58, target);
+    }
+
+    @Override
+    public int tryDecode(final CharSequence base58, final byte[] output, final int offset) {
+        if (limits.decodeViolation(base58, digits[0]) != Base58Limits.WITHIN_LIMITS) {
+            return DecodeStatus.lengthRejected();
+        }
+        final int invalid = alphabet.indexOfInvalid(base58, 0);
+        if (invalid >= 0) {
+            return DecodeStatus.badCharacter(invalid);
+        }
+        final ArrayRegionTarget target = arrayRegionTarget.reset(output, offset);
+        try {
+            final int length = decodeInto(base58, target);
+            return target.fits() ? length : DecodeStatus.outputTooSmall(length);
+        } finally {
+            target.reset(null, 0);
+        }
+    }
+
+    private int decodeInto(final CharSequence base58, final DecodeTarget target) {
+        final int[] values = this.values;
         final int strLen = base58.length();
         final WorkingBuffer d = getBufferOfAtLeastBytes(strLen);
         try {
             int dlen = -1;
             int blanks = 0;
-            int j = 0;
             for (int i = 0; i < strLen; i++) {
-                j = 0;
                 final char charAtI = base58.charAt(i);
-                int c = valueOf(charAtI);
+                final int c = valueOf(values, charAtI);
                 if (c < 0) {
-                    throw new BadCharacterException(charAtI);
+                    throw BadCharacterException.of(charAtI, badCharacterStackTraces);
                 }
                 if (c == 0 && blanks == i) {
                     blanks++;
                 }
-                while (j <= dlen || c != 0) {
-                    int n;
-                    if (j > dlen) {
-                        dlen = j;
-                        n = c;
-                    } else {
-                        n = d.get(j) & 0xff;
-                        n = n * 58 + c;
-                    }
-                    d.put(j, (byte) n);
-                    c = n >>> 8;
-                    j++;
+                dlen = multiplyAdd58(d, dlen, c);
+            }
+            return writeDigits(d, dlen, blanks, target, byteChunk);
+        } finally {
+            d.clear();
+        }
+    }
+
+    @Override
+    public void decode(final byte[] ascii, final int offset, final int length, final DecodeTarget target) {
+        decode(ByteBuffer.wrap(ascii, offset, length), target);
+    }
+
+    @Override
+    public void decode(final ByteBuffer ascii, final DecodeTarget target) {
+        final int start = ascii.position();
+        final int end = ascii.limit();
+        final int violation = limits.decodeViolation(ascii, start, end, digits[0]);
+        if (violation != Base58Limits.WITHIN_LIMITS) {
+            throw limits.decodeException(violation, end - start);
+        }
+        final int invalid = AsciiWords.indexOfInvalid(values, ascii, start, end);
+        if (invalid >= 0) {
+            throw BadCharacterException.of((char) (ascii.get(invalid) & 0xff), badCharacterStackTraces);
+        }
+        decodeInto(ascii, start, end, target);
+    }
+
+    /**
+     * Decodes given ASCII bytes into the supplied array, without throwing for bad input.
+     *
+     * @return number of bytes written, or a negative {@link DecodeStatus}
+     */
+    int tryDecode(final ByteBuffer ascii, final byte[] output, final int offset) {
+        final int start = ascii.position();
+        final int end = ascii.limit();
+        if (limits.decodeViolation(ascii, start, end, digits[0]) != Base58Limits.WITHIN_LIMITS) {
+            return DecodeStatus.lengthRejected();
+        }
+        final int invalid = AsciiWords.indexOfInvalid(values, ascii, start, end);
+        if (invalid >= 0) {
+            return DecodeStatus.badCharacter(invalid - start);
+        }
+        final ArrayRegionTarget target = arrayRegionTarget.reset(output, offset);
+        try {
+            final int length = decodeInto(ascii, start, end, target);
+            return target.fits() ? length : DecodeStatus.outputTooSmall(length);
+        } finally {
+            target.reset(null, 0);
+        }
+    }
+
+    private int decodeInto(final ByteBuffer ascii, final int start, final int end, final DecodeTarget target) {
+        final int[] values = this.values;
+        final WorkingBuffer d = getBufferOfAtLeastBytes(end - start);
+        try {
+            int dlen = -1;
+            int blanks = 0;
+            for (int i = start; i < end; i++) {
+                final int c = values[ascii.get(i)];
+                if (c == 0 && blanks == i - start) {
+                    blanks++;
                 }
+                dlen = multiplyAdd58(d, dlen, c);
+            }
+            return writeDigits(d, dlen, blanks, target, byteChunk);
+        } finally {
+            d.clear();
+        }
+    }
+
+    /**
+     * Multiplies the base256 number in d by 58 and adds c.
+     *
+     * @return the new index of the most significant byte in d, -1 while d is zero
+     */
+    static int multiplyAdd58(final WorkingBuffer d, final int dlen, int c) {
+        int j = 0;
+        while (j <= dlen || c != 0) {
+            int n;
+            if (j > dlen) {
+                n = c;
+            } else {
+                n = d.get(j) & 0xff;
+                n = n * 58 + c;
             }
-            final int outputLength = j + blanks;
-            final DecodeWriter writer = target.getWriterForLength(outputLength);
+            d.put(j, (byte) n);
+            c = n >>> 8;
+            j++;
+        }
+        return j - 1;
+    }
+
+    /**
+     * Writes the blanks and then the bytes in d, most significant first, to the target.
+     * Uses the chunk for a {@link BulkDecodeWriter}, and clears it afterwards.
+     *
+     * @return number of bytes written
+     */
+    static int writeDigits(final WorkingBuffer d, final int dlen, final int blanks, final DecodeTarget target,
+                           final byte[] chunk) {
+        final int outputLength = dlen + 1 + blanks;
+        final DecodeWriter writer = target.getWriterForLength(outputLength);
+        if (writer instanceof BulkDecodeWriter) {
+            writeInChunks(d, dlen, blanks, (BulkDecodeWriter) writer, chunk);
+            return outputLength;
+        }
+        for (int i = 0; i < blanks; i++) {
+            writer.append((byte) 0);
+        }
+        for (int j = dlen; j >= 0; j--) {
+            writer.append(d.get(j));
+        }
+        return outputLength;
+    }
+
+    private static void writeInChunks(final WorkingBuffer d, final int dlen, final int blanks,
+                                      final BulkDecodeWriter writer, final byte[] chunk) {
+        final int size = chunk.length;
+        int n = 0;
+        try {
             for (int i = 0; i < blanks; i++) {
-                writer.append((byte) 0);
+                chunk[n++] = 0;
+                if (n == size) {
+                    writer.write(chunk, 0, n);
+                    n = 0;
+                }
+            }
+            for (int j = dlen; j >= 0; j--) {
+                chunk[n++] = d.get(j);
+                if (n == size) {
+                    writer.write(chunk, 0, n);
+                    n = 0;
+                }
             }
-            final int end = outputLength - 1;
-            for (int i = blanks; i < outputLength; i++) {
-                writer.append(d.get(end - i));
+            if (n > 0) {
+                writer.write(chunk, 0, n);
             }
         } finally {
-            d.clear();
+            Arrays.fill(chunk, (byte) 0);
         }
     }
 
@@ -159,17 +459,9 @@ final class Base58EncoderDecoder implements GeneralEncoderDecoder {
         return workingBuffer;
     }
 
-    private static int[] initValues(final char[] alphabet) {
-        final int[] lookup = new int['z' + 1];
-        Arrays.fill(lookup, -1);
-        for (int i = 0; i < alphabet.length; i++)
-            lookup[alphabet[i]] = i;
-        return lookup;
-    }
-
-    private static int valueOf(final char base58Char) {
-        if (base58Char >= VALUES.length)
+    static int valueOf(final int[] values, final char base58Char) {
+        if (base58Char >= values.length)
             return -1;
-        return VALUES[base58Char];
+        return values[base58Char];
     }
 }
\ No newline at end of file
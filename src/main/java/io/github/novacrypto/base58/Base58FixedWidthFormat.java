@@ -0,0 +1,161 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+/**
+ * Fixed width encoding for sortable keys.
+ * <p>
+ * Every input of n bytes encodes to exactly {@code Base58.maximumEncodedLength(n)} characters, its big-endian value
+ * left padded with the zero digit. Leading zero bytes have no special meaning. With an alphabet that is
+ * {@link Base58Alphabet#isAscending() ascending}, such as {@link Base58Alphabet#BITCOIN}, the encodings of inputs of
+ * the same length sort as strings in the same order as the inputs sort as unsigned bytes.
+ * <p>
+ * The width is known up front so the digits are written straight into the output from its end.
+ * <p>
+ * Not threadsafe, uses one working buffer.
+ */
+public final class Base58FixedWidthFormat {
+
+    private final Base58Alphabet alphabet;
+    private final FramedCodec codec;
+
+    Base58FixedWidthFormat(final WorkingBuffer workingBuffer, final Base58Alphabet alphabet,
+                           final boolean badCharacterStackTraces) {
+        this.alphabet = alphabet;
+        this.codec = new FramedCodec(workingBuffer, alphabet, badCharacterStackTraces);
+    }
+
+    /**
+     * @return true if string order matches unsigned byte order for inputs of the same length
+     */
+    public boolean isOrderPreserving() {
+        return alphabet.isAscending();
+    }
+
+    /**
+     * @param byteLength number of bytes
+     * @return number of characters every input of that length encodes to
+     */
+    public int encodedLength(final int byteLength) {
+        if (byteLength < 0)
+            throw new IllegalArgumentException("byteLength must not be negative");
+        return FramedCodec.groupWidth(byteLength);
+    }
+
+    /**
+     * @param charLength number of characters
+     * @return number of bytes that encode to that many characters
+     * @throws IllegalArgumentException if no length of input encodes to that many characters
+     */
+    public int decodedLength(final int charLength) {
+        final int length = charLength < 0 ? -1 : FramedCodec.blockLength(charLength, charLength);
+        if (length < 0)
+            throw new IllegalArgumentException("No input encodes to " + charLength + " base58 characters");
+        return length;
+    }
+
+    /**
+     * @param bytes input
+     * @return exactly {@code encodedLength(bytes.length)} characters
+     */
+    public String encode(final byte[] bytes) {
+        return Latin1Strings.newString(encodeToAscii(bytes));
+    }
+
+    /**
+     * @param bytes input
+     * @return exactly {@code encodedLength(bytes.length)} ASCII characters
+     */
+    public byte[] encodeToAscii(final byte[] bytes) {
+        final byte[] ascii = new byte[encodedLength(bytes.length)];
+        codec.encodeGroupToAscii(bytes, 0, bytes.length, ascii, 0);
+        return ascii;
+    }
+
+    /**
+     * @param bytes        input
+     * @param offset       index of the first input byte
+     * @param length       number of input bytes
+     * @param output       receives exactly {@code encodedLength(length)} characters
+     * @param outputOffset index in output of the first character
+     * @return number of characters written
+     */
+    public int encode(final byte[] bytes, final int offset, final int length, final char[] output,
+                      final int outputOffset) {
+        checkRange(bytes.length, offset, length);
+        final int width = encodedLength(length);
+        checkRange(output.length, outputOffset, width);
+        codec.encodeGroup(bytes, offset, length, output, outputOffset);
+        return width;
+    }
+
+    /**
+     * @param bytes        input
+     * @param offset       index of the first input byte
+     * @param length       number of input bytes
+     * @param output       receives exactly {@code encodedLength(length)} ASCII characters
+     * @param outputOffset index in output of the first character
+     * @return number of characters written
+     */
+    public int encodeToAscii(final byte[] bytes, final int offset, final int length, final byte[] output,
+                             final int outputOffset) {
+        checkRange(bytes.length, offset, length);
+        final int width = encodedLength(length);
+        checkRange(output.length, outputOffset, width);
+        codec.encodeGroupToAscii(bytes, offset, length, output, outputOffset);
+        return width;
+    }
+
+    /**
+     * @param base58 fixed width encoding
+     * @return the bytes, the length is implied by the length of the string
+     * @throws BadCharacterException    if a character is not in the alphabet
+     * @throws IllegalArgumentException if no input encodes to that length, or the value is too large for it
+     */
+    public byte[] decode(final CharSequence base58) {
+        final byte[] bytes = new byte[decodedLength(base58.length())];
+        codec.decodeGroup(base58, 0, bytes, 0, bytes.length);
+        return bytes;
+    }
+
+    /**
+     * @param base58 fixed width encoding of exactly length bytes
+     * @param output array to write the bytes to
+     * @param offset index in output of the first byte
+     * @param length number of bytes
+     * @throws BadCharacterException    if a character is not in the alphabet
+     * @throws IllegalArgumentException if the string is not the width of length bytes, or the value is too large
+     */
+    public void decode(final CharSequence base58, final byte[] output, final int offset, final int length) {
+        checkRange(output.length, offset, length);
+        if (base58.length() != encodedLength(length))
+            throw new IllegalArgumentException("Base58 string is not " + encodedLength(length) +
+                    " characters wide");
+        codec.decodeGroup(base58, 0, output, offset, length);
+    }
+
+    private static void checkRange(final int arrayLength, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length)
+            throw new IndexOutOfBoundsException();
+    }
+}
@@ -0,0 +1,259 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A framed base58 format for data of any length, in linear time and constant memory.
+ * <p>
+ * The input is split into blocks of {@link #blockSize()} bytes, the last block may be shorter. Each block is read as
+ * one big-endian number and written as a group of exactly {@code Base58.maximumEncodedLength(blockLength)} digits,
+ * padded with leading zero digits. The groups are concatenated with no separators. Every block length has a
+ * different group width, so the width of the final group tells the decoder the length of the final block.
+ * <p>
+ * This is not plain base58, the same bytes do not encode the same way, and both sides must agree on the block size.
+ * <p>
+ * Immutable and threadsafe. The streams it creates are not threadsafe.
+ */
+public final class Base58FramedFormat {
+
+    /**
+     * Largest supported block size. Each group costs time proportional to the square of the block size.
+     */
+    public static final int MAX_BLOCK_SIZE = 4096;
+
+    private static final int BLOCKS_PER_TASK = 1024;
+
+    private final int blockSize;
+    private final int groupWidth;
+    private final Base58Alphabet alphabet;
+    private final boolean secure;
+    private final boolean badCharacterStackTraces;
+
+    Base58FramedFormat(final int blockSize, final Base58Alphabet alphabet, final boolean secure,
+                       final boolean badCharacterStackTraces) {
+        if (blockSize < 1 || blockSize > MAX_BLOCK_SIZE)
+            throw new IllegalArgumentException("Block size must be from 1 to " + MAX_BLOCK_SIZE);
+        this.blockSize = blockSize;
+        this.groupWidth = FramedCodec.groupWidth(blockSize);
+        this.alphabet = alphabet;
+        this.secure = secure;
+        this.badCharacterStackTraces = badCharacterStackTraces;
+    }
+
+    public int blockSize() {
+        return blockSize;
+    }
+
+    /**
+     * @return number of characters in the group of a full block
+     */
+    public int groupWidth() {
+        return groupWidth;
+    }
+
+    /**
+     * @param byteLength number of bytes
+     * @return number of characters they encode to
+     */
+    public long encodedLength(final long byteLength) {
+        if (byteLength < 0)
+            throw new IllegalArgumentException("Length must not be negative");
+        return byteLength / blockSize * groupWidth + FramedCodec.groupWidth((int) (byteLength % blockSize));
+    }
+
+    /**
+     * @param charLength number of characters
+     * @return number of bytes they decode to
+     * @throws IllegalArgumentException if no input encodes to that many characters
+     */
+    public long decodedLength(final long charLength) {
+        if (charLength < 0)
+            throw new IllegalArgumentException("Length must not be negative");
+        return charLength / groupWidth * blockSize + finalBlockLength((int) (charLength % groupWidth));
+    }
+
+    /**
+     * @param bytes bytes to encode
+     * @return framed base58 representation
+     */
+    public String encode(final byte[] bytes) {
+        final char[] chars = new char[encodedArrayLength(bytes.length)];
+        encodeBlocks(newCodec(), bytes, 0, blockCount(bytes.length), chars);
+        return new String(chars);
+    }
+
+    /**
+     * @param base58 framed base58 to decode
+     * @return the bytes
+     * @throws BadCharacterException    if a character is not in the alphabet
+     * @throws IllegalArgumentException if the length or a group's value is not possible
+     */
+    public byte[] decode(final CharSequence base58) {
+        final byte[] bytes = new byte[decodedArrayLength(base58.length())];
+        decodeBlocks(newCodec(), base58, 0, blockCount(bytes.length), bytes);
+        return bytes;
+    }
+
+    /**
+     * Encodes, splitting the blocks into tasks for the executor. Each task uses its own working buffer.
+     *
+     * @param bytes    bytes to encode
+     * @param executor runs the tasks
+     * @return framed base58 representation, the same as {@link #encode(byte[])}
+     * @throws InterruptedException if interrupted while waiting for the tasks
+     */
+    public String encode(final byte[] bytes, final ExecutorService executor) throws InterruptedException {
+        final char[] chars = new char[encodedArrayLength(bytes.length)];
+        final int blocks = blockCount(bytes.length);
+        final List<Callable<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < blocks; from += BLOCKS_PER_TASK) {
+            final int fromBlock = from;
+            final int toBlock = Math.min(blocks, from + BLOCKS_PER_TASK);
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    encodeBlocks(newCodec(), bytes, fromBlock, toBlock, chars);
+                    return null;
+                }
+            });
+        }
+        Tasks.runAll(executor, tasks);
+        return new String(chars);
+    }
+
+    /**
+     * Decodes, splitting the groups into tasks for the executor. Each task uses its own working buffer.
+     *
+     * @param base58   framed base58 to decode
+     * @param executor runs the tasks
+     * @return the bytes, the same as {@link #decode(CharSequence)}
+     * @throws InterruptedException if interrupted while waiting for the tasks
+     */
+    public byte[] decode(final CharSequence base58, final ExecutorService executor) throws InterruptedException {
+        final byte[] bytes = new byte[decodedArrayLength(base58.length())];
+        final int blocks = blockCount(bytes.length);
+        final List<Callable<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < blocks; from += BLOCKS_PER_TASK) {
+            final int fromBlock = from;
+            final int toBlock = Math.min(blocks, from + BLOCKS_PER_TASK);
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    decodeBlocks(newCodec(), base58, fromBlock, toBlock, bytes);
+                    return null;
+                }
+            });
+        }
+        Tasks.runAll(executor, tasks);
+        return bytes;
+    }
+
+    /**
+     * @param out receives the characters, closed when the stream is closed
+     * @return a stream that encodes the bytes written to it, the final group is written on close
+     */
+    public OutputStream encodingOutputStream(final Writer out) {
+        return new FramedEncodingOutputStream(newCodec(), blockSize, out);
+    }
+
+    /**
+     * @param in source of the bytes, closed when the reader is closed
+     * @return a reader of the encoding of the bytes
+     */
+    public Reader encodingReader(final InputStream in) {
+        return new FramedEncodingReader(newCodec(), blockSize, in);
+    }
+
+    /**
+     * @param in source of the characters, closed when the stream is closed
+     * @return a stream of the decoded bytes
+     */
+    public InputStream decodingInputStream(final Reader in) {
+        return new FramedDecodingInputStream(this, newCodec(), in);
+    }
+
+    /**
+     * @param out receives the bytes, closed when the writer is closed
+     * @return a writer that decodes the characters written to it, the final group is decoded on close
+     */
+    public Writer decodingWriter(final OutputStream out) {
+        return new FramedDecodingWriter(this, newCodec(), out);
+    }
+
+    /**
+     * @param width number of characters in the final group, less than a full group
+     * @return length of the final block
+     * @throws IllegalArgumentException if no block encodes to that width
+     */
+    int finalBlockLength(final int width) {
+        final int length = FramedCodec.blockLength(width, blockSize - 1);
+        if (length < 0)
+            throw new IllegalArgumentException("Final base58 group of " + width + " characters is not possible");
+        return length;
+    }
+
+    private FramedCodec newCodec() {
+        return new FramedCodec(secure ? new SecureWorkingBuffer() : new ByteArrayWorkingBuffer(), alphabet,
+                badCharacterStackTraces);
+    }
+
+    private int encodedArrayLength(final int byteLength) {
+        final long length = encodedLength(byteLength);
+        if (length > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Encoding of " + byteLength + " bytes is too long for a String");
+        return (int) length;
+    }
+
+    private int decodedArrayLength(final int charLength) {
+        return (int) decodedLength(charLength);
+    }
+
+    private int blockCount(final int byteLength) {
+        return (int) ((byteLength + (long) blockSize - 1) / blockSize);
+    }
+
+    private void encodeBlocks(final FramedCodec codec, final byte[] bytes, final int fromBlock, final int toBlock,
+                              final char[] chars) {
+        for (int b = fromBlock; b < toBlock; b++) {
+            final int offset = b * blockSize;
+            codec.encodeGroup(bytes, offset, Math.min(blockSize, bytes.length - offset), chars, b * groupWidth);
+        }
+    }
+
+    private void decodeBlocks(final FramedCodec codec, final CharSequence base58, final int fromBlock,
+                              final int toBlock, final byte[] bytes) {
+        for (int b = fromBlock; b < toBlock; b++) {
+            final int offset = b * blockSize;
+            codec.decodeGroup(base58, b * groupWidth, bytes, offset, Math.min(blockSize, bytes.length - offset));
+        }
+    }
+}
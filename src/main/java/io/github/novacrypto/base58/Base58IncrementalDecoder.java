@@ -0,0 +1,195 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Decodes base58 that arrives in pieces. Feed the characters in order with the {@code update} methods and then call
+ * {@link #finish(DecodeTarget)}, the result is the same as decoding the whole string at once.
+ * <p>
+ * Each piece is checked against the alphabet and the input length limits as it arrives, a bad piece is rejected
+ * before any of it is used, leaving the state unchanged. The expected decoded length limit can only be checked on
+ * finish.
+ * <p>
+ * Only the decoded bytes so far and the leading zero count are kept, the input is not copied. Secure decoders keep
+ * the bytes in a masked direct buffer and clear them on finish and {@link #reset()}.
+ * <p>
+ * Reusable after finish or reset. Don't share instances across threads.
+ */
+public final class Base58IncrementalDecoder {
+
+    private final Base58Alphabet alphabet;
+    private final int[] values;
+    private final Base58Limits limits;
+    private final boolean badCharacterStackTraces;
+    private final byte[] chunk = new byte[Base58EncoderDecoder.CHUNK_SIZE];
+    private final char[] readBuffer = new char[Base58EncoderDecoder.CHUNK_SIZE];
+    private final GrowingDigits bytesSoFar;
+    private int dlen = -1;
+    private int blanks;
+    private int length;
+
+    Base58IncrementalDecoder(final WorkingBuffer first, final WorkingBuffer second, final Base58Alphabet alphabet,
+                             final Base58Limits limits, final boolean badCharacterStackTraces) {
+        this.bytesSoFar = new GrowingDigits(first, second);
+        this.alphabet = alphabet;
+        this.values = alphabet.values;
+        this.limits = limits;
+        this.badCharacterStackTraces = badCharacterStackTraces;
+    }
+
+    /**
+     * Adds all of the characters to the input.
+     *
+     * @param base58 next characters of the input
+     * @throws BadCharacterException if any character is not in the alphabet, the state is left unchanged
+     * @throws LengthLimitException  if the total input would exceed the limits, the state is left unchanged
+     */
+    public void update(final CharSequence base58) {
+        final int count = base58.length();
+        checkLength(count);
+        final int invalid = alphabet.indexOfInvalid(base58, 0);
+        if (invalid >= 0)
+            throw BadCharacterException.of(base58.charAt(invalid), badCharacterStackTraces);
+        final WorkingBuffer d = bytesSoFar.ensureCapacity(length + count, dlen);
+        final int[] values = this.values;
+        for (int i = 0; i < count; i++) {
+            final int c = values[base58.charAt(i)];
+            if (c == 0 && blanks == length + i) {
+                blanks++;
+            }
+            dlen = Base58EncoderDecoder.multiplyAdd58(d, dlen, c);
+        }
+        length += count;
+    }
+
+    /**
+     * Adds a region of the characters to the input.
+     *
+     * @param chars  next characters of the input
+     * @param offset index of the first character
+     * @param count  number of characters
+     * @throws BadCharacterException if any character is not in the alphabet, the state is left unchanged
+     * @throws LengthLimitException  if the total input would exceed the limits, the state is left unchanged
+     */
+    public void update(final char[] chars, final int offset, final int count) {
+        update(CharBuffer.wrap(chars, offset, count));
+    }
+
+    /**
+     * Adds the remaining characters of the buffer to the input, and moves its position to its limit.
+     *
+     * @param base58 next characters of the input
+     * @throws BadCharacterException if any character is not in the alphabet, the state and position are unchanged
+     * @throws LengthLimitException  if the total input would exceed the limits, the state and position are unchanged
+     */
+    public void update(final CharBuffer base58) {
+        update((CharSequence) base58);
+        base58.position(base58.limit());
+    }
+
+    /**
+     * Adds all the characters the reader has, up to its end, to the input. Does not close the reader.
+     *
+     * @param reader source of the next characters of the input
+     * @return number of characters read
+     * @throws IOException           if the reader does
+     * @throws BadCharacterException if any character is not in the alphabet, the characters read before the block
+     *                               containing it have been used
+     * @throws LengthLimitException  if the total input would exceed the limits, the characters read before the block
+     *                               that exceeded it have been used
+     */
+    public long update(final Reader reader) throws IOException {
+        final char[] buffer = readBuffer;
+        long total = 0;
+        try {
+            int read;
+            while ((read = reader.read(buffer)) >= 0) {
+                update(buffer, 0, read);
+                total += read;
+            }
+        } finally {
+            Arrays.fill(buffer, '\0');
+        }
+        return total;
+    }
+
+    /**
+     * @return number of characters of input so far
+     */
+    public int inputLength() {
+        return length;
+    }
+
+    /**
+     * Writes the decoded bytes of all the input to the target and resets for the next input.
+     *
+     * @param target Receiver for output
+     * @return number of bytes written
+     * @throws LengthLimitException if the input does not decode to the expected length, nothing is written
+     */
+    public int finish(final DecodeTarget target) {
+        try {
+            final int violation = limits.decodeViolation(length, blanks);
+            if (violation != Base58Limits.WITHIN_LIMITS)
+                throw limits.decodeException(violation, length);
+            return Base58EncoderDecoder.writeDigits(bytesSoFar.buffer(), dlen, blanks, target, chunk);
+        } finally {
+            reset();
+        }
+    }
+
+    /**
+     * Decodes all the input and resets for the next input.
+     *
+     * @return the number as bytes
+     * @throws LengthLimitException if the input does not decode to the expected length
+     */
+    public byte[] finish() {
+        final ByteArrayTarget target = new ByteArrayTarget();
+        finish(target);
+        return target.asByteArray();
+    }
+
+    /**
+     * Discards the input so far.
+     */
+    public void reset() {
+        bytesSoFar.clear();
+        dlen = -1;
+        blanks = 0;
+        length = 0;
+    }
+
+    private void checkLength(final int count) {
+        if (count > Integer.MAX_VALUE - length)
+            throw new LengthLimitException("Input exceeds " + Integer.MAX_VALUE + " characters");
+        final int violation = limits.partialDecodeViolation(length + count);
+        if (violation != Base58Limits.WITHIN_LIMITS)
+            throw limits.decodeException(violation, length + count);
+    }
+}
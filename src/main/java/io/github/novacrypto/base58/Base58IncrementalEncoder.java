@@ -0,0 +1,131 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import static io.github.novacrypto.base58.CapacityCalculator.maximumBase58StringLength;
+
+/**
+ * Encodes input that arrives in pieces. Feed the bytes in order with {@link #update(byte[], int, int)} and then call
+ * {@link #finish(EncodeTarget)}, the result is the same as encoding all the bytes at once.
+ * <p>
+ * Only the base58 digits so far and the leading zero count are kept, the input is not copied. The digits grow with
+ * the input, so memory is proportional to the output. Secure encoders keep the digits in a masked direct buffer and
+ * clear them on {@link #finish(EncodeTarget)} and {@link #reset()}.
+ * <p>
+ * Reusable after finish or reset. Don't share instances across threads.
+ */
+public final class Base58IncrementalEncoder {
+
+    private final char[] digits;
+    private final Base58Limits limits;
+    private final char[] chunk = new char[Base58EncoderDecoder.CHUNK_SIZE];
+    private final GrowingDigits digitsSoFar;
+    private int dlen = -1;
+    private int blanks;
+    private int length;
+
+    Base58IncrementalEncoder(final WorkingBuffer first, final WorkingBuffer second, final Base58Alphabet alphabet,
+                             final Base58Limits limits) {
+        this.digitsSoFar = new GrowingDigits(first, second);
+        this.digits = alphabet.digits;
+        this.limits = limits;
+    }
+
+    /**
+     * Adds all of the bytes to the input.
+     *
+     * @param bytes next bytes of the input
+     */
+    public void update(final byte[] bytes) {
+        update(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Adds a region of the bytes to the input.
+     *
+     * @param bytes  next bytes of the input
+     * @param offset index of the first byte
+     * @param count  number of bytes
+     * @throws LengthLimitException if the total input would exceed the limits, the state is left unchanged
+     */
+    public void update(final byte[] bytes, final int offset, final int count) {
+        if (offset < 0 || count < 0 || offset > bytes.length - count)
+            throw new IndexOutOfBoundsException();
+        if (count > Integer.MAX_VALUE - length)
+            throw new LengthLimitException("Input exceeds " + Integer.MAX_VALUE + " bytes");
+        limits.checkEncode(length + count);
+        final WorkingBuffer d = digitsSoFar.ensureCapacity(maximumBase58StringLength(length + count), dlen);
+        int i = offset;
+        final int end = offset + count;
+        while (dlen < 0 && i < end && bytes[i] == 0) {
+            blanks++;
+            i++;
+        }
+        for (; i < end; i++) {
+            dlen = Base58EncoderDecoder.multiplyAdd256(d, dlen, bytes[i] & 0xff);
+        }
+        length += count;
+    }
+
+    /**
+     * @return number of bytes of input so far
+     */
+    public int inputLength() {
+        return length;
+    }
+
+    /**
+     * Writes the base58 encoding of all the input to the target and resets for the next input.
+     *
+     * @param target Receiver for output
+     */
+    public void finish(final EncodeTarget target) {
+        try {
+            Base58EncoderDecoder.appendDigits(digits, digitsSoFar.buffer(), dlen, blanks, target, chunk);
+        } finally {
+            reset();
+        }
+    }
+
+    /**
+     * Encodes all the input and resets for the next input.
+     *
+     * @return base58 string representation
+     */
+    public String finish() {
+        final StringBuilderEncodeTarget target = new StringBuilderEncodeTarget();
+        target.setCapacity(blanks + dlen + 1);
+        finish(target);
+        return target.toString();
+    }
+
+    /**
+     * Discards the input so far.
+     */
+    public void reset() {
+        digitsSoFar.clear();
+        dlen = -1;
+        blanks = 0;
+        length = 0;
+    }
+}
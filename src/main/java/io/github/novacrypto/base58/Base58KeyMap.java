@@ -0,0 +1,268 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A hash map from base58 keys to {@code int} values, with the keys stored decoded in one flat arena.
+ * <p>
+ * Keys are decoded into a reusable scratch array, hashed and looked up with open addressing, so neither
+ * {@link #contains(CharSequence)}, {@link #get(CharSequence, int)} nor updating an existing key allocates. Each
+ * entry costs its decoded length plus two bytes in the arena, which may be a direct buffer off the heap, plus twelve
+ * bytes per table slot. A 25 byte address takes around 45 bytes, compared to around 100 in a {@code HashSet<String>}.
+ * <p>
+ * Keys can not be removed, this is for sets that are built and then queried, such as allow and block lists. Keys
+ * must decode to at most {@value #MAX_KEY_LENGTH} bytes.
+ * <p>
+ * Decoded keys stay in memory, so do not use for secret material. Not threadsafe.
+ */
+public final class Base58KeyMap {
+
+    public static final int MAX_KEY_LENGTH = 0xffff;
+
+    private static final int EMPTY = -1;
+    private static final int LENGTH_BYTES = 2;
+    private static final int MIN_TABLE_SIZE = 16;
+
+    private final Base58EncoderDecoder engine;
+    private final ArrayRegionTarget scratchTarget = new ArrayRegionTarget();
+    private final boolean direct;
+
+    private byte[] scratch = new byte[64];
+    private ByteBuffer arena;
+    private int[] entries;
+    private int[] hashes;
+    private int[] values;
+    private int size;
+
+    Base58KeyMap(final Base58EncoderDecoder engine, final int expectedKeys, final boolean direct) {
+        if (expectedKeys < 0)
+            throw new IllegalArgumentException("expectedKeys must not be negative");
+        this.engine = engine;
+        this.direct = direct;
+        this.arena = allocate((int) Math.min(Math.max(64L, 32L * expectedKeys), Integer.MAX_VALUE));
+        allocateTable(tableSizeFor(expectedKeys));
+    }
+
+    /**
+     * @param base58 key
+     * @return true if the key is present, false if not or if it is not valid base58
+     */
+    public boolean contains(final CharSequence base58) {
+        final int length = tryDecodeToScratch(base58);
+        return length >= 0 && find(length, hash(scratch, length)) >= 0;
+    }
+
+    /**
+     * @param base58       key
+     * @param defaultValue returned if the key is not present
+     * @return the key's value, or defaultValue if not present or if it is not valid base58
+     */
+    public int get(final CharSequence base58, final int defaultValue) {
+        final int length = tryDecodeToScratch(base58);
+        if (length < 0)
+            return defaultValue;
+        final int slot = find(length, hash(scratch, length));
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    /**
+     * Adds the key, or updates its value if already present.
+     *
+     * @param base58 key
+     * @param value  value to associate with it
+     * @return true if the key was not already present
+     * @throws BadCharacterException    if a character is not in the alphabet
+     * @throws LengthLimitException     if the key is rejected by the limits in use
+     * @throws IllegalArgumentException if the key decodes to more than {@value #MAX_KEY_LENGTH} bytes
+     */
+    public boolean put(final CharSequence base58, final int value) {
+        final int length = decodeToScratch(base58);
+        final int hash = hash(scratch, length);
+        final int slot = find(length, hash);
+        if (slot >= 0) {
+            values[slot] = value;
+            return false;
+        }
+        if (length > MAX_KEY_LENGTH)
+            throw new IllegalArgumentException("Key decodes to more than " + MAX_KEY_LENGTH + " bytes");
+        if ((size + 1) * 4L > entries.length * 3L)
+            allocateTable(entries.length * 2);
+        insert(append(length), hash, value);
+        size++;
+        return true;
+    }
+
+    /**
+     * @return number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return bytes of the arena in use by decoded keys and their lengths
+     */
+    public int arenaBytes() {
+        return arena.position();
+    }
+
+    private int tryDecodeToScratch(final CharSequence base58) {
+        ensureScratch(base58.length());
+        return engine.tryDecode(base58, scratch, 0);
+    }
+
+    private int decodeToScratch(final CharSequence base58) {
+        ensureScratch(base58.length());
+        final ArrayRegionTarget target = scratchTarget.reset(scratch, 0);
+        try {
+            engine.decode(base58, target);
+            return target.end();
+        } finally {
+            target.reset(null, 0);
+        }
+    }
+
+    /**
+     * Every character decodes to at most one byte.
+     */
+    private void ensureScratch(final int length) {
+        if (length > scratch.length)
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+    }
+
+    /**
+     * @return slot of the key in scratch, or -1
+     */
+    private int find(final int length, final int hash) {
+        final int mask = entries.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            final int entry = entries[slot];
+            if (entry == EMPTY)
+                return -1;
+            if (hashes[slot] == hash && matches(entry, length))
+                return slot;
+        }
+    }
+
+    private boolean matches(final int entry, final int length) {
+        final ByteBuffer arena = this.arena;
+        if ((arena.getShort(entry) & 0xffff) != length)
+            return false;
+        final byte[] scratch = this.scratch;
+        for (int i = 0, j = entry + LENGTH_BYTES; i < length; i++, j++) {
+            if (arena.get(j) != scratch[i])
+                return false;
+        }
+        return true;
+    }
+
+    private void insert(final int entry, final int hash, final int value) {
+        final int mask = entries.length - 1;
+        int slot = hash & mask;
+        while (entries[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        entries[slot] = entry;
+        hashes[slot] = hash;
+        values[slot] = value;
+    }
+
+    /**
+     * Appends the key in scratch to the arena.
+     *
+     * @return offset of the entry in the arena
+     */
+    private int append(final int length) {
+        final int needed = LENGTH_BYTES + length;
+        if (arena.remaining() < needed)
+            growArena(needed);
+        final int entry = arena.position();
+        arena.putShort((short) length);
+        arena.put(scratch, 0, length);
+        return entry;
+    }
+
+    private void growArena(final int needed) {
+        final long required = (long) arena.position() + needed;
+        if (required > Integer.MAX_VALUE)
+            throw new IllegalStateException("Key arena is full");
+        final int capacity = (int) Math.min(Math.max(required, arena.capacity() * 2L), Integer.MAX_VALUE);
+        final ByteBuffer grown = allocate(capacity);
+        arena.flip();
+        grown.put(arena);
+        arena = grown;
+    }
+
+    private ByteBuffer allocate(final int capacity) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    /**
+     * Moves the entries into a new table, reusing the stored hashes rather than reading the arena.
+     */
+    private void allocateTable(final int tableSize) {
+        final int[] oldEntries = entries;
+        final int[] oldHashes = hashes;
+        final int[] oldValues = values;
+        entries = new int[tableSize];
+        hashes = new int[tableSize];
+        values = new int[tableSize];
+        Arrays.fill(entries, EMPTY);
+        if (oldEntries == null)
+            return;
+        for (int i = 0; i < oldEntries.length; i++) {
+            if (oldEntries[i] != EMPTY)
+                insert(oldEntries[i], oldHashes[i], oldValues[i]);
+        }
+    }
+
+    private static int tableSizeFor(final int expectedKeys) {
+        final long needed = expectedKeys * 4L / 3 + 1;
+        int tableSize = MIN_TABLE_SIZE;
+        while (tableSize < needed) {
+            if (tableSize >= 1 << 30)
+                throw new IllegalArgumentException("Too many keys");
+            tableSize <<= 1;
+        }
+        return tableSize;
+    }
+
+    /**
+     * FNV-1a over the bytes, then the murmur3 finaliser so that the low bits used for the slot are well mixed.
+     */
+    private static int hash(final byte[] bytes, final int length) {
+        int h = 0x811c9dc5;
+        for (int i = 0; i < length; i++) {
+            h = (h ^ (bytes[i] & 0xff)) * 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
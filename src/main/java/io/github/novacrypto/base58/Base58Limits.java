@@ -0,0 +1,206 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.nio.ByteBuffer;
+
+import static io.github.novacrypto.base58.CapacityCalculator.isPlausibleLength;
+import static io.github.novacrypto.base58.CapacityCalculator.isPossibleLength;
+import static io.github.novacrypto.base58.CapacityCalculator.maximumBase58StringLength;
+
+/**
+ * Input and output length limits, checked before any arithmetic so that oversized input fails fast.
+ * <p>
+ * Encoding and decoding are O(n^2), so without limits a single long input can hold a thread for a long time.
+ * Immutable and threadsafe.
+ */
+public final class Base58Limits {
+
+    private static final int UNLIMITED = Integer.MAX_VALUE;
+    private static final int NOT_EXPECTED = -1;
+
+    static final int WITHIN_LIMITS = 0;
+    static final int INPUT_TOO_LONG = 1;
+    static final int DECODED_TOO_LONG = 2;
+    static final int UNEXPECTED_DECODED_LENGTH = 3;
+
+    /**
+     * No limits, the default.
+     */
+    public static final Base58Limits NONE = new Base58Limits(UNLIMITED, UNLIMITED, UNLIMITED, NOT_EXPECTED);
+
+    private final int maxEncodeInputLength;
+    private final int maxDecodeInputLength;
+    private final int maxDecodedLength;
+    private final int expectedDecodedLength;
+    private final int maxDecodeInputLengthForDecodedLength;
+
+    private Base58Limits(final int maxEncodeInputLength,
+                         final int maxDecodeInputLength,
+                         final int maxDecodedLength,
+                         final int expectedDecodedLength) {
+        this.maxEncodeInputLength = maxEncodeInputLength;
+        this.maxDecodeInputLength = maxDecodeInputLength;
+        this.maxDecodedLength = maxDecodedLength;
+        this.expectedDecodedLength = expectedDecodedLength;
+        maxDecodeInputLengthForDecodedLength = maxDecodedLength == UNLIMITED
+                ? UNLIMITED
+                : maximumBase58StringLength(maxDecodedLength);
+    }
+
+    /**
+     * @param bytes maximum number of bytes to encode
+     * @return new limits
+     */
+    public Base58Limits withMaxEncodeInputLength(final int bytes) {
+        return new Base58Limits(nonNegative(bytes), maxDecodeInputLength, maxDecodedLength, expectedDecodedLength);
+    }
+
+    /**
+     * @param characters maximum number of base58 characters to decode
+     * @return new limits
+     */
+    public Base58Limits withMaxDecodeInputLength(final int characters) {
+        return new Base58Limits(maxEncodeInputLength, nonNegative(characters), maxDecodedLength, expectedDecodedLength);
+    }
+
+    /**
+     * Limits both encode and decode input.
+     *
+     * @param length maximum number of bytes to encode and base58 characters to decode
+     * @return new limits
+     */
+    public Base58Limits withMaxInputLength(final int length) {
+        return withMaxEncodeInputLength(length).withMaxDecodeInputLength(length);
+    }
+
+    /**
+     * Rejects any base58 string longer than the longest that can decode to this many bytes.
+     *
+     * @param bytes maximum number of bytes decoded
+     * @return new limits
+     */
+    public Base58Limits withMaxDecodedLength(final int bytes) {
+        return new Base58Limits(maxEncodeInputLength, maxDecodeInputLength, nonNegative(bytes), expectedDecodedLength);
+    }
+
+    /**
+     * Rejects any base58 string whose length is not consistent with decoding to exactly this many bytes.
+     *
+     * @param bytes number of bytes every decode must produce
+     * @return new limits
+     * @see Base58Alphabet#isValid(CharSequence, int)
+     */
+    public Base58Limits withExpectedDecodedLength(final int bytes) {
+        return new Base58Limits(maxEncodeInputLength, maxDecodeInputLength, maxDecodedLength, nonNegative(bytes));
+    }
+
+    void checkEncode(final int byteLength) {
+        if (byteLength > maxEncodeInputLength)
+            throw new LengthLimitException("Input of " + byteLength + " bytes exceeds the limit of " +
+                    maxEncodeInputLength + " bytes");
+    }
+
+    void checkDecode(final CharSequence base58, final char zero) {
+        final int violation = decodeViolation(base58, zero);
+        if (violation != WITHIN_LIMITS)
+            throw decodeException(violation, base58.length());
+    }
+
+    int decodeViolation(final CharSequence base58, final char zero) {
+        final int length = base58.length();
+        final int violation = lengthViolation(length);
+        if (violation != WITHIN_LIMITS || expectedDecodedLength == NOT_EXPECTED)
+            return violation;
+        int blanks = 0;
+        while (blanks < length && base58.charAt(blanks) == zero) {
+            blanks++;
+        }
+        return significantLengthViolation(length, blanks);
+    }
+
+    int decodeViolation(final ByteBuffer ascii, final int start, final int end, final char zero) {
+        final int length = end - start;
+        final int violation = lengthViolation(length);
+        if (violation != WITHIN_LIMITS || expectedDecodedLength == NOT_EXPECTED)
+            return violation;
+        int blanks = 0;
+        while (blanks < length && ascii.get(start + blanks) == zero) {
+            blanks++;
+        }
+        return significantLengthViolation(length, blanks);
+    }
+
+    /**
+     * The part of the decode limits that can be checked before all of the input has been seen.
+     */
+    int partialDecodeViolation(final int length) {
+        if (length > maxDecodeInputLength)
+            return INPUT_TOO_LONG;
+        if (length > maxDecodeInputLengthForDecodedLength)
+            return DECODED_TOO_LONG;
+        return WITHIN_LIMITS;
+    }
+
+    int decodeViolation(final int length, final int blanks) {
+        final int violation = lengthViolation(length);
+        if (violation != WITHIN_LIMITS || expectedDecodedLength == NOT_EXPECTED)
+            return violation;
+        return significantLengthViolation(length, blanks);
+    }
+
+    LengthLimitException decodeException(final int violation, final int length) {
+        switch (violation) {
+            case INPUT_TOO_LONG:
+                return new LengthLimitException("Base58 string of " + length + " characters exceeds the limit of " +
+                        maxDecodeInputLength + " characters");
+            case DECODED_TOO_LONG:
+                return new LengthLimitException("Base58 string of " + length + " characters decodes to more than " +
+                        maxDecodedLength + " bytes");
+            default:
+                return new LengthLimitException("Base58 string of " + length + " characters can not decode to " +
+                        expectedDecodedLength + " bytes");
+        }
+    }
+
+    private int lengthViolation(final int length) {
+        final int violation = partialDecodeViolation(length);
+        if (violation != WITHIN_LIMITS)
+            return violation;
+        if (expectedDecodedLength != NOT_EXPECTED && !isPossibleLength(length, expectedDecodedLength))
+            return UNEXPECTED_DECODED_LENGTH;
+        return WITHIN_LIMITS;
+    }
+
+    private int significantLengthViolation(final int length, final int blanks) {
+        return isPlausibleLength(length - blanks, expectedDecodedLength - blanks)
+                ? WITHIN_LIMITS
+                : UNEXPECTED_DECODED_LENGTH;
+    }
+
+    private static int nonNegative(final int limit) {
+        if (limit < 0)
+            throw new IllegalArgumentException("Limit must not be negative");
+        return limit;
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Converts files of base58 ids, one per line, to and from hex lines or binary records.
+ * <p>
+ * The input is memory mapped a window at a time. Each window is cut at a record boundary and split into record
+ * aligned ranges, which can be converted in parallel. Lines are decoded directly from the mapped buffer and each
+ * range is converted into its own direct buffer, then the ranges are written in order. No objects are allocated per
+ * record.
+ * <p>
+ * Text lines end with {@code \n}, a preceding {@code \r} is ignored and the last line need not end with a newline.
+ * Output lines always end with {@code \n}. Binary records are a 4 byte big-endian length followed by that many bytes.
+ * <p>
+ * Immutable and threadsafe.
+ */
+public final class Base58LineConverter {
+
+    public enum Conversion {
+        BASE58_TO_HEX,
+        HEX_TO_BASE58,
+        BASE58_TO_BINARY,
+        BINARY_TO_BASE58;
+
+        boolean binaryInput() {
+            return this == BINARY_TO_BASE58;
+        }
+
+        /**
+         * @param offset file position of the start of map, used in error messages
+         * @param atEof  true if limit is the end of the input
+         * @return the end of the record starting at start, including any newline, or -1 if it does not end before
+         * limit
+         * @throws IllegalArgumentException if the input ends part way through a binary record
+         */
+        int recordEnd(final ByteBuffer map, final long offset, final int start, final int limit,
+                      final boolean atEof) {
+            if (binaryInput()) {
+                if (limit - start >= 4) {
+                    final int length = map.getInt(start);
+                    if (length < 0)
+                        throw new IllegalArgumentException("Negative record length at " + (offset + start));
+                    if ((long) start + 4 + length <= limit)
+                        return start + 4 + length;
+                }
+                if (atEof)
+                    throw new IllegalArgumentException("Truncated record at " + (offset + start));
+                return -1;
+            }
+            for (int i = start; i < limit; i++) {
+                if (map.get(i) == '\n')
+                    return i + 1;
+            }
+            return atEof && start < limit ? limit : -1;
+        }
+    }
+
+    static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+
+    private final Conversion conversion;
+    private final Base58Alphabet alphabet;
+    private final int windowSize;
+
+    Base58LineConverter(final Conversion conversion, final Base58Alphabet alphabet, final int windowSize) {
+        this.conversion = conversion;
+        this.alphabet = alphabet;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Converts on the calling thread.
+     *
+     * @param input  file to convert
+     * @param output file to write, replaced if it exists
+     * @return number of records converted
+     * @throws IOException if reading or writing fails
+     */
+    public long convert(final Path input, final Path output) throws IOException {
+        try {
+            return convert(input, output, null, 1);
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException("Not possible without an executor", e);
+        }
+    }
+
+    /**
+     * Converts each window in up to {@code parallelism} ranges, run by the executor.
+     *
+     * @param input       file to convert
+     * @param output      file to write, replaced if it exists
+     * @param executor    runs the ranges, or null to run them on the calling thread
+     * @param parallelism number of ranges per window
+     * @return number of records converted
+     * @throws IOException          if reading or writing fails
+     * @throws InterruptedException if interrupted while waiting for the ranges
+     */
+    public long convert(final Path input, final Path output, final ExecutorService executor, final int parallelism)
+            throws IOException, InterruptedException {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        final LineConverterWorker[] workers = new LineConverterWorker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new LineConverterWorker(conversion, alphabet);
+        }
+        final int[] bounds = new int[parallelism + 1];
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            final long size = in.size();
+            long position = 0;
+            long records = 0;
+            int window = windowSize;
+            while (position < size) {
+                final long remaining = size - position;
+                final int length = (int) Math.min(window, remaining);
+                final MappedByteBuffer map = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+                final int count = split(map, position, length, length == remaining, bounds);
+                final int end = bounds[parallelism];
+                if (end == 0) {
+                    if (window > Integer.MAX_VALUE / 2)
+                        throw new IOException("Record at " + position + " is too long");
+                    window *= 2;
+                    continue;
+                }
+                convertRanges(map, position, bounds, workers, executor);
+                for (final LineConverterWorker worker : workers) {
+                    final ByteBuffer converted = worker.output();
+                    while (converted.hasRemaining()) {
+                        out.write(converted);
+                    }
+                    worker.clearOutput();
+                }
+                position += end;
+                records += count;
+                window = windowSize;
+            }
+            return records;
+        }
+    }
+
+    /**
+     * Finds the complete records in the window and splits them into ranges of about equal size.
+     *
+     * @return number of complete records
+     */
+    private int split(final ByteBuffer map, final long offset, final int length, final boolean atEof,
+                      final int[] bounds) {
+        final int parts = bounds.length - 1;
+        int count = 0;
+        int p = 0;
+        int k = 1;
+        while (p < length) {
+            final int end = conversion.recordEnd(map, offset, p, length, atEof);
+            if (end < 0)
+                break;
+            p = end;
+            count++;
+            while (k < parts && p >= (long) length * k / parts) {
+                bounds[k++] = p;
+            }
+        }
+        while (k <= parts) {
+            bounds[k++] = p;
+        }
+        return count;
+    }
+
+    private static void convertRanges(final ByteBuffer map, final long offset, final int[] bounds,
+                                      final LineConverterWorker[] workers, final ExecutorService executor)
+            throws InterruptedException {
+        if (executor == null) {
+            for (int i = 0; i < workers.length; i++) {
+                workers[i].convert(map, offset, bounds[i], bounds[i + 1]);
+            }
+            return;
+        }
+        final List<Callable<Void>> tasks = new ArrayList<>(workers.length);
+        for (int i = 0; i < workers.length; i++) {
+            final LineConverterWorker worker = workers[i];
+            final int from = bounds[i];
+            final int to = bounds[i + 1];
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    worker.convert(map, offset, from, to);
+                    return null;
+                }
+            });
+        }
+        Tasks.runAll(executor, tasks);
+    }
+
+    /**
+     * Usage: {@code Base58LineConverter base58-to-hex|hex-to-base58|base58-to-binary|binary-to-base58 input output
+     * [threads]}
+     */
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        if (args.length < 3 || args.length > 4) {
+            System.err.println("Usage: Base58LineConverter " +
+                    "base58-to-hex|hex-to-base58|base58-to-binary|binary-to-base58 input output [threads]");
+            System.exit(2);
+            return;
+        }
+        final Conversion conversion = Conversion.valueOf(args[0].toUpperCase(Locale.ROOT).replace('-', '_'));
+        final int threads = args.length == 4 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final long records = Base58.newLineConverter(conversion)
+                    .convert(Paths.get(args[1]), Paths.get(args[2]), executor, threads);
+            System.out.println(records + " records");
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
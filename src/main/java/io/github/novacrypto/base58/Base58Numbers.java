@@ -0,0 +1,294 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.util.UUID;
+
+/**
+ * Encodes and decodes {@code long}s and 128-bit values, such as {@link UUID}s, without going through byte arrays.
+ * <p>
+ * A {@code long} encodes exactly as its 8 byte big-endian array would, and a 128-bit value as its 16 byte array, so
+ * every leading zero byte is a leading zero digit. Decoding is strict: the string must decode to exactly 8 or 16
+ * bytes.
+ * <p>
+ * The arithmetic is on 32-bit limbs held in local variables, nothing is allocated except the result, and nothing at
+ * all when encoding to a target.
+ * <p>
+ * Immutable and threadsafe.
+ */
+public final class Base58Numbers {
+
+    private static final long MASK = 0xffffffffL;
+
+    /**
+     * 58^5, the largest power of 58 below 2^30, so that a remainder shifted up by 32 bits still fits in a long.
+     */
+    private static final long CHUNK = 656356768L;
+    private static final int CHUNK_DIGITS = 5;
+    private static final int CHUNKS = 5;
+    private static final long CHUNK_MASK = (1L << 30) - 1;
+    private static final long[] POWERS = {11316496L, 195112L, 3364L, 58L, 1L};
+
+    private final char[] digits;
+    private final int[] values;
+    private final boolean badCharacterStackTraces;
+
+    Base58Numbers(final Base58Alphabet alphabet, final boolean badCharacterStackTraces) {
+        this.digits = alphabet.digits;
+        this.values = alphabet.values;
+        this.badCharacterStackTraces = badCharacterStackTraces;
+    }
+
+    /**
+     * @param value number to encode
+     * @return the same as encoding the 8 byte big-endian representation
+     */
+    public String encodeLong(final long value) {
+        return encodeToString(0, value, 8);
+    }
+
+    /**
+     * @param value  number to encode
+     * @param target Receiver for output
+     */
+    public void encodeLong(final long value, final EncodeTarget target) {
+        encode(0, value, 8, null, target);
+    }
+
+    /**
+     * @param base58 string that decodes to exactly 8 bytes
+     * @return the bytes as a big-endian long
+     * @throws BadCharacterException    if a character is not in the alphabet
+     * @throws IllegalArgumentException if it does not decode to 8 bytes
+     */
+    public long decodeLong(final CharSequence base58) {
+        return decode(base58, 8, null, 0);
+    }
+
+    /**
+     * @param high most significant 64 bits
+     * @param low  least significant 64 bits
+     * @return the same as encoding the 16 byte big-endian representation
+     */
+    public String encode128(final long high, final long low) {
+        return encodeToString(high, low, 16);
+    }
+
+    /**
+     * @param high   most significant 64 bits
+     * @param low    least significant 64 bits
+     * @param target Receiver for output
+     */
+    public void encode128(final long high, final long low, final EncodeTarget target) {
+        encode(high, low, 16, null, target);
+    }
+
+    /**
+     * @param base58 string that decodes to exactly 16 bytes
+     * @param output receives the most significant 64 bits at offset and the least significant after it
+     * @param offset index in output of the most significant half
+     * @throws BadCharacterException    if a character is not in the alphabet
+     * @throws IllegalArgumentException if it does not decode to 16 bytes
+     */
+    public void decode128(final CharSequence base58, final long[] output, final int offset) {
+        if (offset < 0 || offset > output.length - 2)
+            throw new IndexOutOfBoundsException();
+        decode(base58, 16, output, offset);
+    }
+
+    /**
+     * @param uuid id to encode
+     * @return the same as encoding the 16 byte big-endian representation
+     */
+    public String encodeUuid(final UUID uuid) {
+        return encode128(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * @param uuid   id to encode
+     * @param target Receiver for output
+     */
+    public void encodeUuid(final UUID uuid, final EncodeTarget target) {
+        encode128(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), target);
+    }
+
+    /**
+     * @param base58 string that decodes to exactly 16 bytes
+     * @return the id
+     * @throws BadCharacterException    if a character is not in the alphabet
+     * @throws IllegalArgumentException if it does not decode to 16 bytes
+     */
+    public UUID decodeUuid(final CharSequence base58) {
+        final long[] halves = new long[2];
+        decode(base58, 16, halves, 0);
+        return new UUID(halves[0], halves[1]);
+    }
+
+    private String encodeToString(final long high, final long low, final int byteLength) {
+        final byte[] ascii = new byte[encode(high, low, byteLength, null, null)];
+        encode(high, low, byteLength, ascii, null);
+        return Latin1Strings.newString(ascii);
+    }
+
+    /**
+     * Encodes to the array or the target, or just counts if both are null.
+     *
+     * @return number of characters
+     */
+    private int encode(final long high, final long low, final int byteLength, final byte[] ascii,
+                       final EncodeTarget target) {
+        final char[] a = digits;
+        final int leadingZeroBits = high != 0
+                ? Long.numberOfLeadingZeros(high)
+                : 64 + Long.numberOfLeadingZeros(low);
+        final int blanks = (leadingZeroBits - (128 - 8 * byteLength)) / 8;
+
+        long l3 = high >>> 32;
+        long l2 = high & MASK;
+        long l1 = low >>> 32;
+        long l0 = low & MASK;
+        long chunks01 = 0;
+        long chunks23 = 0;
+        long chunk4 = 0;
+        for (int k = 0; k < CHUNKS; k++) {
+            long n = l3;
+            l3 = n / CHUNK;
+            n = (n % CHUNK) << 32 | l2;
+            l2 = n / CHUNK;
+            n = (n % CHUNK) << 32 | l1;
+            l1 = n / CHUNK;
+            n = (n % CHUNK) << 32 | l0;
+            l0 = n / CHUNK;
+            final long remainder = n % CHUNK;
+            switch (k) {
+                case 0:
+                    chunks01 = remainder;
+                    break;
+                case 1:
+                    chunks01 |= remainder << 30;
+                    break;
+                case 2:
+                    chunks23 = remainder;
+                    break;
+                case 3:
+                    chunks23 |= remainder << 30;
+                    break;
+                default:
+                    chunk4 = remainder;
+            }
+        }
+
+        int count = 0;
+        for (int i = 0; i < blanks; i++) {
+            count = emit(a[0], count, ascii, target);
+        }
+        boolean started = false;
+        for (int k = CHUNKS - 1; k >= 0; k--) {
+            long chunk;
+            switch (k) {
+                case 4:
+                    chunk = chunk4;
+                    break;
+                case 3:
+                    chunk = chunks23 >>> 30;
+                    break;
+                case 2:
+                    chunk = chunks23 & CHUNK_MASK;
+                    break;
+                case 1:
+                    chunk = chunks01 >>> 30;
+                    break;
+                default:
+                    chunk = chunks01 & CHUNK_MASK;
+            }
+            for (int p = 0; p < CHUNK_DIGITS; p++) {
+                final int digit = (int) (chunk / POWERS[p]);
+                chunk %= POWERS[p];
+                if (!started && digit == 0)
+                    continue;
+                started = true;
+                count = emit(a[digit], count, ascii, target);
+            }
+        }
+        return count;
+    }
+
+    private static int emit(final char c, final int count, final byte[] ascii, final EncodeTarget target) {
+        if (ascii != null)
+            ascii[count] = (byte) c;
+        else if (target != null)
+            target.append(c);
+        return count + 1;
+    }
+
+    /**
+     * Decodes in one pass, writing both halves to the output if there is one.
+     *
+     * @param output receives the most significant 64 bits at offset and the least significant after it, or null
+     * @return the least significant 64 bits of the decoded value
+     */
+    private long decode(final CharSequence base58, final int byteLength, final long[] output, final int offset) {
+        final int[] values = this.values;
+        final int length = base58.length();
+        final char zero = digits[0];
+        int blanks = 0;
+        while (blanks < length && base58.charAt(blanks) == zero) {
+            blanks++;
+        }
+        long l3 = 0;
+        long l2 = 0;
+        long l1 = 0;
+        long l0 = 0;
+        for (int i = blanks; i < length; i++) {
+            final char charAtI = base58.charAt(i);
+            final int c = Base58EncoderDecoder.valueOf(values, charAtI);
+            if (c < 0)
+                throw BadCharacterException.of(charAtI, badCharacterStackTraces);
+            l0 = l0 * 58 + c;
+            l1 = l1 * 58 + (l0 >>> 32);
+            l0 &= MASK;
+            l2 = l2 * 58 + (l1 >>> 32);
+            l1 &= MASK;
+            l3 = l3 * 58 + (l2 >>> 32);
+            l2 &= MASK;
+            if ((l3 >>> 32) != 0)
+                throw wrongLength(byteLength);
+        }
+        final long high = l3 << 32 | l2;
+        final long low = l1 << 32 | l0;
+        final int significantBits = high != 0
+                ? 128 - Long.numberOfLeadingZeros(high)
+                : 64 - Long.numberOfLeadingZeros(low);
+        if (blanks + (significantBits + 7) / 8 != byteLength)
+            throw wrongLength(byteLength);
+        if (output != null) {
+            output[offset] = high;
+            output[offset + 1] = low;
+        }
+        return low;
+    }
+
+    private static IllegalArgumentException wrongLength(final int byteLength) {
+        return new IllegalArgumentException("Base58 string does not decode to " + byteLength + " bytes");
+    }
+}
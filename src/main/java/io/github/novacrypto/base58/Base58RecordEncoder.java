@@ -0,0 +1,192 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Encodes a buffer of fixed size binary records, such as 32 byte public keys or 20 byte hashes, to base58 text with
+ * one record per line.
+ * <p>
+ * Records are read from the buffer, which may be memory mapped or direct, one at a time into a reused array.
+ * The text is produced in blocks of a few megabytes, split across workers when an executor is supplied, and each
+ * block is written to the channel in order.
+ * <p>
+ * Immutable and threadsafe.
+ */
+public final class Base58RecordEncoder {
+
+    /**
+     * Largest supported record size. Each record costs time proportional to the square of its size.
+     */
+    public static final int MAX_RECORD_SIZE = 4096;
+
+    private static final int BLOCK_BYTES = 4 << 20;
+
+    private final Base58Alphabet alphabet;
+    private final int recordSize;
+    private final int recordsPerBlock;
+
+    Base58RecordEncoder(final int recordSize, final Base58Alphabet alphabet) {
+        if (recordSize < 1 || recordSize > MAX_RECORD_SIZE)
+            throw new IllegalArgumentException("Record size must be from 1 to " + MAX_RECORD_SIZE);
+        this.alphabet = alphabet;
+        this.recordSize = recordSize;
+        this.recordsPerBlock = Math.max(1, BLOCK_BYTES / RecordEncoderWorker.maximumLineLength(recordSize));
+    }
+
+    public int recordSize() {
+        return recordSize;
+    }
+
+    /**
+     * Encodes on the calling thread.
+     *
+     * @param records the bytes between position and limit are the records, the position is not changed
+     * @param out     receives the text
+     * @return counts and timing
+     * @throws IOException if writing fails
+     */
+    public Stats encode(final ByteBuffer records, final WritableByteChannel out) throws IOException {
+        try {
+            return encode(records, out, null, 1);
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException("Not possible without an executor", e);
+        }
+    }
+
+    /**
+     * Encodes blocks of records with up to {@code parallelism} workers run by the executor.
+     *
+     * @param records     the bytes between position and limit are the records, the position is not changed
+     * @param out         receives the text
+     * @param executor    runs the workers, or null to run them on the calling thread
+     * @param parallelism number of workers
+     * @return counts and timing
+     * @throws IOException          if writing fails
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    public Stats encode(final ByteBuffer records, final WritableByteChannel out, final ExecutorService executor,
+                        final int parallelism) throws IOException, InterruptedException {
+        if (parallelism < 1)
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        if (records.remaining() % recordSize != 0)
+            throw new IllegalArgumentException(records.remaining() + " bytes is not a whole number of " +
+                    recordSize + " byte records");
+        final long startNanos = System.nanoTime();
+        final int count = records.remaining() / recordSize;
+        final RecordEncoderWorker[] workers = new RecordEncoderWorker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new RecordEncoderWorker(alphabet, recordSize);
+        }
+        long written = 0;
+        int next = 0;
+        while (next < count) {
+            final int from = next;
+            final int blocksLeft = (int) (((long) count - from + recordsPerBlock - 1) / recordsPerBlock);
+            final int active = Math.min(parallelism, blocksLeft);
+            runWorkers(records, from, count, workers, active, executor);
+            for (int i = 0; i < active; i++) {
+                final ByteBuffer text = workers[i].output();
+                written += text.remaining();
+                while (text.hasRemaining()) {
+                    out.write(text);
+                }
+            }
+            next = (int) Math.min(count, from + (long) active * recordsPerBlock);
+        }
+        return new Stats(count, written, System.nanoTime() - startNanos);
+    }
+
+    private void runWorkers(final ByteBuffer records, final int from, final int count,
+                            final RecordEncoderWorker[] workers, final int active, final ExecutorService executor)
+            throws InterruptedException {
+        if (executor == null || active == 1) {
+            for (int i = 0; i < active; i++) {
+                workers[i].encode(records, blockStart(from, i, count), blockStart(from, i + 1, count));
+            }
+            return;
+        }
+        final List<Callable<Void>> tasks = new ArrayList<>(active);
+        for (int i = 0; i < active; i++) {
+            final RecordEncoderWorker worker = workers[i];
+            final int blockFrom = blockStart(from, i, count);
+            final int blockTo = blockStart(from, i + 1, count);
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    worker.encode(records, blockFrom, blockTo);
+                    return null;
+                }
+            });
+        }
+        Tasks.runAll(executor, tasks);
+    }
+
+    private int blockStart(final int from, final int block, final int count) {
+        return (int) Math.min(count, from + (long) block * recordsPerBlock);
+    }
+
+    /**
+     * Counts and timing of one {@code encode} call.
+     */
+    public static final class Stats {
+        private final long records;
+        private final long bytesWritten;
+        private final long nanos;
+
+        Stats(final long records, final long bytesWritten, final long nanos) {
+            this.records = records;
+            this.bytesWritten = bytesWritten;
+            this.nanos = nanos;
+        }
+
+        public long records() {
+            return records;
+        }
+
+        public long bytesWritten() {
+            return bytesWritten;
+        }
+
+        public long nanos() {
+            return nanos;
+        }
+
+        public double recordsPerSecond() {
+            return nanos == 0 ? 0 : records * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return records + " records, " + bytesWritten + " bytes in " + nanos / 1000000 + " ms, " +
+                    Math.round(recordsPerSecond()) + " records/s";
+        }
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Finds base58 tokens, maximal runs of alphabet characters, in text, and decodes them without taking substrings.
+ * <p>
+ * Used like a {@link java.util.regex.Matcher}: {@link #reset(CharSequence)} or {@link #reset(ByteBuffer)} to the
+ * text, then call {@link #find()} until it returns false. After each successful find, {@link #start()} and
+ * {@link #end()} give the token's position and the decode methods decode it in place. The whole text is scanned in
+ * one linear pass.
+ * <p>
+ * Runs shorter than the minimum length are skipped. A run is never split, so a token may be longer than any valid
+ * id, check its length before decoding if that matters.
+ * <p>
+ * Don't share instances across threads.
+ */
+public final class Base58Scanner {
+
+    private final int[] values;
+    private final int minLength;
+    private final Base58EncoderDecoder engine;
+    private final Window window = new Window();
+    private CharSequence text;
+    private ByteBuffer ascii;
+    private ByteBuffer region;
+    private int position;
+    private int limit;
+    private int start = -1;
+    private int end = -1;
+
+    Base58Scanner(final Base58Alphabet alphabet, final int minLength, final Base58Limits limits) {
+        if (minLength < 1)
+            throw new IllegalArgumentException("Minimum length must be at least 1");
+        this.values = alphabet.values;
+        this.minLength = minLength;
+        this.engine = new Base58EncoderDecoder(new ByteArrayWorkingBuffer(), alphabet, limits);
+    }
+
+    /**
+     * Scans characters of the text from the start.
+     *
+     * @param text text to scan
+     * @return this scanner
+     */
+    public Base58Scanner reset(final CharSequence text) {
+        this.text = text;
+        this.ascii = null;
+        this.region = null;
+        this.position = 0;
+        this.limit = text.length();
+        window.text = text;
+        return clearMatch();
+    }
+
+    /**
+     * Scans ASCII bytes of the buffer between its position and limit. Positions reported are indexes in the buffer.
+     * The buffer's position and limit are not changed.
+     *
+     * @param ascii text to scan as ASCII bytes
+     * @return this scanner
+     */
+    public Base58Scanner reset(final ByteBuffer ascii) {
+        this.text = null;
+        this.ascii = ascii;
+        this.region = ascii.duplicate();
+        this.position = ascii.position();
+        this.limit = ascii.limit();
+        window.text = null;
+        return clearMatch();
+    }
+
+    /**
+     * Finds the next token.
+     *
+     * @return true if found
+     */
+    public boolean find() {
+        if (text == null && ascii == null)
+            throw new IllegalStateException("No text, reset first");
+        int p = position;
+        while (p < limit) {
+            while (p < limit && !inAlphabet(p)) {
+                p++;
+            }
+            final int tokenStart = p;
+            while (p < limit && inAlphabet(p)) {
+                p++;
+            }
+            if (p - tokenStart >= minLength) {
+                position = p;
+                start = tokenStart;
+                end = p;
+                return true;
+            }
+        }
+        position = limit;
+        clearMatch();
+        return false;
+    }
+
+    /**
+     * @return index of the first character of the current token
+     */
+    public int start() {
+        checkMatch();
+        return start;
+    }
+
+    /**
+     * @return index after the last character of the current token
+     */
+    public int end() {
+        checkMatch();
+        return end;
+    }
+
+    /**
+     * @return length of the current token
+     */
+    public int length() {
+        checkMatch();
+        return end - start;
+    }
+
+    /**
+     * Decodes the current token.
+     *
+     * @param target Receiver for output
+     */
+    public void decode(final DecodeTarget target) {
+        checkMatch();
+        if (ascii != null) {
+            engine.decode(region(), target);
+        } else {
+            engine.decode(window.of(start, end), target);
+        }
+    }
+
+    /**
+     * Decodes the current token into the supplied array, without throwing if it does not fit.
+     *
+     * @param output array to write the number to
+     * @param offset index in output of the first byte written
+     * @return number of bytes written, or a negative {@link DecodeStatus}
+     */
+    public int tryDecode(final byte[] output, final int offset) {
+        checkMatch();
+        if (ascii != null) {
+            return engine.tryDecode(region(), output, offset);
+        }
+        return engine.tryDecode(window.of(start, end), output, offset);
+    }
+
+    /**
+     * Decodes the current token.
+     *
+     * @return the number as bytes
+     */
+    public byte[] decode() {
+        final ByteArrayTarget target = new ByteArrayTarget();
+        decode(target);
+        return target.asByteArray();
+    }
+
+    private ByteBuffer region() {
+        region.limit(end);
+        region.position(start);
+        return region;
+    }
+
+    private boolean inAlphabet(final int index) {
+        if (ascii != null) {
+            final byte b = ascii.get(index);
+            return b >= 0 && values[b] >= 0;
+        }
+        final char c = text.charAt(index);
+        return c < values.length && values[c] >= 0;
+    }
+
+    private Base58Scanner clearMatch() {
+        start = -1;
+        end = -1;
+        return this;
+    }
+
+    private void checkMatch() {
+        if (start < 0)
+            throw new IllegalStateException("No current token");
+    }
+
+    /**
+     * A reusable view of a region of the text.
+     */
+    private static final class Window implements CharSequence {
+        CharSequence text;
+        int offset;
+        int length;
+
+        Window of(final int start, final int end) {
+            offset = start;
+            length = end - start;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if (index < 0 || index >= length)
+                throw new IndexOutOfBoundsException();
+            return text.charAt(offset + index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return text.subSequence(offset + start, offset + end);
+        }
+
+        @Override
+        public String toString() {
+            return text.subSequence(offset, offset + length).toString();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * An immutable id that is both bytes and their base58 text, in the Bitcoin alphabet.
+ * <p>
+ * Created from either form, the other is computed on first use and kept. The text is held as ASCII bytes, and this
+ * is a {@link CharSequence} over them, so it can be appended or decoded without building a {@link String}.
+ * <p>
+ * Threadsafe. The computed form is published through a final field, so a racing thread either sees all of it or
+ * computes it again, at worst converting more than once but never seeing a partial result.
+ * <p>
+ * {@link #equals(Object)}, {@link #hashCode()} and {@link #compareTo(Base58Value)} are on the bytes, compared as
+ * unsigned bytes with a shorter prefix first.
+ */
+public final class Base58Value implements CharSequence, Comparable<Base58Value> {
+
+    /**
+     * Either the bytes or the ASCII text, whichever it was created from.
+     */
+    private final byte[] source;
+    private final boolean sourceIsText;
+
+    /**
+     * The other form, computed on demand.
+     */
+    private Computed computed;
+    private int hash;
+
+    private Base58Value(final byte[] source, final boolean sourceIsText) {
+        this.source = source;
+        this.sourceIsText = sourceIsText;
+    }
+
+    static Base58Value ofBytes(final byte[] bytes) {
+        return new Base58Value(bytes.clone(), false);
+    }
+
+    static Base58Value ofText(final CharSequence base58, final boolean badCharacterStackTraces) {
+        final int invalid = Base58Alphabet.BITCOIN.indexOfInvalid(base58, 0);
+        if (invalid >= 0)
+            throw BadCharacterException.of(base58.charAt(invalid), badCharacterStackTraces);
+        final int length = base58.length();
+        final byte[] ascii = new byte[length];
+        for (int i = 0; i < length; i++) {
+            ascii[i] = (byte) base58.charAt(i);
+        }
+        return new Base58Value(ascii, true);
+    }
+
+    /**
+     * @return a new copy of the bytes
+     */
+    public byte[] toBytes() {
+        return bytes().clone();
+    }
+
+    /**
+     * @return a read-only view of the bytes
+     */
+    public ByteBuffer asReadOnlyBuffer() {
+        return ByteBuffer.wrap(bytes()).asReadOnlyBuffer();
+    }
+
+    /**
+     * @return number of bytes
+     */
+    public int byteLength() {
+        return bytes().length;
+    }
+
+    /**
+     * @param output array to copy the bytes to
+     * @param offset index in output of the first byte
+     * @return number of bytes copied
+     */
+    public int copyBytes(final byte[] output, final int offset) {
+        final byte[] bytes = bytes();
+        System.arraycopy(bytes, 0, output, offset, bytes.length);
+        return bytes.length;
+    }
+
+    /**
+     * @return number of base58 characters
+     */
+    @Override
+    public int length() {
+        return ascii().length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        return (char) ascii()[index];
+    }
+
+    @Override
+    public CharSequence subSequence(final int start, final int end) {
+        return toString().substring(start, end);
+    }
+
+    /**
+     * @return the base58 text
+     */
+    @Override
+    public String toString() {
+        return Latin1Strings.newString(ascii());
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj)
+            return true;
+        if (!(obj instanceof Base58Value))
+            return false;
+        final Base58Value other = (Base58Value) obj;
+        if (sourceIsText == other.sourceIsText)
+            return Arrays.equals(source, other.source);
+        return Arrays.equals(bytes(), other.bytes());
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            h = Arrays.hashCode(bytes());
+            hash = h;
+        }
+        return h;
+    }
+
+    @Override
+    public int compareTo(final Base58Value other) {
+        final byte[] a = bytes();
+        final byte[] b = other.bytes();
+        final int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i])
+                return (a[i] & 0xff) - (b[i] & 0xff);
+        }
+        return a.length - b.length;
+    }
+
+    private byte[] bytes() {
+        return sourceIsText ? computed() : source;
+    }
+
+    private byte[] ascii() {
+        return sourceIsText ? source : computed();
+    }
+
+    private byte[] computed() {
+        Computed c = computed;
+        if (c == null) {
+            c = new Computed(sourceIsText
+                    ? Base58.getThreadSharedBase58().decode(this)
+                    : Base58.getThreadSharedBase58().encodeToAscii(source));
+            computed = c;
+        }
+        return c.value;
+    }
+
+    private static final class Computed {
+        final byte[] value;
+
+        Computed(final byte[] value) {
+            this.value = value;
+        }
+    }
+}
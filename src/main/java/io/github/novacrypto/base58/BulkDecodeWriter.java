@@ -0,0 +1,37 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+/**
+ * A {@link DecodeWriter} that can also receive bytes in blocks.
+ * Decoders detect this interface and pass output in chunks rather than a byte at a time.
+ */
+public interface BulkDecodeWriter extends DecodeWriter {
+
+    /**
+     * @param bytes  bytes to write, the array is reused and cleared by the caller after this returns
+     * @param offset index of the first byte
+     * @param length number of bytes
+     */
+    void write(byte[] bytes, int offset, int length);
+}
@@ -29,11 +29,17 @@ final class ByteArrayTarget implements DecodeTarget {
     @Override
     public DecodeWriter getWriterForLength(final int len) {
         bytes = new byte[len];
-        return new DecodeWriter() {
+        return new BulkDecodeWriter() {
             @Override
             public void append(final byte b) {
                 bytes[idx++] = b;
             }
+
+            @Override
+            public void write(final byte[] source, final int offset, final int length) {
+                System.arraycopy(source, offset, bytes, idx, length);
+                idx += length;
+            }
         };
     }
 
@@ -0,0 +1,271 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Decoder} that remembers decoded results in a bounded concurrent cache keyed by the base58 input.
+ * <p>
+ * Threadsafe as long as the delegate is. Cached arrays are never handed out, results are either copied, written to
+ * a target, or exposed as read-only views. Lookups hash the {@link CharSequence} directly, so a hit that is copied
+ * into a caller's buffer or target does not allocate.
+ * <p>
+ * When either bound is exceeded the oldest entries are evicted first.
+ * <p>
+ * Decoded bytes stay in memory until evicted, so do not use for secret material.
+ */
+public final class CachingDecoder implements TryDecoder {
+
+    private final Decoder delegate;
+    private final int maxEntries;
+    private final long maxBytes;
+
+    private final ConcurrentHashMap<Key, byte[]> cache = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Key> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicLong cachedBytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final ThreadLocal<Key> probes = new ThreadLocal<Key>() {
+        @Override
+        protected Key initialValue() {
+            return new Key();
+        }
+    };
+
+    CachingDecoder(final Decoder delegate, final int maxEntries, final long maxBytes) {
+        if (maxEntries < 0)
+            throw new IllegalArgumentException("maxEntries must not be negative");
+        if (maxBytes < 0)
+            throw new IllegalArgumentException("maxBytes must not be negative");
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Decodes given bytes as a number in base58.
+     *
+     * @param base58 string to decode
+     * @return a new copy of the number as bytes
+     */
+    @Override
+    public byte[] decode(final CharSequence base58) {
+        return lookup(base58).clone();
+    }
+
+    /**
+     * Decodes given bytes as a number in base58.
+     *
+     * @param base58 string to decode
+     * @param target Receiver for output
+     */
+    public void decode(final CharSequence base58, final DecodeTarget target) {
+        final byte[] bytes = lookup(base58);
+        final DecodeWriter writer = target.getWriterForLength(bytes.length);
+        if (writer instanceof BulkDecodeWriter) {
+            ((BulkDecodeWriter) writer).write(bytes, 0, bytes.length);
+            return;
+        }
+        for (final byte b : bytes) {
+            writer.append(b);
+        }
+    }
+
+    /**
+     * Decodes given bytes as a number in base58 into the supplied array.
+     *
+     * @param base58 string to decode
+     * @param output array to write the number to
+     * @param offset index in output of the first byte written
+     * @return number of bytes written
+     * @throws IndexOutOfBoundsException if the output does not have enough room
+     */
+    public int decode(final CharSequence base58, final byte[] output, final int offset) {
+        final byte[] bytes = lookup(base58);
+        System.arraycopy(bytes, 0, output, offset, bytes.length);
+        return bytes.length;
+    }
+
+    /**
+     * Decodes given bytes as a number in base58 into the supplied array, without throwing for bad input.
+     * Bad input is not cached. Only a {@link TryDecoder} delegate can report bad input without throwing, other
+     * delegates are decoded with {@link Decoder#decode(CharSequence)} and their exceptions propagate.
+     *
+     * @param base58 string to decode
+     * @param output array to write the number to
+     * @param offset index in output of the first byte written
+     * @return number of bytes written, or a negative {@link DecodeStatus}
+     */
+    @Override
+    public int tryDecode(final CharSequence base58, final byte[] output, final int offset) {
+        final byte[] cached = find(base58);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return tryCopy(cached, output, offset);
+        }
+        misses.incrementAndGet();
+        if (!(delegate instanceof TryDecoder)) {
+            final byte[] decoded = delegate.decode(base58);
+            store(new Key().of(base58.toString()), decoded);
+            return tryCopy(decoded, output, offset);
+        }
+        final int status = ((TryDecoder) delegate).tryDecode(base58, output, offset);
+        if (status >= 0) {
+            store(new Key().of(base58.toString()), Arrays.copyOfRange(output, offset, offset + status));
+        }
+        return status;
+    }
+
+    /**
+     * Decodes given bytes as a number in base58 without copying the cached result.
+     *
+     * @param base58 string to decode
+     * @return a read-only view of the number as bytes
+     */
+    public ByteBuffer decodeReadOnly(final CharSequence base58) {
+        return ByteBuffer.wrap(lookup(base58)).asReadOnlyBuffer();
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * @return total length of all the decoded results currently cached
+     */
+    public long cachedBytes() {
+        return cachedBytes.get();
+    }
+
+    public void clear() {
+        Key key;
+        while ((key = insertionOrder.poll()) != null) {
+            remove(key);
+        }
+    }
+
+    private static int tryCopy(final byte[] bytes, final byte[] output, final int offset) {
+        if (offset < 0 || offset > output.length || bytes.length > output.length - offset)
+            return DecodeStatus.outputTooSmall(bytes.length);
+        System.arraycopy(bytes, 0, output, offset, bytes.length);
+        return bytes.length;
+    }
+
+    private byte[] lookup(final CharSequence base58) {
+        final byte[] cached = find(base58);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        final byte[] decoded = delegate.decode(base58);
+        store(new Key().of(base58.toString()), decoded);
+        return decoded;
+    }
+
+    private byte[] find(final CharSequence base58) {
+        final Key probe = probes.get().of(base58);
+        try {
+            return cache.get(probe);
+        } finally {
+            probe.release();
+        }
+    }
+
+    private void store(final Key key, final byte[] decoded) {
+        if (maxEntries == 0 || decoded.length > maxBytes)
+            return;
+        if (cache.putIfAbsent(key, decoded) != null)
+            return;
+        insertionOrder.add(key);
+        cachedBytes.addAndGet(decoded.length);
+        while (cache.size() > maxEntries || cachedBytes.get() > maxBytes) {
+            final Key oldest = insertionOrder.poll();
+            if (oldest == null)
+                return;
+            if (remove(oldest))
+                evictions.incrementAndGet();
+        }
+    }
+
+    private boolean remove(final Key key) {
+        final byte[] removed = cache.remove(key);
+        if (removed == null)
+            return false;
+        cachedBytes.addAndGet(-removed.length);
+        return true;
+    }
+
+    /**
+     * Hashes and compares the characters of any {@link CharSequence}, consistent with {@link String#hashCode()}.
+     * Stored keys always hold a {@link String}, the per-thread probe holds the caller's sequence for one lookup.
+     */
+    private static final class Key {
+        private CharSequence chars;
+        private int hash;
+
+        Key of(final CharSequence chars) {
+            this.chars = chars;
+            this.hash = CharSequences.hash(chars);
+            return this;
+        }
+
+        void release() {
+            chars = null;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+            final Key other = (Key) obj;
+            return hash == other.hash && CharSequences.contentEquals(chars, other.chars);
+        }
+    }
+}
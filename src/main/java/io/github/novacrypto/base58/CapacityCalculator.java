@@ -27,9 +27,11 @@ final class CapacityCalculator {
     CapacityCalculator() {
     }
 
-    private static final double log2_58 = Math.log(58) / Math.log(2);
-
-    private static final double storageRatio = 8.0 / log2_58;
+    /**
+     * 8 / Log2(58) as a fixed point number with 62 fractional bits, split into high and low 32 bit halves.
+     */
+    private static final long STORAGE_RATIO_HIGH = 0x5766f1ceL;
+    private static final long STORAGE_RATIO_LOW = 0xb08a20d0L;
 
     /**
      * Calculates the maximum length of a base58 string using formula:
@@ -38,10 +40,51 @@ final class CapacityCalculator {
      * <p>
      * The length may be less depending on the actual data inside the array.
      * <p>
+     * Uses integer arithmetic only. The ratio is irrational, so the ceiling is the floor plus one for any positive
+     * length, and the fixed point ratio is precise enough that the floor is exact for every int length.
      *
      * @return equivalent to {@code base58Encode(new byte[byteLength]{0xff,0xff,0xff...}).length}
      */
     static int maximumBase58StringLength(final int byteLength) {
-        return (int) Math.ceil(byteLength * storageRatio);
+        if (byteLength <= 0)
+            return 0;
+        final long n = byteLength;
+        final long floor = (n * STORAGE_RATIO_HIGH + ((n * STORAGE_RATIO_LOW) >>> 32)) >>> 30;
+        return (int) Math.min(floor + 1, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Checks if a base58 string of a given length could decode to a given number of bytes.
+     * <p>
+     * Every byte needs at least one character, and no string longer than the encoding of that many 0xff bytes can
+     * decode to that many bytes.
+     *
+     * @param stringLength    length of the base58 string
+     * @param decodedLength   number of bytes
+     * @return false if no base58 string of that length can decode to that many bytes
+     */
+    static boolean isPossibleLength(final int stringLength, final int decodedLength) {
+        return decodedLength >= 0 &&
+                stringLength >= decodedLength &&
+                stringLength <= maximumBase58StringLength(decodedLength);
+    }
+
+    /**
+     * Checks if the significant part of a base58 string, the part after the leading zero characters, could decode to
+     * a given number of significant bytes, those after the leading zero bytes.
+     * <p>
+     * The significant bytes are in the range [256^(bytes-1), 256^bytes) and 256^(bytes-1) never has more base58
+     * digits than 256^(bytes-1)-1, which has {@code maximumBase58StringLength(bytes - 1)}.
+     *
+     * @param significantCharacters characters after the leading zero characters
+     * @param significantBytes      bytes after the leading zero bytes
+     * @return false if the string cannot decode to that many bytes
+     */
+    static boolean isPlausibleLength(final int significantCharacters, final int significantBytes) {
+        if (significantBytes <= 0)
+            return significantBytes == 0 && significantCharacters == 0;
+        return significantCharacters >= 1 &&
+                significantCharacters >= maximumBase58StringLength(significantBytes - 1) &&
+                significantCharacters <= maximumBase58StringLength(significantBytes);
     }
 }
\ No newline at end of file
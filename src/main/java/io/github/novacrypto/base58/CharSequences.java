@@ -0,0 +1,62 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+/**
+ * Hashing and comparison of any {@link CharSequence} by its characters, consistent with {@link String}.
+ */
+final class CharSequences {
+
+    CharSequences() {
+    }
+
+    /**
+     * @return the same as {@link String#hashCode()} of the characters
+     */
+    static int hash(final CharSequence chars) {
+        if (chars instanceof String)
+            return chars.hashCode();
+        int h = 0;
+        final int length = chars.length();
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + chars.charAt(i);
+        }
+        return h;
+    }
+
+    /**
+     * @return true if both hold the same characters
+     */
+    static boolean contentEquals(final CharSequence a, final CharSequence b) {
+        if (a instanceof String && b instanceof String)
+            return a.equals(b);
+        final int length = a.length();
+        if (length != b.length())
+            return false;
+        for (int i = 0; i < length; i++) {
+            if (a.charAt(i) != b.charAt(i))
+                return false;
+        }
+        return true;
+    }
+}
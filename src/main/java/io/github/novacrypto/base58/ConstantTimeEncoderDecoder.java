@@ -0,0 +1,328 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static io.github.novacrypto.base58.CapacityCalculator.maximumBase58StringLength;
+
+/**
+ * An engine whose running time depends only on the length of the input and of the output, not on their contents.
+ * <p>
+ * Every multiply-add runs over all the digits the input length allows, rather than stopping at the most significant
+ * non-zero digit. Leading zeros are counted with masks instead of branches. Characters and digit values are mapped by
+ * scanning the whole alphabet with masks rather than indexing a table with a secret, so the cache lines touched do
+ * not depend on the data. Division and remainder are by the constant 58, which compiles to a multiply and shifts.
+ * <p>
+ * The output length, including the number of leading zeros, is visible in the output itself and so is not hidden.
+ * Bad characters are detected in the same pass as decoding and only reported afterwards.
+ * <p>
+ * Slower than {@link Base58EncoderDecoder}, the work is quadratic in the input length and each character costs a scan
+ * of the alphabet. Use for secret material, together with a {@link SecureWorkingBuffer}.
+ * <p>
+ * Not threadsafe, uses one working buffer.
+ */
+final class ConstantTimeEncoderDecoder implements ExtendedSecureEncoderDecoder {
+
+    private static final int ALPHABET_SIZE = 58;
+
+    private final Base58Limits limits;
+    private final boolean badCharacterStackTraces;
+    private final char[] digits;
+    private final WorkingBuffer workingBuffer;
+    private final AsciiChars asciiChars = new AsciiChars();
+    private final char[] charChunk = new char[Base58EncoderDecoder.CHUNK_SIZE];
+    private final byte[] byteChunk = new byte[Base58EncoderDecoder.CHUNK_SIZE];
+
+    ConstantTimeEncoderDecoder(final WorkingBuffer workingBuffer, final Base58Alphabet alphabet,
+                               final Base58Limits limits, final boolean badCharacterStackTraces) {
+        this.workingBuffer = workingBuffer;
+        this.limits = limits;
+        this.badCharacterStackTraces = badCharacterStackTraces;
+        this.digits = alphabet.digits;
+    }
+
+    @Override
+    public void encode(final byte[] bytes, final EncodeTarget target) {
+        limits.checkEncode(bytes.length);
+        encodeInto(bytes, target);
+    }
+
+    @Override
+    public void encode(final byte[] bytes, final EncodeTargetCapacity setCapacity, final EncodeTarget target) {
+        limits.checkEncode(bytes.length);
+        setCapacity.setCapacity(maximumBase58StringLength(bytes.length));
+        encodeInto(bytes, target);
+    }
+
+    @Override
+    public void encode(final byte[] bytes, final EncodeTargetFromCapacity target) {
+        limits.checkEncode(bytes.length);
+        encodeInto(bytes, target.withCapacity(maximumBase58StringLength(bytes.length)));
+    }
+
+    private void encodeInto(final byte[] bytes, final EncodeTarget target) {
+        final int length = bytes.length;
+        final int width = maximumBase58StringLength(length);
+        final WorkingBuffer d = workingBuffer;
+        d.setCapacity(width);
+        try {
+            for (int j = 0; j < width; j++) {
+                d.put(j, (byte) 0);
+            }
+            int blanks = 0;
+            int leading = 1;
+            for (int i = 0; i < length; i++) {
+                final int b = bytes[i] & 0xff;
+                leading &= isZero(b);
+                blanks += leading;
+                int c = b;
+                for (int j = 0; j < width; j++) {
+                    final int n = ((d.get(j) & 0xff) << 8) + c;
+                    d.put(j, (byte) (n % 58));
+                    c = n / 58;
+                }
+            }
+            final int dlen = width - 1 - leadingZeros(d, width);
+            append(d, dlen, blanks, target);
+        } finally {
+            d.clear();
+        }
+    }
+
+    private void append(final WorkingBuffer d, final int dlen, final int blanks, final EncodeTarget target) {
+        final char zero = digits[0];
+        if (!(target instanceof BulkEncodeTarget)) {
+            for (int i = 0; i < blanks; i++) {
+                target.append(zero);
+            }
+            for (int j = dlen; j >= 0; j--) {
+                target.append(digit(d.get(j)));
+            }
+            return;
+        }
+        final BulkEncodeTarget bulk = (BulkEncodeTarget) target;
+        final char[] chunk = charChunk;
+        final int size = chunk.length;
+        int n = 0;
+        try {
+            for (int i = 0; i < blanks; i++) {
+                chunk[n++] = zero;
+                if (n == size) {
+                    bulk.append(chunk, 0, n);
+                    n = 0;
+                }
+            }
+            for (int j = dlen; j >= 0; j--) {
+                chunk[n++] = digit(d.get(j));
+                if (n == size) {
+                    bulk.append(chunk, 0, n);
+                    n = 0;
+                }
+            }
+            if (n > 0) {
+                bulk.append(chunk, 0, n);
+            }
+        } finally {
+            Arrays.fill(chunk, '\0');
+        }
+    }
+
+    @Override
+    public void decode(final CharSequence base58, final DecodeTarget target) {
+        decodeInto(base58, target, true);
+    }
+
+    @Override
+    public int tryDecode(final CharSequence base58, final DecodeTarget target) {
+        return decodeInto(base58, target, false);
+    }
+
+    @Override
+    public void decode(final byte[] ascii, final int offset, final int length, final DecodeTarget target) {
+        decode(ByteBuffer.wrap(ascii, offset, length), target);
+    }
+
+    @Override
+    public void decode(final ByteBuffer ascii, final DecodeTarget target) {
+        try {
+            decodeInto(asciiChars.of(ascii), target, true);
+        } finally {
+            asciiChars.of(null);
+        }
+    }
+
+    /**
+     * @return number of bytes written, or if not throwing, a negative {@link DecodeStatus}
+     */
+    private int decodeInto(final CharSequence base58, final DecodeTarget target, final boolean throwing) {
+        final int length = base58.length();
+        final int partialViolation = limits.partialDecodeViolation(length);
+        if (partialViolation != Base58Limits.WITHIN_LIMITS)
+            return reject(partialViolation, length, throwing);
+        final WorkingBuffer d = workingBuffer;
+        d.setCapacity(length);
+        try {
+            for (int j = 0; j < length; j++) {
+                d.put(j, (byte) 0);
+            }
+            int blanks = 0;
+            int leading = 1;
+            int invalidSeen = 0;
+            int firstInvalid = 0;
+            for (int i = 0; i < length; i++) {
+                final int packed = value(base58.charAt(i));
+                int c = packed & 0xff;
+                final int bad = packed >>> 8;
+                firstInvalid = select(bad & (invalidSeen ^ 1), i, firstInvalid);
+                invalidSeen |= bad;
+                leading &= isZero(c);
+                blanks += leading;
+                for (int j = 0; j < length; j++) {
+                    final int n = (d.get(j) & 0xff) * 58 + c;
+                    d.put(j, (byte) n);
+                    c = n >>> 8;
+                }
+            }
+            if (invalidSeen != 0) {
+                if (throwing)
+                    throw BadCharacterException.of(base58.charAt(firstInvalid), badCharacterStackTraces);
+                return DecodeStatus.badCharacter(firstInvalid);
+            }
+            final int violation = limits.decodeViolation(length, blanks);
+            if (violation != Base58Limits.WITHIN_LIMITS)
+                return reject(violation, length, throwing);
+            final int dlen = length - 1 - leadingZeros(d, length);
+            return Base58EncoderDecoder.writeDigits(d, dlen, blanks, target, byteChunk);
+        } finally {
+            d.clear();
+        }
+    }
+
+    private int reject(final int violation, final int length, final boolean throwing) {
+        if (throwing)
+            throw limits.decodeException(violation, length);
+        return DecodeStatus.lengthRejected();
+    }
+
+    /**
+     * @return number of zero entries above the most significant non-zero entry, all of them if all are zero
+     */
+    private static int leadingZeros(final WorkingBuffer d, final int width) {
+        int zeros = 0;
+        int leading = 1;
+        for (int j = width - 1; j >= 0; j--) {
+            leading &= isZero(d.get(j) & 0xff);
+            zeros += leading;
+        }
+        return zeros;
+    }
+
+    /**
+     * Looks at every character of the alphabet.
+     */
+    private char digit(final int value) {
+        final char[] a = digits;
+        int c = 0;
+        for (int k = 0; k < ALPHABET_SIZE; k++) {
+            c |= a[k] & -isZero(k ^ value);
+        }
+        return (char) c;
+    }
+
+    /**
+     * Looks at every character of the alphabet.
+     *
+     * @return the digit value in the low byte, and 1 in the next byte if the character is not in the alphabet
+     */
+    private int value(final char c) {
+        final char[] a = digits;
+        int value = 0;
+        int found = 0;
+        for (int k = 0; k < ALPHABET_SIZE; k++) {
+            final int match = isZero(a[k] ^ c);
+            value |= k & -match;
+            found |= match;
+        }
+        return value | (found ^ 1) << 8;
+    }
+
+    /**
+     * @param x not negative
+     * @return 1 if x is zero, otherwise 0
+     */
+    private static int isZero(final int x) {
+        return (x - 1) >>> 31;
+    }
+
+    /**
+     * @param condition 0 or 1
+     * @return a if condition is 1, otherwise b
+     */
+    private static int select(final int condition, final int a, final int b) {
+        final int mask = -condition;
+        return (a & mask) | (b & ~mask);
+    }
+
+    /**
+     * ASCII bytes between a buffer's position and limit as characters, without copying.
+     */
+    static final class AsciiChars implements CharSequence {
+        private ByteBuffer ascii;
+        private int start;
+        private int length;
+
+        AsciiChars of(final ByteBuffer ascii) {
+            this.ascii = ascii;
+            this.start = ascii == null ? 0 : ascii.position();
+            this.length = ascii == null ? 0 : ascii.remaining();
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public char charAt(final int index) {
+            return (char) (ascii.get(start + index) & 0xff);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            if (start < 0 || start > end || end > length)
+                throw new IndexOutOfBoundsException();
+            final ByteBuffer range = ascii.duplicate();
+            range.limit(this.start + end);
+            range.position(this.start + start);
+            return new AsciiChars().of(range);
+        }
+
+        @Override
+        public String toString() {
+            return new StringBuilder(length).append(this).toString();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+/**
+ * Interprets the int results of the {@code tryDecode} methods.
+ * <p>
+ * Non-negative results are the number of bytes decoded. Negative results are an error, with the three highest bits
+ * holding the kind of error and the rest holding the character index or the number of bytes required.
+ */
+public final class DecodeStatus {
+
+    private static final int KIND_MASK = 0xe0000000;
+    private static final int DETAIL_MASK = ~KIND_MASK;
+    private static final int BAD_CHARACTER = 0x80000000;
+    private static final int OUTPUT_TOO_SMALL = 0xa0000000;
+    private static final int LENGTH_REJECTED = 0xc0000000;
+
+    DecodeStatus() {
+    }
+
+    /**
+     * @param status result of a {@code tryDecode}
+     * @return true if the result is the number of bytes decoded
+     */
+    public static boolean isSuccess(final int status) {
+        return status >= 0;
+    }
+
+    /**
+     * @param status result of a {@code tryDecode}
+     * @return true if the input contained a character not in the alphabet
+     */
+    public static boolean isBadCharacter(final int status) {
+        return (status & KIND_MASK) == BAD_CHARACTER;
+    }
+
+    /**
+     * @param status result of a {@code tryDecode}
+     * @return true if the output did not have room for the decoded bytes
+     */
+    public static boolean isOutputTooSmall(final int status) {
+        return (status & KIND_MASK) == OUTPUT_TOO_SMALL;
+    }
+
+    /**
+     * @param status result of a {@code tryDecode}
+     * @return true if the input length was rejected by the {@link Base58Limits} in use, before decoding
+     */
+    public static boolean isLengthRejected(final int status) {
+        return (status & KIND_MASK) == LENGTH_REJECTED;
+    }
+
+    /**
+     * @param status a bad character result
+     * @return index of the first bad character in the input
+     */
+    public static int badCharacterIndex(final int status) {
+        return detail(status, BAD_CHARACTER);
+    }
+
+    /**
+     * @param status an output too small result
+     * @return number of bytes the input decodes to
+     */
+    public static int requiredLength(final int status) {
+        return detail(status, OUTPUT_TOO_SMALL);
+    }
+
+    static int badCharacter(final int index) {
+        return BAD_CHARACTER | Math.min(index, DETAIL_MASK);
+    }
+
+    static int outputTooSmall(final int requiredLength) {
+        return OUTPUT_TOO_SMALL | Math.min(requiredLength, DETAIL_MASK);
+    }
+
+    static int lengthRejected() {
+        return LENGTH_REJECTED;
+    }
+
+    private static int detail(final int status, final int kind) {
+        if ((status & KIND_MASK) != kind)
+            throw new IllegalArgumentException("Status is not of the expected kind");
+        return status & DETAIL_MASK;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+/**
+ * An {@link Encoder} that can also measure the exact encoded length and encode into arrays of exactly that length.
+ */
+public interface ExactLengthEncoder extends Encoder {
+
+    /**
+     * Encodes given bytes as a number in base58, into an array of exactly the encoded length.
+     *
+     * @param bytes bytes to encode
+     * @return base58 characters as ASCII bytes
+     */
+    byte[] encodeToAscii(byte[] bytes);
+
+    /**
+     * Encodes given bytes as a number in base58, into an array of exactly the encoded length.
+     *
+     * @param bytes bytes to encode
+     * @return base58 characters
+     */
+    char[] encodeToChars(byte[] bytes);
+
+    /**
+     * Calculates the exact length of the base58 encoding of given bytes.
+     * This does the same arithmetic as encoding, use {@link Base58#maximumEncodedLength(int)} for a cheap bound.
+     *
+     * @param bytes bytes to measure
+     * @return number of base58 characters the bytes encode to
+     */
+    int encodedLength(byte[] bytes);
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import static io.github.novacrypto.base58.CapacityCalculator.maximumBase58StringLength;
+
+/**
+ * Converts single blocks of the framed format, see {@link Base58FramedFormat}.
+ * <p>
+ * A block of n bytes is one big-endian number, written as exactly {@code maximumBase58StringLength(n)} digits with
+ * leading zero digits. Unlike plain base58, leading zero bytes have no special meaning inside a block.
+ * <p>
+ * Not threadsafe, uses one working buffer.
+ */
+final class FramedCodec {
+
+    private final char[] digits;
+    private final int[] values;
+    private final WorkingBuffer workingBuffer;
+    private final boolean badCharacterStackTraces;
+
+    FramedCodec(final WorkingBuffer workingBuffer, final Base58Alphabet alphabet,
+                final boolean badCharacterStackTraces) {
+        this.workingBuffer = workingBuffer;
+        this.digits = alphabet.digits;
+        this.values = alphabet.values;
+        this.badCharacterStackTraces = badCharacterStackTraces;
+    }
+
+    /**
+     * @param blockLength number of bytes in the block
+     * @return number of characters in its group
+     */
+    static int groupWidth(final int blockLength) {
+        return maximumBase58StringLength(blockLength);
+    }
+
+    /**
+     * The width of a group identifies the length of its block, as every block length has a different width.
+     *
+     * @param groupWidth   number of characters in a group
+     * @param maxBlockSize largest block length to consider
+     * @return length of the block, or -1 if no block encodes to that width
+     */
+    static int blockLength(final int groupWidth, final int maxBlockSize) {
+        for (int n = 0; n <= maxBlockSize; n++) {
+            final int width = groupWidth(n);
+            if (width == groupWidth)
+                return n;
+            if (width > groupWidth)
+                break;
+        }
+        return -1;
+    }
+
+    /**
+     * Encodes a block to {@code groupWidth(length)} characters, written from the end of the group.
+     */
+    void encodeGroup(final byte[] block, final int offset, final int length, final char[] group,
+                     final int groupOffset) {
+        final char[] a = digits;
+        final WorkingBuffer d = workingBuffer;
+        final int width = groupWidth(length);
+        d.setCapacity(width);
+        try {
+            final int dlen = toDigits(d, block, offset, length);
+            int k = groupOffset + width;
+            for (int j = 0; j <= dlen; j++) {
+                group[--k] = a[d.get(j)];
+            }
+            while (k > groupOffset) {
+                group[--k] = a[0];
+            }
+        } finally {
+            d.clear();
+        }
+    }
+
+    /**
+     * Encodes a block to {@code groupWidth(length)} ASCII characters, written from the end of the group.
+     */
+    void encodeGroupToAscii(final byte[] block, final int offset, final int length, final byte[] group,
+                            final int groupOffset) {
+        final char[] a = digits;
+        final WorkingBuffer d = workingBuffer;
+        final int width = groupWidth(length);
+        d.setCapacity(width);
+        try {
+            final int dlen = toDigits(d, block, offset, length);
+            int k = groupOffset + width;
+            for (int j = 0; j <= dlen; j++) {
+                group[--k] = (byte) a[d.get(j)];
+            }
+            while (k > groupOffset) {
+                group[--k] = (byte) a[0];
+            }
+        } finally {
+            d.clear();
+        }
+    }
+
+    private static int toDigits(final WorkingBuffer d, final byte[] block, final int offset, final int length) {
+        int dlen = -1;
+        for (int i = 0; i < length; i++) {
+            dlen = Base58EncoderDecoder.multiplyAdd256(d, dlen, block[offset + i] & 0xff);
+        }
+        return dlen;
+    }
+
+    /**
+     * Decodes a group of {@code groupWidth(length)} characters to a block.
+     *
+     * @throws BadCharacterException    if a character is not in the alphabet
+     * @throws IllegalArgumentException if the group's value does not fit in the block
+     */
+    void decodeGroup(final CharSequence group, final int groupOffset, final byte[] block, final int offset,
+                     final int length) {
+        final int[] values = this.values;
+        final int width = groupWidth(length);
+        final WorkingBuffer d = workingBuffer;
+        d.setCapacity(width);
+        try {
+            int dlen = -1;
+            for (int i = 0; i < width; i++) {
+                final char charAtI = group.charAt(groupOffset + i);
+                final int c = Base58EncoderDecoder.valueOf(values, charAtI);
+                if (c < 0) {
+                    throw BadCharacterException.of(charAtI, badCharacterStackTraces);
+                }
+                dlen = Base58EncoderDecoder.multiplyAdd58(d, dlen, c);
+            }
+            if (dlen >= length)
+                throw new IllegalArgumentException("Base58 group does not fit in " + length + " bytes");
+            final int padding = length - 1 - dlen;
+            for (int k = 0; k < padding; k++) {
+                block[offset + k] = 0;
+            }
+            for (int j = dlen, k = offset + padding; j >= 0; j--, k++) {
+                block[k] = d.get(j);
+            }
+        } finally {
+            d.clear();
+        }
+    }
+}
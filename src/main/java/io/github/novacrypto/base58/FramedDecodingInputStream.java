@@ -0,0 +1,121 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Reads one group of characters at a time from the reader, serving the bytes of its block. A short group is only
+ * accepted at the end of the input.
+ */
+final class FramedDecodingInputStream extends InputStream {
+
+    private final Base58FramedFormat format;
+    private final FramedCodec codec;
+    private final Reader in;
+    private final char[] group;
+    private final CharBuffer groupView;
+    private final byte[] block;
+    private int position;
+    private int available;
+    private boolean closed;
+
+    FramedDecodingInputStream(final Base58FramedFormat format, final FramedCodec codec, final Reader in) {
+        this.format = format;
+        this.codec = codec;
+        this.in = in;
+        this.group = new char[format.groupWidth()];
+        this.groupView = CharBuffer.wrap(group);
+        this.block = new byte[format.blockSize()];
+    }
+
+    @Override
+    public int read() throws IOException {
+        ensureOpen();
+        if (position == available && !readBlock())
+            return -1;
+        return block[position++] & 0xff;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+        if (offset < 0 || length < 0 || offset > bytes.length - length)
+            throw new IndexOutOfBoundsException();
+        ensureOpen();
+        if (length == 0)
+            return 0;
+        if (position == available && !readBlock())
+            return -1;
+        final int count = Math.min(length, available - position);
+        System.arraycopy(block, position, bytes, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+        ensureOpen();
+        return available - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        Arrays.fill(block, (byte) 0);
+        in.close();
+    }
+
+    private boolean readBlock() throws IOException {
+        int filled = 0;
+        while (filled < group.length) {
+            final int read = in.read(group, filled, group.length - filled);
+            if (read < 0)
+                break;
+            filled += read;
+        }
+        Arrays.fill(block, (byte) 0);
+        position = 0;
+        available = 0;
+        if (filled == 0)
+            return false;
+        try {
+            final int length = filled == group.length ? block.length : format.finalBlockLength(filled);
+            codec.decodeGroup(groupView, 0, block, 0, length);
+            available = length;
+        } finally {
+            Arrays.fill(group, 0, filled, '\0');
+        }
+        return true;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed)
+            throw new IOException("Stream closed");
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Buffers one group of characters, writing its block to the stream when it is full. The final group is decoded on
+ * close.
+ */
+final class FramedDecodingWriter extends Writer {
+
+    private final Base58FramedFormat format;
+    private final FramedCodec codec;
+    private final OutputStream out;
+    private final char[] group;
+    private final CharBuffer groupView;
+    private final byte[] block;
+    private int filled;
+    private boolean closed;
+
+    FramedDecodingWriter(final Base58FramedFormat format, final FramedCodec codec, final OutputStream out) {
+        this.format = format;
+        this.codec = codec;
+        this.out = out;
+        this.group = new char[format.groupWidth()];
+        this.groupView = CharBuffer.wrap(group);
+        this.block = new byte[format.blockSize()];
+    }
+
+    @Override
+    public void write(final char[] chars, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || offset > chars.length - length)
+            throw new IndexOutOfBoundsException();
+        ensureOpen();
+        while (length > 0) {
+            final int count = Math.min(length, group.length - filled);
+            System.arraycopy(chars, offset, group, filled, count);
+            filled += count;
+            offset += count;
+            length -= count;
+            if (filled == group.length)
+                writeBlock(block.length);
+        }
+    }
+
+    /**
+     * Flushes the stream. Characters of an incomplete group stay buffered until the group is full or the writer is
+     * closed.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            if (filled > 0)
+                writeBlock(format.finalBlockLength(filled));
+        } finally {
+            Arrays.fill(group, '\0');
+            out.close();
+        }
+    }
+
+    private void writeBlock(final int length) throws IOException {
+        try {
+            codec.decodeGroup(groupView, 0, block, 0, length);
+            out.write(block, 0, length);
+        } finally {
+            filled = 0;
+            Arrays.fill(block, (byte) 0);
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed)
+            throw new IOException("Stream closed");
+    }
+}
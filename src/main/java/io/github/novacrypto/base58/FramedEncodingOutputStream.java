@@ -0,0 +1,111 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Buffers one block of bytes, writing its group to the writer when it is full. The final group is written on close.
+ */
+final class FramedEncodingOutputStream extends OutputStream {
+
+    private final FramedCodec codec;
+    private final Writer out;
+    private final byte[] block;
+    private final char[] group;
+    private int filled;
+    private boolean closed;
+
+    FramedEncodingOutputStream(final FramedCodec codec, final int blockSize, final Writer out) {
+        this.codec = codec;
+        this.out = out;
+        this.block = new byte[blockSize];
+        this.group = new char[FramedCodec.groupWidth(blockSize)];
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        ensureOpen();
+        block[filled++] = (byte) b;
+        if (filled == block.length)
+            writeGroup();
+    }
+
+    @Override
+    public void write(final byte[] bytes, int offset, int length) throws IOException {
+        if (offset < 0 || length < 0 || offset > bytes.length - length)
+            throw new IndexOutOfBoundsException();
+        ensureOpen();
+        while (length > 0) {
+            final int count = Math.min(length, block.length - filled);
+            System.arraycopy(bytes, offset, block, filled, count);
+            filled += count;
+            offset += count;
+            length -= count;
+            if (filled == block.length)
+                writeGroup();
+        }
+    }
+
+    /**
+     * Flushes the writer. Bytes of an incomplete block stay buffered until the block is full or the stream is closed.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            if (filled > 0)
+                writeGroup();
+        } finally {
+            Arrays.fill(block, (byte) 0);
+            out.close();
+        }
+    }
+
+    private void writeGroup() throws IOException {
+        final int width = FramedCodec.groupWidth(filled);
+        try {
+            codec.encodeGroup(block, 0, filled, group, 0);
+            out.write(group, 0, width);
+        } finally {
+            filled = 0;
+            Arrays.fill(group, 0, width, '\0');
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed)
+            throw new IOException("Stream closed");
+    }
+}
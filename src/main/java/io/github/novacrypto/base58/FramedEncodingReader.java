@@ -0,0 +1,100 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * Reads one block of bytes at a time from the stream, serving the characters of its group.
+ */
+final class FramedEncodingReader extends Reader {
+
+    private final FramedCodec codec;
+    private final InputStream in;
+    private final byte[] block;
+    private final char[] group;
+    private int position;
+    private int available;
+    private boolean closed;
+
+    FramedEncodingReader(final FramedCodec codec, final int blockSize, final InputStream in) {
+        this.codec = codec;
+        this.in = in;
+        this.block = new byte[blockSize];
+        this.group = new char[FramedCodec.groupWidth(blockSize)];
+    }
+
+    @Override
+    public int read(final char[] chars, final int offset, final int length) throws IOException {
+        if (offset < 0 || length < 0 || offset > chars.length - length)
+            throw new IndexOutOfBoundsException();
+        ensureOpen();
+        if (length == 0)
+            return 0;
+        if (position == available && !readGroup())
+            return -1;
+        final int count = Math.min(length, available - position);
+        System.arraycopy(group, position, chars, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        Arrays.fill(group, '\0');
+        in.close();
+    }
+
+    private boolean readGroup() throws IOException {
+        int filled = 0;
+        while (filled < block.length) {
+            final int read = in.read(block, filled, block.length - filled);
+            if (read < 0)
+                break;
+            filled += read;
+        }
+        Arrays.fill(group, '\0');
+        position = 0;
+        available = 0;
+        if (filled == 0)
+            return false;
+        try {
+            codec.encodeGroup(block, 0, filled, group, 0);
+        } finally {
+            Arrays.fill(block, 0, filled, (byte) 0);
+        }
+        available = FramedCodec.groupWidth(filled);
+        return true;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed)
+            throw new IOException("Stream closed");
+    }
+}
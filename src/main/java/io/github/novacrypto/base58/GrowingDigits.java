@@ -0,0 +1,74 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+/**
+ * Digits of a number being built up incrementally, in one of two {@link WorkingBuffer}s.
+ * When more room is needed the digits are copied into the other buffer, grown, and the old one is cleared.
+ */
+final class GrowingDigits {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private WorkingBuffer current;
+    private WorkingBuffer spare;
+    private int capacity;
+
+    GrowingDigits(final WorkingBuffer first, final WorkingBuffer second) {
+        current = first;
+        spare = second;
+    }
+
+    WorkingBuffer buffer() {
+        return current;
+    }
+
+    /**
+     * @param atLeast room needed
+     * @param dlen    index of the most significant digit to keep, -1 for none
+     * @return the buffer holding the digits
+     */
+    WorkingBuffer ensureCapacity(final int atLeast, final int dlen) {
+        if (atLeast <= capacity)
+            return current;
+        final int newCapacity = Math.max(atLeast, capacity > Integer.MAX_VALUE / 2 ?
+                Integer.MAX_VALUE : Math.max(INITIAL_CAPACITY, capacity * 2));
+        final WorkingBuffer from = current;
+        final WorkingBuffer to = spare;
+        to.setCapacity(newCapacity);
+        for (int j = 0; j <= dlen; j++) {
+            to.put(j, from.get(j));
+        }
+        if (capacity > 0)
+            from.clear();
+        current = to;
+        spare = from;
+        capacity = newCapacity;
+        return to;
+    }
+
+    void clear() {
+        if (capacity > 0)
+            current.clear();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.util.Arrays;
+
+import static io.github.novacrypto.base58.CapacityCalculator.maximumBase58StringLength;
+
+/**
+ * Scalar kernel with the lanes as the innermost loop, so the JIT can unroll or auto-vectorise it.
+ */
+final class InterleavedSameLengthKernel extends SameLengthKernel {
+
+    private static final int LANES = 8;
+
+    private final int[] carry = new int[LANES];
+
+    @Override
+    int lanes() {
+        return LANES;
+    }
+
+    @Override
+    void toDigits(final byte[] data, final int offset, final int length, final int[] digits, final int width) {
+        final int[] carry = this.carry;
+        Arrays.fill(digits, 0, width * LANES, 0);
+        for (int i = 0; i < length; i++) {
+            for (int l = 0; l < LANES; l++) {
+                carry[l] = data[offset + l * length + i] & 0xff;
+            }
+            final int limit = Math.min(width, maximumBase58StringLength(i + 1));
+            for (int j = 0; j < limit; j++) {
+                final int base = j * LANES;
+                for (int l = 0; l < LANES; l++) {
+                    final int n = (digits[base + l] << 8) + carry[l];
+                    final int q = (n * DIVIDE_BY_58) >>> DIVIDE_BY_58_SHIFT;
+                    digits[base + l] = n - q * 58;
+                    carry[l] = q;
+                }
+            }
+        }
+        Arrays.fill(carry, 0);
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+/**
+ * Builds strings from arrays of ASCII bytes.
+ */
+final class Latin1Strings {
+
+    Latin1Strings() {
+    }
+
+    /**
+     * Uses the constructor that takes the high byte of every character, which copies the bytes straight into a
+     * compact string on Java 9+ without going through a charset decoder.
+     *
+     * @param ascii characters, all below 128
+     * @return the string
+     */
+    @SuppressWarnings("deprecation")
+    static String newString(final byte[] ascii) {
+        return new String(ascii, 0, 0, ascii.length);
+    }
+}
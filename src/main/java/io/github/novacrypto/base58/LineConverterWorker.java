@@ -0,0 +1,241 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.nio.ByteBuffer;
+
+import static io.github.novacrypto.base58.CapacityCalculator.maximumBase58StringLength;
+
+/**
+ * Converts the records of one range of a mapped file into its own direct output buffer.
+ * Holds everything it needs per record, so converting does not allocate unless the output buffer has to grow.
+ */
+final class LineConverterWorker {
+
+    private static final int INITIAL_OUTPUT_CAPACITY = 1 << 20;
+    private static final byte[] HEX = {
+            '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+
+    private final Base58LineConverter.Conversion conversion;
+    private final ExtendedGeneralEncoderDecoder decoder;
+    private final Base58IncrementalEncoder encoder;
+    private ByteBuffer out = ByteBuffer.allocateDirect(INITIAL_OUTPUT_CAPACITY);
+    private byte[] scratch = new byte[256];
+    private ByteBuffer map;
+    private ByteBuffer region;
+    private long offset;
+
+    private final DecodeTarget hexTarget = new DecodeTarget() {
+        @Override
+        public DecodeWriter getWriterForLength(final int len) {
+            return hexWriter;
+        }
+    };
+
+    private final BulkDecodeWriter hexWriter = new BulkDecodeWriter() {
+        @Override
+        public void append(final byte b) {
+            out.put(HEX[(b >> 4) & 0xf]);
+            out.put(HEX[b & 0xf]);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) {
+            for (int i = offset, end = offset + length; i < end; i++) {
+                append(bytes[i]);
+            }
+        }
+    };
+
+    private final DecodeTarget binaryTarget = new DecodeTarget() {
+        @Override
+        public DecodeWriter getWriterForLength(final int len) {
+            out.putInt(len);
+            return binaryWriter;
+        }
+    };
+
+    private final BulkDecodeWriter binaryWriter = new BulkDecodeWriter() {
+        @Override
+        public void append(final byte b) {
+            out.put(b);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) {
+            out.put(bytes, offset, length);
+        }
+    };
+
+    private final BulkEncodeTarget asciiTarget = new BulkEncodeTarget() {
+        @Override
+        public void append(final char c) {
+            out.put((byte) c);
+        }
+
+        @Override
+        public void append(final char[] chars, final int offset, final int length) {
+            for (int i = offset, end = offset + length; i < end; i++) {
+                out.put((byte) chars[i]);
+            }
+        }
+    };
+
+    LineConverterWorker(final Base58LineConverter.Conversion conversion, final Base58Alphabet alphabet) {
+        this.conversion = conversion;
+        this.decoder = Base58.newInstanceWithBuffer(new ByteArrayWorkingBuffer(), alphabet);
+        this.encoder = Base58.newIncrementalEncoder(alphabet, Base58Limits.NONE);
+    }
+
+    /**
+     * Converts the records between from and to, which must be record boundaries, appending to the output.
+     * Errors report positions in the file, the start of map being at offset.
+     */
+    void convert(final ByteBuffer map, final long offset, final int from, final int to) {
+        this.map = map;
+        this.region = map.duplicate();
+        this.offset = offset;
+        try {
+            int p = from;
+            while (p < to) {
+                final int end = conversion.recordEnd(map, offset, p, to, true);
+                convertRecord(p, end);
+                p = end;
+            }
+        } finally {
+            this.map = null;
+            this.region = null;
+        }
+    }
+
+    /**
+     * @return the output so far, ready to be written
+     */
+    ByteBuffer output() {
+        out.flip();
+        return out;
+    }
+
+    void clearOutput() {
+        out.clear();
+    }
+
+    private void convertRecord(final int start, final int end) {
+        switch (conversion) {
+            case BASE58_TO_HEX: {
+                final int contentEnd = lineContentEnd(start, end);
+                ensureRemaining(2 * (contentEnd - start) + 1);
+                decodeLine(start, contentEnd, hexTarget);
+                out.put((byte) '\n');
+                break;
+            }
+            case BASE58_TO_BINARY: {
+                final int contentEnd = lineContentEnd(start, end);
+                ensureRemaining(contentEnd - start + 4);
+                decodeLine(start, contentEnd, binaryTarget);
+                break;
+            }
+            case HEX_TO_BASE58:
+                encodeLine(parseHex(start, lineContentEnd(start, end)));
+                break;
+            case BINARY_TO_BASE58: {
+                final int length = end - start - 4;
+                final byte[] bytes = scratch(length);
+                final ByteBuffer record = region(start + 4, end);
+                record.get(bytes, 0, length);
+                encodeLine(length);
+                break;
+            }
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
+    private void decodeLine(final int start, final int end, final DecodeTarget target) {
+        try {
+            decoder.decode(region(start, end), target);
+        } catch (final BadCharacterException e) {
+            throw new BadCharacterException(e, offset + start);
+        }
+    }
+
+    private void encodeLine(final int length) {
+        encoder.update(scratch, 0, length);
+        ensureRemaining(maximumBase58StringLength(length) + 1);
+        encoder.finish(asciiTarget);
+        out.put((byte) '\n');
+    }
+
+    private int parseHex(final int start, final int end) {
+        final int length = end - start;
+        if ((length & 1) != 0)
+            throw new IllegalArgumentException("Odd number of hex characters in line at " + (offset + start));
+        final byte[] bytes = scratch(length / 2);
+        for (int i = 0, j = start; j < end; i++, j += 2) {
+            bytes[i] = (byte) (hexValue(map.get(j), offset + j) << 4 | hexValue(map.get(j + 1), offset + j + 1));
+        }
+        return length / 2;
+    }
+
+    private static int hexValue(final byte c, final long position) {
+        if (c >= '0' && c <= '9')
+            return c - '0';
+        if (c >= 'a' && c <= 'f')
+            return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F')
+            return c - 'A' + 10;
+        throw new IllegalArgumentException("Bad hex character at " + position);
+    }
+
+    private int lineContentEnd(final int start, int end) {
+        if (end > start && map.get(end - 1) == '\n')
+            end--;
+        if (end > start && map.get(end - 1) == '\r')
+            end--;
+        return end;
+    }
+
+    private ByteBuffer region(final int start, final int end) {
+        region.limit(end);
+        region.position(start);
+        return region;
+    }
+
+    private byte[] scratch(final int length) {
+        if (scratch.length < length)
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        return scratch;
+    }
+
+    private void ensureRemaining(final int needed) {
+        if (out.remaining() >= needed)
+            return;
+        final long wanted = Math.max(2L * out.capacity(), (long) out.position() + needed);
+        if (wanted > Integer.MAX_VALUE)
+            throw new IllegalStateException("Converted range is too large for one buffer");
+        final ByteBuffer grown = ByteBuffer.allocateDirect((int) wanted);
+        out.flip();
+        grown.put(out);
+        out = grown;
+    }
+}
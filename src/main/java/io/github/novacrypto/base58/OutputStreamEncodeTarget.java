@@ -0,0 +1,67 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Writes base58 output to an {@link OutputStream} as ASCII bytes, in blocks when the encoder supplies them.
+ * Does not flush or close the stream. Not threadsafe.
+ */
+public final class OutputStreamEncodeTarget implements BulkEncodeTarget {
+
+    private final OutputStream outputStream;
+    private byte[] ascii = new byte[0];
+
+    public OutputStreamEncodeTarget(final OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    @Override
+    public void append(final char c) {
+        try {
+            outputStream.write(c);
+        } catch (final IOException e) {
+            throw new TargetIOException(e);
+        }
+    }
+
+    @Override
+    public void append(final char[] chars, final int offset, final int length) {
+        if (ascii.length < length) {
+            ascii = new byte[length];
+        }
+        try {
+            for (int i = 0; i < length; i++) {
+                ascii[i] = (byte) chars[offset + i];
+            }
+            outputStream.write(ascii, 0, length);
+        } catch (final IOException e) {
+            throw new TargetIOException(e);
+        } finally {
+            Arrays.fill(ascii, 0, length, (byte) 0);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import static io.github.novacrypto.base58.CapacityCalculator.maximumBase58StringLength;
+
+/**
+ * Encodes a run of fixed size records from the source buffer into its own direct buffer.
+ * <p>
+ * Each record is copied into one reused array and encoded by the shared engine, so encoding a run allocates nothing
+ * unless the output buffer has to grow.
+ */
+final class RecordEncoderWorker {
+
+    private final Base58EncoderDecoder engine;
+    private final byte[] record;
+    private ByteBuffer out = ByteBuffer.allocateDirect(0);
+
+    private final EncodeTarget target = new EncodeTarget() {
+        @Override
+        public void append(final char c) {
+            out.put((byte) c);
+        }
+    };
+
+    RecordEncoderWorker(final Base58Alphabet alphabet, final int recordSize) {
+        this.engine = new Base58EncoderDecoder(new ByteArrayWorkingBuffer(), alphabet, Base58Limits.NONE);
+        this.record = new byte[recordSize];
+    }
+
+    static int maximumLineLength(final int recordSize) {
+        return maximumBase58StringLength(recordSize) + 1;
+    }
+
+    /**
+     * Encodes records from index from up to to, each followed by a newline.
+     *
+     * @param records buffer of all the records, starting at its position, which is not changed
+     */
+    void encode(final ByteBuffer records, final int from, final int to) {
+        final byte[] bytes = record;
+        final int size = bytes.length;
+        final int needed = (to - from) * maximumLineLength(size);
+        if (out.capacity() < needed)
+            out = ByteBuffer.allocateDirect(needed);
+        out.clear();
+        final ByteBuffer source = records.duplicate();
+        source.position(records.position() + from * size);
+        try {
+            for (int r = from; r < to; r++) {
+                source.get(bytes);
+                engine.encode(bytes, 0, size, target);
+                out.put((byte) '\n');
+            }
+        } finally {
+            Arrays.fill(bytes, (byte) 0);
+        }
+        out.flip();
+    }
+
+    /**
+     * @return the text of the last run, ready to be written
+     */
+    ByteBuffer output() {
+        return out;
+    }
+}
\ No newline at end of file
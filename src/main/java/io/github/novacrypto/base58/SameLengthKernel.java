@@ -0,0 +1,55 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+/**
+ * Converts several values of the same length to base58 digits at once, one value per lane.
+ * <p>
+ * Every value goes through the same multiply, divide and carry steps, so the lanes run in lockstep. Digits are
+ * stored lane-interleaved, digit j of lane l at {@code j * lanes() + l}, least significant digit first. After i bytes
+ * the value is below 256^i, so each byte only updates the digits that such a value can have.
+ * <p>
+ * Division by 58 is a multiply and shift, exact for every intermediate value below 58 * 256.
+ */
+abstract class SameLengthKernel {
+
+    /**
+     * floor(n / 58) == (n * DIVIDE_BY_58) >>> DIVIDE_BY_58_SHIFT for 0 <= n < 58 * 256.
+     */
+    static final int DIVIDE_BY_58 = 18079;
+    static final int DIVIDE_BY_58_SHIFT = 20;
+
+    /**
+     * @return number of values converted by each call
+     */
+    abstract int lanes();
+
+    /**
+     * @param data   {@link #lanes()} values of length bytes each, back to back from offset
+     * @param offset index in data of the first value
+     * @param length bytes per value
+     * @param digits receives width digits per lane, lane-interleaved, overwritten entirely
+     * @param width  {@code maximumBase58StringLength(length)}
+     */
+    abstract void toDigits(byte[] data, int offset, int length, int[] digits, int width);
+}
@@ -0,0 +1,50 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link SecureDecoder} that also decodes ASCII bytes in place, without first building a {@link CharSequence}.
+ */
+public interface SecureAsciiDecoder extends SecureDecoder {
+
+    /**
+     * Decodes given ASCII bytes as a number in base58.
+     *
+     * @param ascii  array containing the base58 characters as ASCII bytes
+     * @param offset index of the first character
+     * @param length number of characters
+     * @param target Receiver for output
+     */
+    void decode(final byte[] ascii, final int offset, final int length, final DecodeTarget target);
+
+    /**
+     * Decodes given ASCII bytes as a number in base58.
+     * Reads the bytes between the buffer's position and limit, the buffer's position is not changed.
+     *
+     * @param ascii  buffer containing the base58 characters as ASCII bytes
+     * @param target Receiver for output
+     */
+    void decode(final ByteBuffer ascii, final DecodeTarget target);
+}
\ No newline at end of file
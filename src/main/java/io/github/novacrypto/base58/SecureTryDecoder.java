@@ -0,0 +1,39 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+/**
+ * A {@link SecureDecoder} that can also reject bad input without throwing.
+ */
+public interface SecureTryDecoder extends SecureDecoder {
+
+    /**
+     * Decodes given bytes as a number in base58, without throwing for bad input.
+     * All characters are checked before any decoding is done.
+     *
+     * @param base58 string to decode
+     * @param target Receiver for output, not called if the input is bad
+     * @return number of bytes decoded, or a negative {@link DecodeStatus}
+     */
+    int tryDecode(final CharSequence base58, final DecodeTarget target);
+}
\ No newline at end of file
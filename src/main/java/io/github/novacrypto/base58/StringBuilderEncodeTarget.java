@@ -22,7 +22,7 @@
 
 package io.github.novacrypto.base58;
 
-final class StringBuilderEncodeTarget implements EncodeTarget, EncodeTargetCapacity {
+final class StringBuilderEncodeTarget implements BulkEncodeTarget, EncodeTargetCapacity {
     private final StringBuilder sb = new StringBuilder();
 
     @Override
@@ -35,6 +35,11 @@ final class StringBuilderEncodeTarget implements EncodeTarget, EncodeTargetCapac
         sb.append(c);
     }
 
+    @Override
+    public void append(final char[] chars, final int offset, final int length) {
+        sb.append(chars, offset, length);
+    }
+
     @Override
     public String toString() {
         return sb.toString();
@@ -0,0 +1,76 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+import static io.github.novacrypto.base58.CapacityCalculator.maximumBase58StringLength;
+
+/**
+ * Kernel with one value per lane of the preferred int vector, 4 to 16 lanes depending on the hardware.
+ * Only present on Java 17+, and only used when {@code jdk.incubator.vector} is available.
+ */
+final class VectorSameLengthKernel extends SameLengthKernel {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final int MIN_LANES = 4;
+
+    private final int lanes = SPECIES.length();
+    private final int[] column = new int[lanes];
+
+    static boolean isSupported() {
+        return SPECIES.length() >= MIN_LANES;
+    }
+
+    @Override
+    int lanes() {
+        return lanes;
+    }
+
+    @Override
+    void toDigits(final byte[] data, final int offset, final int length, final int[] digits, final int width) {
+        final int lanes = this.lanes;
+        final int[] column = this.column;
+        Arrays.fill(digits, 0, width * lanes, 0);
+        for (int i = 0; i < length; i++) {
+            for (int l = 0; l < lanes; l++) {
+                column[l] = data[offset + l * length + i] & 0xff;
+            }
+            IntVector carry = IntVector.fromArray(SPECIES, column, 0);
+            final int limit = Math.min(width, maximumBase58StringLength(i + 1));
+            for (int j = 0; j < limit; j++) {
+                final IntVector n = IntVector.fromArray(SPECIES, digits, j * lanes)
+                        .lanewise(VectorOperators.LSHL, 8)
+                        .add(carry);
+                final IntVector q = n.mul(DIVIDE_BY_58).lanewise(VectorOperators.LSHR, DIVIDE_BY_58_SHIFT);
+                n.sub(q.mul(58)).intoArray(digits, j * lanes);
+                carry = q;
+            }
+        }
+        Arrays.fill(column, 0);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Validates ASCII base58 input eight characters at a time.
+ * <p>
+ * Each long word is first checked for any byte with the high bit set, then its eight digit values are looked up and
+ * OR-ed together, so a word only branches once. Only a failing word is rescanned a character at a time to locate
+ * the exact bad character.
+ * <p>
+ * Java 9+ version. Words of buffers backed by an accessible array are read from the array through a
+ * {@link VarHandle} in native order, the order does not matter as all eight bytes are looked up.
+ */
+final class AsciiWords {
+
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    AsciiWords() {
+    }
+
+    /**
+     * @param values digit value lookup table, 128 entries, -1 for characters not in the alphabet
+     * @param ascii  bytes to scan
+     * @param from   index of first byte, inclusive
+     * @param to     index of last byte, exclusive
+     * @return index of the first byte that is not in the alphabet, or -1 if all are valid
+     */
+    static int indexOfInvalid(final int[] values, final ByteBuffer ascii, final int from, final int to) {
+        if (!ascii.hasArray())
+            return indexOfInvalidInBuffer(values, ascii, from, to);
+        final byte[] array = ascii.array();
+        final int arrayOffset = ascii.arrayOffset();
+        int i = from + arrayOffset;
+        final int end = to + arrayOffset;
+        for (final int lastWord = end - 8; i <= lastWord; i += 8) {
+            final long word = (long) LONGS.get(array, i);
+            if ((word & HIGH_BITS) != 0 || lookupWord(values, word) < 0)
+                break;
+        }
+        for (; i < end; i++) {
+            final byte b = array[i];
+            if (b < 0 || values[b] < 0)
+                return i - arrayOffset;
+        }
+        return -1;
+    }
+
+    private static int indexOfInvalidInBuffer(final int[] values, final ByteBuffer ascii, final int from,
+                                              final int to) {
+        int i = from;
+        for (final int lastWord = to - 8; i <= lastWord; i += 8) {
+            final long word = ascii.getLong(i);
+            if ((word & HIGH_BITS) != 0 || lookupWord(values, word) < 0)
+                break;
+        }
+        for (; i < to; i++) {
+            final byte b = ascii.get(i);
+            if (b < 0 || values[b] < 0)
+                return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @return bitwise OR of the eight digit values, negative if any byte is not in the alphabet
+     */
+    private static int lookupWord(final int[] values, final long word) {
+        return values[(int) (word >>> 56)] |
+                values[(int) (word >>> 48) & 0x7f] |
+                values[(int) (word >>> 40) & 0x7f] |
+                values[(int) (word >>> 32) & 0x7f] |
+                values[(int) (word >>> 24) & 0x7f] |
+                values[(int) (word >>> 16) & 0x7f] |
+                values[(int) (word >>> 8) & 0x7f] |
+                values[(int) word & 0x7f];
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.BadCharacterException;
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.EncoderDecoder;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public final class Base58AlphabetTests {
+
+    private static final String BITCOIN = "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz";
+    private static final String RIPPLE = "rpshnaf39wBUDNEGHJKLM4PQRST7VWXYZ2bcdeCg65jkm8oFqi1tuvAxyz";
+    private static final String FLICKR = "123456789abcdefghijkmnopqrstuvwxyzABCDEFGHJKLMNPQRSTUVWXYZ";
+
+    @Test
+    public void bitcoin_is_the_default() {
+        final byte[] bytes = randomBytes(1);
+        assertEquals(Base58.base58Encode(bytes), Base58.newInstance(Base58Alphabet.BITCOIN).encode(bytes));
+    }
+
+    @Test
+    public void ripple_zero() {
+        assertEquals("r", Base58.newInstance(Base58Alphabet.RIPPLE).encode(new byte[1]));
+    }
+
+    @Test
+    public void ripple_encode() {
+        assertEncodesAsTranslationOfBitcoin(Base58Alphabet.RIPPLE, RIPPLE);
+    }
+
+    @Test
+    public void ripple_decode() {
+        assertDecodesTranslationOfBitcoin(Base58Alphabet.RIPPLE, RIPPLE);
+    }
+
+    @Test
+    public void flickr_encode() {
+        assertEncodesAsTranslationOfBitcoin(Base58Alphabet.FLICKR, FLICKR);
+    }
+
+    @Test
+    public void flickr_decode() {
+        assertDecodesTranslationOfBitcoin(Base58Alphabet.FLICKR, FLICKR);
+    }
+
+    @Test
+    public void custom_encode() {
+        final String custom = new StringBuilder(BITCOIN).reverse().toString();
+        assertEncodesAsTranslationOfBitcoin(Base58Alphabet.of(custom), custom);
+    }
+
+    @Test
+    public void custom_decode() {
+        final String custom = new StringBuilder(BITCOIN).reverse().toString();
+        assertDecodesTranslationOfBitcoin(Base58Alphabet.of(custom), custom);
+    }
+
+    @Test
+    public void of_returns_shared_built_in_instances() {
+        assertSame(Base58Alphabet.BITCOIN, Base58Alphabet.of(BITCOIN));
+        assertSame(Base58Alphabet.RIPPLE, Base58Alphabet.of(RIPPLE));
+        assertSame(Base58Alphabet.FLICKR, Base58Alphabet.of(FLICKR));
+    }
+
+    @Test
+    public void to_string() {
+        assertEquals(RIPPLE, Base58Alphabet.RIPPLE.toString());
+    }
+
+    @Test
+    public void digit_and_value_of() {
+        assertEquals('r', Base58Alphabet.RIPPLE.digit(0));
+        assertEquals(0, Base58Alphabet.RIPPLE.valueOf('r'));
+        assertEquals(-1, Base58Alphabet.RIPPLE.valueOf('0'));
+        assertEquals(-1, Base58Alphabet.RIPPLE.valueOf('ǿ'));
+    }
+
+    @Test
+    public void bad_character_for_alphabet() {
+        assertThatThrownBy(() -> Base58.newInstance(Base58Alphabet.RIPPLE).decode("l"))
+                .isInstanceOf(BadCharacterException.class)
+                .hasMessage("Bad character in base58 string, 'l'");
+    }
+
+    @Test
+    public void alphabet_too_short() {
+        assertThatThrownBy(() -> Base58Alphabet.of(BITCOIN.substring(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Alphabet must be 58 characters long");
+    }
+
+    @Test
+    public void alphabet_with_repeat() {
+        assertThatThrownBy(() -> Base58Alphabet.of("2" + BITCOIN.substring(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Alphabet contains '2' more than once");
+    }
+
+    @Test
+    public void alphabet_non_ascii() {
+        assertThatThrownBy(() -> Base58Alphabet.of("é" + BITCOIN.substring(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Alphabet must only contain ASCII characters");
+    }
+
+    private static void assertEncodesAsTranslationOfBitcoin(final Base58Alphabet alphabet, final String digits) {
+        final EncoderDecoder encoderDecoder = Base58.newInstance(alphabet);
+        for (int length = 0; length < 40; length++) {
+            final byte[] bytes = randomBytes(length);
+            assertEquals(translate(Base58.base58Encode(bytes), digits), encoderDecoder.encode(bytes));
+        }
+    }
+
+    private static void assertDecodesTranslationOfBitcoin(final Base58Alphabet alphabet, final String digits) {
+        final EncoderDecoder encoderDecoder = Base58.newInstance(alphabet);
+        for (int length = 0; length < 40; length++) {
+            final byte[] bytes = randomBytes(length);
+            assertArrayEquals(bytes, encoderDecoder.decode(translate(Base58.base58Encode(bytes), digits)));
+        }
+    }
+
+    private static String translate(final String bitcoin, final String digits) {
+        final StringBuilder sb = new StringBuilder(bitcoin.length());
+        for (int i = 0; i < bitcoin.length(); i++) {
+            sb.append(digits.charAt(BITCOIN.indexOf(bitcoin.charAt(i))));
+        }
+        return sb.toString();
+    }
+
+    private static byte[] randomBytes(final int length) {
+        final Random random = new Random(length);
+        final byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        if (length > 2)
+            bytes[0] = 0;
+        return bytes;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.BadCharacterException;
+import io.github.novacrypto.base58.Base58;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public final class Base58AsciiDecodeTests {
+
+    private static final String LONG_BASE58 = Base58.base58Encode(new byte[]{0, 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11,
+            12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23, 24, 25, 26, 27, 28, 29, 30, 31});
+
+    @Test
+    public void decodes_slice_of_array() {
+        final byte[] ascii = ("xx" + LONG_BASE58 + "yy").getBytes(StandardCharsets.US_ASCII);
+        assertArrayEquals(Base58.base58Decode(LONG_BASE58), Base58.base58Decode(ascii, 2, LONG_BASE58.length()));
+    }
+
+    @Test
+    public void decodes_between_position_and_limit() {
+        final ByteBuffer buffer = ByteBuffer.wrap(("xx" + LONG_BASE58 + "yy").getBytes(StandardCharsets.US_ASCII));
+        buffer.position(2).limit(2 + LONG_BASE58.length());
+        assertArrayEquals(Base58.base58Decode(LONG_BASE58), Base58.base58Decode(buffer));
+        assertEquals(2, buffer.position());
+    }
+
+    @Test
+    public void decodes_sliced_read_only_and_direct_buffers() {
+        final byte[] expected = Base58.base58Decode(LONG_BASE58);
+        final ByteBuffer wrapped = ByteBuffer.wrap(("xxx" + LONG_BASE58).getBytes(StandardCharsets.US_ASCII));
+        wrapped.position(3);
+        final ByteBuffer sliced = wrapped.slice();
+        assertEquals(3, sliced.arrayOffset());
+        assertArrayEquals(expected, Base58.base58Decode(sliced));
+        assertArrayEquals(expected, Base58.base58Decode(sliced.asReadOnlyBuffer()));
+        final ByteBuffer direct = ByteBuffer.allocateDirect(LONG_BASE58.length());
+        direct.put(LONG_BASE58.getBytes(StandardCharsets.US_ASCII)).flip();
+        assertArrayEquals(expected, Base58.base58Decode(direct));
+    }
+
+    @Test
+    public void bad_character_in_sliced_buffer() {
+        final ByteBuffer wrapped = ByteBuffer.wrap(("0000" + LONG_BASE58 + "0").getBytes(StandardCharsets.US_ASCII));
+        wrapped.position(4).limit(4 + LONG_BASE58.length() + 1);
+        final ByteBuffer sliced = wrapped.slice();
+        assertThatThrownBy(() -> Base58.base58Decode(sliced))
+                .isInstanceOf(BadCharacterException.class)
+                .hasMessage("Bad character in base58 string, '0'");
+        sliced.limit(sliced.limit() - 1);
+        assertArrayEquals(Base58.base58Decode(LONG_BASE58), Base58.base58Decode(sliced));
+    }
+
+    @Test
+    public void decodes_empty() {
+        assertArrayEquals(new byte[0], Base58.base58Decode(new byte[0], 0, 0));
+    }
+
+    @Test
+    public void bad_character_in_every_position() {
+        for (int i = 0; i < LONG_BASE58.length(); i++) {
+            for (final char bad : new char[]{'0', 'l', 'I', 'O', '{', ' ', 'ÿ'}) {
+                final byte[] ascii = LONG_BASE58.getBytes(StandardCharsets.US_ASCII);
+                ascii[i] = (byte) bad;
+                assertThatThrownBy(() -> Base58.base58Decode(ascii, 0, ascii.length))
+                        .isInstanceOf(BadCharacterException.class)
+                        .hasMessage("Bad character in base58 string, '" + bad + "'");
+            }
+        }
+    }
+
+    @Test
+    public void reports_first_bad_character() {
+        final byte[] ascii = "2222222O2l".getBytes(StandardCharsets.US_ASCII);
+        assertThatThrownBy(() -> Base58.base58Decode(ascii, 0, ascii.length))
+                .isInstanceOf(BadCharacterException.class)
+                .hasMessage("Bad character in base58 string, 'O'");
+    }
+
+    @Test
+    public void bytes_outside_slice_are_not_validated() {
+        final byte[] ascii = "0LUv0".getBytes(StandardCharsets.US_ASCII);
+        assertArrayEquals(new byte[]{(byte) 255, (byte) 255}, Base58.base58Decode(ascii, 1, 3));
+    }
+
+    @Test
+    public void out_of_bounds_slice() {
+        assertThatThrownBy(() -> Base58.base58Decode(new byte[2], 1, 2))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
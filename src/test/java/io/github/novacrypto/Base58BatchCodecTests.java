@@ -0,0 +1,279 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.BadCharacterException;
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.Base58BatchCodec;
+import io.github.novacrypto.base58.Base58Limits;
+import io.github.novacrypto.base58.LengthLimitException;
+import org.junit.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public final class Base58BatchCodecTests {
+
+    private static byte[][] randomValues(final int count) {
+        final Random random = new Random(39);
+        final byte[][] values = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            values[i] = new byte[random.nextInt(40)];
+            random.nextBytes(values[i]);
+            if (values[i].length > 0 && random.nextInt(4) == 0)
+                values[i][0] = 0;
+        }
+        return values;
+    }
+
+    private static List<String> encodeEach(final byte[][] values) {
+        final List<String> strings = new ArrayList<>();
+        for (final byte[] value : values) {
+            strings.add(Base58.base58Encode(value));
+        }
+        return strings;
+    }
+
+    private static void assertValues(final byte[][] values, final byte[] arena, final int[] offsets) {
+        for (int i = 0; i < values.length; i++) {
+            assertArrayEquals(values[i], Arrays.copyOfRange(arena, offsets[i], offsets[i + 1]));
+        }
+    }
+
+    @Test
+    public void decode_into_array_arena() {
+        final byte[][] values = randomValues(100);
+        final List<String> base58 = encodeEach(values);
+        final byte[] arena = new byte[Base58BatchCodec.maximumDecodedLength(base58) + 3];
+        final int[] offsets = new int[101];
+        final int end = Base58.newBatchCodec().decode(base58, arena, 3, offsets);
+        assertEquals(3, offsets[0]);
+        assertEquals(end, offsets[100]);
+        assertValues(values, arena, offsets);
+    }
+
+    @Test
+    public void decode_into_buffer_arena() {
+        final byte[][] values = randomValues(100);
+        final List<String> base58 = encodeEach(values);
+        final ByteBuffer arena = ByteBuffer.allocateDirect(Base58BatchCodec.maximumDecodedLength(base58) + 2);
+        arena.position(2);
+        final int[] offsets = new int[101];
+        final int written = Base58.newSecureBatchCodec().decode(base58, arena, offsets);
+        assertEquals(offsets[100] - 2, written);
+        assertEquals(offsets[100], arena.position());
+        final byte[] copy = new byte[arena.capacity()];
+        arena.position(0);
+        arena.get(copy);
+        assertValues(values, copy, offsets);
+    }
+
+    @Test
+    public void encode_into_char_arena() {
+        final byte[][] values = randomValues(100);
+        final List<String> base58 = encodeEach(values);
+        final byte[] data = new byte[Base58BatchCodec.maximumDecodedLength(base58)];
+        final int[] dataOffsets = new int[101];
+        final Base58BatchCodec codec = Base58.newBatchCodec();
+        codec.decode(base58, data, 0, dataOffsets);
+
+        final char[] arena = new char[Base58BatchCodec.maximumEncodedLength(dataOffsets, 100)];
+        final int[] offsets = new int[101];
+        final int end = codec.encode(data, dataOffsets, 100, arena, 0, offsets);
+        assertEquals(end, offsets[100]);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(base58.get(i), new String(arena, offsets[i], offsets[i + 1] - offsets[i]));
+        }
+    }
+
+    @Test
+    public void encode_into_ascii_arenas() {
+        final byte[][] values = randomValues(100);
+        final List<String> base58 = encodeEach(values);
+        final byte[] data = new byte[Base58BatchCodec.maximumDecodedLength(base58)];
+        final int[] dataOffsets = new int[101];
+        final Base58BatchCodec codec = Base58.newBatchCodec();
+        codec.decode(base58, data, 0, dataOffsets);
+        final int maximum = Base58BatchCodec.maximumEncodedLength(dataOffsets, 100);
+
+        final byte[] arena = new byte[maximum];
+        final int[] offsets = new int[101];
+        codec.encodeToAscii(data, dataOffsets, 100, arena, 0, offsets);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(base58.get(i),
+                    new String(arena, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.US_ASCII));
+        }
+
+        final ByteBuffer buffer = ByteBuffer.allocate(maximum);
+        final int[] bufferOffsets = new int[101];
+        final int written = codec.encodeToAscii(data, dataOffsets, 100, buffer, bufferOffsets);
+        assertArrayEquals(offsets, bufferOffsets);
+        assertArrayEquals(Arrays.copyOf(arena, written), Arrays.copyOf(buffer.array(), written));
+    }
+
+    @Test
+    public void empty_batch() {
+        final int[] offsets = {-1};
+        assertEquals(5, Base58.newBatchCodec().decode(Collections.<String>emptyList(), new byte[0], 5, offsets));
+        assertEquals(5, offsets[0]);
+    }
+
+    @Test
+    public void alphabet() {
+        final List<String> base58 = Collections.singletonList(
+                Base58.newInstance(Base58Alphabet.RIPPLE).encode(new byte[]{1, 2, 3}));
+        final byte[] arena = new byte[3];
+        Base58.newBatchCodec(Base58Alphabet.RIPPLE, Base58Limits.NONE).decode(base58, arena, 0, new int[2]);
+        assertArrayEquals(new byte[]{1, 2, 3}, arena);
+    }
+
+    @Test
+    public void array_arena_too_small() {
+        assertThatThrownBy(() -> Base58.newBatchCodec().decode(Arrays.asList("LUv", "LUv"), new byte[3], 0, new int[3]))
+                .isInstanceOf(IndexOutOfBoundsException.class)
+                .hasMessage("Arena too small for value 1");
+    }
+
+    @Test
+    public void buffer_arena_too_small() {
+        assertThatThrownBy(() -> Base58.newBatchCodec()
+                .decode(Arrays.asList("LUv", "LUv"), ByteBuffer.allocate(3), new int[3]))
+                .isInstanceOf(BufferOverflowException.class);
+    }
+
+    @Test
+    public void offsets_too_small() {
+        assertThatThrownBy(() -> Base58.newBatchCodec().decode(Arrays.asList("LUv", "LUv"), new byte[4], 0, new int[2]))
+                .isInstanceOf(IndexOutOfBoundsException.class)
+                .hasMessage("Offsets need 3 entries");
+    }
+
+    @Test
+    public void bad_data_offsets() {
+        assertThatThrownBy(() -> Base58.newBatchCodec()
+                .encode(new byte[2], new int[]{0, 3}, 1, new char[10], 0, new int[2]))
+                .isInstanceOf(IndexOutOfBoundsException.class)
+                .hasMessage("Bad offsets for value 0");
+    }
+
+    @Test
+    public void bad_character() {
+        assertThatThrownBy(() -> Base58.newBatchCodec().decode(Arrays.asList("LUv", "LU0"), new byte[10], 0,
+                new int[3]))
+                .isInstanceOf(BadCharacterException.class);
+    }
+
+    private static void assertSameLengthMatchesEach(final Base58BatchCodec codec, final int valueLength,
+                                                    final int count, final long seed) {
+        final Random random = new Random(seed);
+        final byte[] data = new byte[3 + valueLength * count];
+        random.nextBytes(data);
+        for (int i = 0; i < count; i++) {
+            final int start = 3 + i * valueLength;
+            for (int z = 0, zeros = random.nextInt(3); z < zeros && z < valueLength; z++) {
+                data[start + z] = 0;
+            }
+            if (i % 5 == 4)
+                Arrays.fill(data, start, start + valueLength, (byte) (i % 10 == 4 ? 0 : 0xff));
+        }
+        final byte[] arena = new byte[1 + count * Base58.maximumEncodedLength(valueLength)];
+        final int[] offsets = new int[count + 1];
+        final int end = codec.encodeSameLengthToAscii(data, 3, valueLength, count, arena, 1, offsets);
+        assertEquals(end, offsets[count]);
+        assertEquals(1, offsets[0]);
+        for (int i = 0; i < count; i++) {
+            final byte[] value = Arrays.copyOfRange(data, 3 + i * valueLength, 3 + (i + 1) * valueLength);
+            assertEquals(Base58.base58Encode(value),
+                    new String(arena, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    public void same_length_matches_encoding_each() {
+        final Base58BatchCodec codec = Base58.newBatchCodec();
+        for (final int valueLength : new int[]{0, 1, 2, 25, 32, 64}) {
+            for (final int count : new int[]{0, 1, 3, 4, 7, 8, 9, 16, 17, 100}) {
+                assertSameLengthMatchesEach(codec, valueLength, count, valueLength * 1000L + count);
+            }
+        }
+    }
+
+    @Test
+    public void same_length_reuses_buffers_across_calls() {
+        final Base58BatchCodec codec = Base58.newBatchCodec();
+        for (final int valueLength : new int[]{64, 3, 32, 1, 64}) {
+            assertSameLengthMatchesEach(codec, valueLength, 13, valueLength);
+            assertSameLengthMatchesEach(codec, valueLength, 5, valueLength + 1);
+        }
+    }
+
+    @Test
+    public void same_length_secure_and_other_alphabet() {
+        assertSameLengthMatchesEach(Base58.newSecureBatchCodec(), 32, 20, 48);
+        final byte[] data = {0, 1, 2, 3, 0, 0, 9, 9};
+        final byte[] arena = new byte[20];
+        final int[] offsets = new int[3];
+        final int end = Base58.newBatchCodec(Base58Alphabet.RIPPLE, Base58Limits.NONE)
+                .encodeSameLengthToAscii(data, 0, 4, 2, arena, 0, offsets);
+        assertEquals(offsets[2], end);
+        assertEquals(Base58.newInstance(Base58Alphabet.RIPPLE).encode(new byte[]{0, 0, 9, 9}),
+                new String(arena, offsets[1], end - offsets[1], StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void same_length_arena_too_small() {
+        final byte[] data = new byte[32 * 3];
+        Arrays.fill(data, (byte) 0xff);
+        assertThatThrownBy(() -> Base58.newBatchCodec().encodeSameLengthToAscii(data, 0, 32, 3,
+                new byte[2 * 44 + 10], 0, new int[4]))
+                .isInstanceOf(IndexOutOfBoundsException.class)
+                .hasMessage("Arena too small for value 2");
+    }
+
+    @Test
+    public void same_length_data_too_small() {
+        assertThatThrownBy(() -> Base58.newBatchCodec().encodeSameLengthToAscii(new byte[63], 0, 32, 2,
+                new byte[100], 0, new int[3]))
+                .isInstanceOf(IndexOutOfBoundsException.class)
+                .hasMessage("Data does not hold 2 values of 32 bytes");
+    }
+
+    @Test
+    public void same_length_applies_limits() {
+        assertThatThrownBy(() -> Base58.newBatchCodec(Base58Alphabet.BITCOIN,
+                Base58Limits.NONE.withMaxEncodeInputLength(16))
+                .encodeSameLengthToAscii(new byte[64], 0, 32, 2, new byte[100], 0, new int[3]))
+                .isInstanceOf(LengthLimitException.class);
+    }
+}
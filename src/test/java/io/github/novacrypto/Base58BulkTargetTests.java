@@ -0,0 +1,183 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.AppendableEncodeTarget;
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.BulkDecodeWriter;
+import io.github.novacrypto.base58.BulkEncodeTarget;
+import io.github.novacrypto.base58.DecodeTarget;
+import io.github.novacrypto.base58.DecodeWriter;
+import io.github.novacrypto.base58.OutputStreamDecodeTarget;
+import io.github.novacrypto.base58.OutputStreamEncodeTarget;
+import io.github.novacrypto.base58.TargetIOException;
+import io.github.novacrypto.base58.WriterEncodeTarget;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public final class Base58BulkTargetTests {
+
+    private static byte[] randomBytes(final int length) {
+        final byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        bytes[0] = 0;
+        return bytes;
+    }
+
+    @Test
+    public void encode_to_bulk_target_uses_chunks() {
+        final byte[] bytes = randomBytes(600);
+        final String expected = Base58.base58Encode(bytes);
+        final StringBuilder sb = new StringBuilder();
+        final List<Integer> chunks = new ArrayList<>();
+        Base58.newSecureInstance().encode(bytes, new BulkEncodeTarget() {
+            @Override
+            public void append(final char[] chars, final int offset, final int length) {
+                chunks.add(length);
+                sb.append(chars, offset, length);
+            }
+
+            @Override
+            public void append(final char c) {
+                throw new AssertionError("Expected bulk append only");
+            }
+        });
+        assertEquals(expected, sb.toString());
+        assertEquals((expected.length() + 255) / 256, chunks.size());
+        assertEquals(256, (int) chunks.get(0));
+    }
+
+    @Test
+    public void decode_to_bulk_writer_uses_chunks() {
+        final byte[] bytes = randomBytes(600);
+        final String base58 = Base58.base58Encode(bytes);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final List<Integer> chunks = new ArrayList<>();
+        Base58.newSecureInstance().decode(base58, new DecodeTarget() {
+            @Override
+            public DecodeWriter getWriterForLength(final int len) {
+                return new BulkDecodeWriter() {
+                    @Override
+                    public void write(final byte[] source, final int offset, final int length) {
+                        chunks.add(length);
+                        out.write(source, offset, length);
+                    }
+
+                    @Override
+                    public void append(final byte b) {
+                        throw new AssertionError("Expected bulk write only");
+                    }
+                };
+            }
+        });
+        assertArrayEquals(bytes, out.toByteArray());
+        assertEquals(3, chunks.size());
+    }
+
+    @Test
+    public void chunks_are_cleared_after_use() {
+        final List<char[]> seen = new ArrayList<>();
+        Base58.newSecureInstance().encode(randomBytes(10), new BulkEncodeTarget() {
+            @Override
+            public void append(final char[] chars, final int offset, final int length) {
+                seen.add(chars);
+            }
+
+            @Override
+            public void append(final char c) {
+            }
+        });
+        assertEquals(1, seen.size());
+        for (final char c : seen.get(0)) {
+            assertEquals('\0', c);
+        }
+    }
+
+    @Test
+    public void appendable_target() {
+        final byte[] bytes = randomBytes(300);
+        final StringBuilder sb = new StringBuilder("x");
+        Base58.newSecureInstance().encode(bytes, new AppendableEncodeTarget(sb));
+        assertEquals("x" + Base58.base58Encode(bytes), sb.toString());
+    }
+
+    @Test
+    public void writer_target() {
+        final byte[] bytes = randomBytes(300);
+        final StringWriter writer = new StringWriter();
+        Base58.newSecureInstance().encode(bytes, new WriterEncodeTarget(writer));
+        assertEquals(Base58.base58Encode(bytes), writer.toString());
+    }
+
+    @Test
+    public void output_stream_encode_target() {
+        final byte[] bytes = randomBytes(300);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Base58.newSecureInstance().encode(bytes, new OutputStreamEncodeTarget(out));
+        assertEquals(Base58.base58Encode(bytes), new String(out.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void output_stream_decode_target() {
+        final byte[] bytes = randomBytes(300);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Base58.newSecureInstance().decode(Base58.base58Encode(bytes), new OutputStreamDecodeTarget(out));
+        assertArrayEquals(bytes, out.toByteArray());
+    }
+
+    @Test
+    public void io_exceptions_are_wrapped() {
+        final OutputStream failing = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("closed");
+            }
+        };
+        assertThatThrownBy(() -> Base58.newSecureInstance().encode(new byte[]{1, 2}, new OutputStreamEncodeTarget(failing)))
+                .isInstanceOf(TargetIOException.class)
+                .hasCauseInstanceOf(IOException.class);
+        assertThatThrownBy(() -> Base58.newSecureInstance().decode("LUv", new OutputStreamDecodeTarget(failing)))
+                .isInstanceOf(TargetIOException.class)
+                .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void caching_decoder_to_bulk_target() {
+        final byte[] bytes = randomBytes(50);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Base58.newCachingDecoder(10, 1000).decode(Base58.base58Encode(bytes), new OutputStreamDecodeTarget(out));
+        assertArrayEquals(bytes, out.toByteArray());
+    }
+}
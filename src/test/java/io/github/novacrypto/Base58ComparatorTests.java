@@ -0,0 +1,125 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.Base58Comparator;
+import io.github.novacrypto.base58.BadCharacterException;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class Base58ComparatorTests {
+
+    private final Base58Comparator comparator = Base58.comparator();
+
+    private static byte[] randomBytes(final Random random) {
+        final byte[] bytes = new byte[random.nextInt(12)];
+        random.nextBytes(bytes);
+        for (int i = 0, zeros = random.nextInt(3); i < zeros && i < bytes.length; i++) {
+            bytes[i] = 0;
+        }
+        return bytes;
+    }
+
+    private static int compareDecoded(final byte[] a, final byte[] b) {
+        final int byValue = new BigInteger(1, a).compareTo(new BigInteger(1, b));
+        return byValue != 0 ? byValue : Integer.compare(a.length, b.length);
+    }
+
+    @Test
+    public void orders_by_decoded_value_then_length() {
+        final Random random = new Random(43);
+        for (int i = 0; i < 20000; i++) {
+            final byte[] a = randomBytes(random);
+            final byte[] b = randomBytes(random);
+            assertEquals(Integer.signum(compareDecoded(a, b)),
+                    Integer.signum(comparator.compare(Base58.base58Encode(a), Base58.base58Encode(b))));
+        }
+    }
+
+    @Test
+    public void shorter_string_can_be_larger() {
+        assertTrue(comparator.compare("z", "12") > 0);
+        assertTrue("z".compareTo("12") > 0);
+        assertTrue(comparator.compare("21", "z") > 0);
+        assertTrue("21".compareTo("z") < 0);
+    }
+
+    @Test
+    public void equal_value_orders_by_leading_zeros() {
+        assertTrue(comparator.compare("2", "12") < 0);
+        assertTrue(comparator.compare("112", "12") > 0);
+        assertTrue(comparator.compare("", "1") < 0);
+        assertEquals(0, comparator.compare("11", new StringBuilder("11")));
+    }
+
+    @Test
+    public void sorts_like_decoded_bytes() {
+        final Random random = new Random(44);
+        final List<String> strings = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            strings.add(Base58.base58Encode(randomBytes(random)));
+        }
+        Collections.sort(strings, comparator);
+        for (int i = 1; i < strings.size(); i++) {
+            assertTrue(compareDecoded(Base58.base58Decode(strings.get(i - 1)),
+                    Base58.base58Decode(strings.get(i))) <= 0);
+        }
+    }
+
+    @Test
+    public void uses_the_alphabet_values() {
+        final Base58Comparator ripple = Base58.comparator(Base58Alphabet.RIPPLE);
+        final String small = Base58.newInstance(Base58Alphabet.RIPPLE).encode(new byte[]{4});
+        final String large = Base58.newInstance(Base58Alphabet.RIPPLE).encode(new byte[]{5});
+        assertTrue(ripple.compare(small, large) < 0);
+        assertTrue(small.compareTo(large) > 0);
+    }
+
+    @Test
+    public void equals_and_hash_code_across_char_sequences() {
+        final String s = "1A1zP1eP5QGefi2DMPTfTL5SLmv7DivfNa";
+        assertTrue(comparator.equals(s, new StringBuilder(s)));
+        assertEquals(s.hashCode(), comparator.hashCode(new StringBuilder(s)));
+        assertEquals(s.hashCode(), comparator.hashCode(s));
+        assertFalse(comparator.equals(s, s.substring(1)));
+        assertFalse(comparator.equals("12", new StringBuilder("13")));
+    }
+
+    @Test
+    public void rejects_bad_characters() {
+        assertThatThrownBy(() -> comparator.compare("2O", "21"))
+                .isInstanceOf(BadCharacterException.class);
+    }
+}
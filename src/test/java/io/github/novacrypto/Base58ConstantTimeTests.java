@@ -0,0 +1,147 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.Base58Limits;
+import io.github.novacrypto.base58.BadCharacterException;
+import io.github.novacrypto.base58.DecodeStatus;
+import io.github.novacrypto.base58.ExtendedSecureEncoderDecoder;
+import io.github.novacrypto.base58.LengthLimitException;
+import io.github.novacrypto.base58.SecureEncoderDecoder;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class Base58ConstantTimeTests {
+
+    private final ExtendedSecureEncoderDecoder constantTime = Base58.newConstantTimeInstance();
+
+    private String encode(final SecureEncoderDecoder encoder, final byte[] bytes) {
+        final InsecureStringBufferEncodeTarget target = new InsecureStringBufferEncodeTarget();
+        encoder.encode(bytes, target);
+        return target.toString();
+    }
+
+    private byte[] decode(final CharSequence base58) {
+        final InsecureByteArrayTarget target = new InsecureByteArrayTarget();
+        constantTime.decode(base58, target);
+        return target.asByteArray();
+    }
+
+    @Test
+    public void matches_variable_time_engine() {
+        final Random random = new Random(46);
+        for (int i = 0; i < 2000; i++) {
+            final byte[] bytes = new byte[random.nextInt(70)];
+            random.nextBytes(bytes);
+            for (int z = 0, zeros = random.nextInt(4); z < zeros && z < bytes.length; z++) {
+                bytes[z] = 0;
+            }
+            final String expected = Base58.base58Encode(bytes);
+            assertEquals(expected, encode(constantTime, bytes));
+            assertArrayEquals(bytes, decode(expected));
+        }
+    }
+
+    @Test
+    public void zeros() {
+        assertEquals("", encode(constantTime, new byte[0]));
+        assertEquals("111", encode(constantTime, new byte[3]));
+        assertArrayEquals(new byte[0], decode(""));
+        assertArrayEquals(new byte[3], decode("111"));
+    }
+
+    @Test
+    public void capacity_callbacks() {
+        final StringBuilder sb = new StringBuilder();
+        constantTime.encode(new byte[]{0, 1, 2}, sb::ensureCapacity, sb::append);
+        assertEquals(Base58.base58Encode(new byte[]{0, 1, 2}), sb.toString());
+    }
+
+    @Test
+    public void other_alphabet() {
+        final ExtendedSecureEncoderDecoder ripple = Base58.newConstantTimeInstance(Base58Alphabet.RIPPLE, Base58Limits.NONE);
+        final byte[] bytes = {0, 9, 8, 7};
+        final String expected = Base58.newInstance(Base58Alphabet.RIPPLE).encode(bytes);
+        assertEquals(expected, encode(ripple, bytes));
+        final InsecureByteArrayTarget target = new InsecureByteArrayTarget();
+        ripple.decode(expected, target);
+        assertArrayEquals(bytes, target.asByteArray());
+    }
+
+    @Test
+    public void ascii_input() {
+        final byte[] ascii = "xx1A1zP1eP5QGefi2DMPTfTL5SLmv7DivfNaxx".getBytes(StandardCharsets.US_ASCII);
+        final InsecureByteArrayTarget target = new InsecureByteArrayTarget();
+        constantTime.decode(ascii, 2, ascii.length - 4, target);
+        assertArrayEquals(Base58.base58Decode("1A1zP1eP5QGefi2DMPTfTL5SLmv7DivfNa"), target.asByteArray());
+        final ByteBuffer buffer = ByteBuffer.wrap(ascii, 2, ascii.length - 4);
+        final InsecureByteArrayTarget bufferTarget = new InsecureByteArrayTarget();
+        constantTime.decode(buffer, bufferTarget);
+        assertArrayEquals(target.asByteArray(), bufferTarget.asByteArray());
+        assertEquals(2, buffer.position());
+    }
+
+    @Test
+    public void bad_character_reported_after_decoding() {
+        assertThatThrownBy(() -> decode("11O0"))
+                .isInstanceOf(BadCharacterException.class)
+                .hasMessageContaining("O");
+    }
+
+    @Test
+    public void try_decode_reports_first_bad_character() {
+        final InsecureByteArrayTarget target = new InsecureByteArrayTarget();
+        final int status = constantTime.tryDecode("22l2O", target);
+        assertTrue(DecodeStatus.isBadCharacter(status));
+        assertEquals(2, DecodeStatus.badCharacterIndex(status));
+        assertEquals(null, target.asByteArray());
+    }
+
+    @Test
+    public void try_decode_success() {
+        final InsecureByteArrayTarget target = new InsecureByteArrayTarget();
+        assertEquals(2, constantTime.tryDecode("1z", target));
+        assertArrayEquals(new byte[]{0, 57}, target.asByteArray());
+    }
+
+    @Test
+    public void limits() {
+        final ExtendedSecureEncoderDecoder limited = Base58.newConstantTimeInstance(Base58Alphabet.BITCOIN,
+                Base58Limits.NONE.withMaxInputLength(4));
+        assertThatThrownBy(() -> limited.encode(new byte[5], new InsecureStringBufferEncodeTarget()))
+                .isInstanceOf(LengthLimitException.class);
+        assertThatThrownBy(() -> limited.decode("11111", new InsecureByteArrayTarget()))
+                .isInstanceOf(LengthLimitException.class);
+        assertTrue(DecodeStatus.isLengthRejected(limited.tryDecode("11111", new InsecureByteArrayTarget())));
+    }
+}
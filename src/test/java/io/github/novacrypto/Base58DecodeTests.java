@@ -24,8 +24,11 @@ package io.github.novacrypto;
 
 import io.github.novacrypto.base58.BadCharacterException;
 import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Random;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -129,6 +132,8 @@ public final class Base58DecodeTests {
         assertArrayEquals(expected, base58InstanceDecode(input));
         assertArrayEquals(expected, base58StaticDecode(input));
         assertArrayEquals(expected, base58SecureInstanceDecode(input));
+        assertArrayEquals(expected, base58StaticAsciiDecode(input));
+        assertArrayEquals(expected, base58SecureInstanceAsciiDecode(input));
     }
 
     static byte[] base58InstanceDecode(final CharSequence base58) {
@@ -144,4 +149,17 @@ public final class Base58DecodeTests {
     static byte[] base58StaticDecode(final CharSequence base58) {
         return Base58.base58Decode(base58);
     }
+
+    static byte[] base58StaticAsciiDecode(final String base58) {
+        final byte[] ascii = base58.getBytes(StandardCharsets.US_ASCII);
+        return Base58.base58Decode(ascii, 0, ascii.length);
+    }
+
+    static byte[] base58SecureInstanceAsciiDecode(final String base58) {
+        final InsecureByteArrayTarget target = new InsecureByteArrayTarget();
+        final ByteBuffer direct = ByteBuffer.allocateDirect(base58.length());
+        direct.put(base58.getBytes(StandardCharsets.US_ASCII)).flip();
+        Base58.newSecureInstance(Base58Alphabet.BITCOIN).decode(direct, target);
+        return target.asByteArray();
+    }
 }
\ No newline at end of file
@@ -23,9 +23,12 @@
 package io.github.novacrypto;
 
 import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
 import io.github.novacrypto.base58.EncodeTarget;
 import org.junit.Test;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.Assert.assertEquals;
 
 public final class Base58EncodeTests {
@@ -77,6 +80,17 @@ public final class Base58EncodeTests {
         assertEquals(expected, base58SecureInstanceEncode(bytes));
         assertEquals(expected, base58SecureInstanceEncodeSetCapacity(bytes));
         assertEquals(expected, base58SecureInstanceEncodeFluentCapacity(bytes));
+        assertEquals(expected, base58InstanceEncodeToAscii(bytes));
+        assertEquals(expected, base58InstanceEncodeToChars(bytes));
+        assertEquals(expected.length(), Base58.newInstance(Base58Alphabet.BITCOIN).encodedLength(bytes));
+    }
+
+    static String base58InstanceEncodeToAscii(final byte[] bytes) {
+        return new String(Base58.newInstance(Base58Alphabet.BITCOIN).encodeToAscii(bytes), StandardCharsets.US_ASCII);
+    }
+
+    static String base58InstanceEncodeToChars(final byte[] bytes) {
+        return new String(Base58.newInstance(Base58Alphabet.BITCOIN).encodeToChars(bytes));
     }
 
     static String base58InstanceEncode(final byte[] bytes) {
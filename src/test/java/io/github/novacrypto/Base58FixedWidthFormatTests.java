@@ -0,0 +1,155 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.Base58FixedWidthFormat;
+import io.github.novacrypto.base58.BadCharacterException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class Base58FixedWidthFormatTests {
+
+    private final Base58FixedWidthFormat format = Base58.newFixedWidthFormat();
+
+    private static int compareUnsigned(final byte[] a, final byte[] b) {
+        for (int i = 0; i < a.length; i++) {
+            final int compare = (a[i] & 0xff) - (b[i] & 0xff);
+            if (compare != 0)
+                return compare;
+        }
+        return 0;
+    }
+
+    @Test
+    public void every_input_of_a_length_has_the_same_width() {
+        for (int n = 0; n < 40; n++) {
+            final int width = Base58.maximumEncodedLength(n);
+            assertEquals(width, format.encodedLength(n));
+            assertEquals(width, format.encode(new byte[n]).length());
+            final byte[] ff = new byte[n];
+            Arrays.fill(ff, (byte) 0xff);
+            assertEquals(Base58.base58Encode(ff), format.encode(ff));
+            assertEquals(n, format.decodedLength(width));
+        }
+    }
+
+    @Test
+    public void zero_pads_with_the_zero_digit() {
+        assertEquals("11112", format.encode(new byte[]{0, 0, 1}));
+        assertEquals("11111", format.encode(new byte[3]));
+        assertEquals("", format.encode(new byte[0]));
+    }
+
+    @Test
+    public void round_trip() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 2000; i++) {
+            final byte[] bytes = new byte[random.nextInt(48)];
+            random.nextBytes(bytes);
+            if (bytes.length > 0 && random.nextBoolean())
+                bytes[0] = 0;
+            final String encoded = format.encode(bytes);
+            assertArrayEquals(bytes, format.decode(encoded));
+        }
+    }
+
+    @Test
+    public void string_order_is_byte_order() {
+        assertTrue(format.isOrderPreserving());
+        final Random random = new Random(43);
+        for (int i = 0; i < 5000; i++) {
+            final int length = 1 + random.nextInt(20);
+            final byte[] a = new byte[length];
+            final byte[] b = new byte[length];
+            random.nextBytes(a);
+            random.nextBytes(b);
+            if (random.nextBoolean())
+                System.arraycopy(a, 0, b, 0, random.nextInt(length));
+            assertEquals(Integer.signum(compareUnsigned(a, b)),
+                    Integer.signum(format.encode(a).compareTo(format.encode(b))));
+        }
+    }
+
+    @Test
+    public void only_ascending_alphabets_preserve_order() {
+        assertTrue(Base58Alphabet.BITCOIN.isAscending());
+        assertFalse(Base58Alphabet.RIPPLE.isAscending());
+        assertFalse(Base58Alphabet.FLICKR.isAscending());
+        assertFalse(Base58.newFixedWidthFormat(Base58Alphabet.RIPPLE).isOrderPreserving());
+    }
+
+    @Test
+    public void encode_into_slices() {
+        final byte[] bytes = {9, 0, 0, 1, 9};
+        final char[] chars = new char[7];
+        assertEquals(5, format.encode(bytes, 1, 3, chars, 1));
+        assertEquals("11112", new String(chars, 1, 5));
+        final byte[] ascii = new byte[5];
+        assertEquals(5, format.encodeToAscii(bytes, 1, 3, ascii, 0));
+        assertEquals("11112", new String(ascii));
+        assertThatThrownBy(() -> format.encode(bytes, 1, 3, chars, 3))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void decode_into_slice() {
+        final byte[] output = new byte[5];
+        format.decode("11112", output, 1, 3);
+        assertArrayEquals(new byte[]{0, 0, 0, 1, 0}, output);
+        assertThatThrownBy(() -> format.decode("1112", output, 1, 3))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Base58 string is not 5 characters wide");
+    }
+
+    @Test
+    public void rejects_impossible_widths() {
+        assertEquals(3, Base58.maximumEncodedLength(2));
+        assertEquals(5, Base58.maximumEncodedLength(3));
+        assertThatThrownBy(() -> format.decode("1111"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("No input encodes to 4 base58 characters");
+    }
+
+    @Test
+    public void rejects_values_too_large_for_the_width() {
+        assertThatThrownBy(() -> format.decode("zz"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Base58 group does not fit in 1 bytes");
+    }
+
+    @Test
+    public void rejects_bad_characters() {
+        assertThatThrownBy(() -> format.decode("1O"))
+                .isInstanceOf(BadCharacterException.class);
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.BadCharacterException;
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.Base58FramedFormat;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public final class Base58FramedFormatTests {
+
+    private static final int[] BLOCK_SIZES = {1, 2, 7, 32, 64};
+
+    private static byte[] randomBytes(final Random random, final int length) {
+        final byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String repeat(final char c, final int count) {
+        final char[] chars = new char[count];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    @Test
+    public void group_width() {
+        assertEquals(44, Base58.newFramedFormat(32).groupWidth());
+        assertEquals(88, Base58.newFramedFormat(64).groupWidth());
+        assertEquals(2, Base58.newFramedFormat(1).groupWidth());
+    }
+
+    @Test
+    public void full_block_of_ff_matches_plain_base58() {
+        final byte[] bytes = new byte[32];
+        Arrays.fill(bytes, (byte) 0xff);
+        assertEquals(Base58.base58Encode(bytes), Base58.newFramedFormat(32).encode(bytes));
+    }
+
+    @Test
+    public void groups_are_padded_with_zero_digits() {
+        final Base58FramedFormat format = Base58.newFramedFormat(2);
+        assertEquals("111" + "LUv" + "15R", format.encode(new byte[]{0, 0, (byte) 255, (byte) 255, 1, 0}));
+        assertEquals("111" + "12", format.encode(new byte[]{0, 0, 1}));
+    }
+
+    @Test
+    public void empty() {
+        assertEquals("", Base58.newFramedFormat(32).encode(new byte[0]));
+        assertArrayEquals(new byte[0], Base58.newFramedFormat(32).decode(""));
+    }
+
+    @Test
+    public void lengths() {
+        final Base58FramedFormat format = Base58.newFramedFormat(32);
+        for (int n = 0; n < 200; n++) {
+            final long encodedLength = format.encodedLength(n);
+            assertEquals(format.encode(new byte[n]).length(), encodedLength);
+            assertEquals(n, format.decodedLength(encodedLength));
+        }
+        assertEquals(1_000_000_000L / 32 * 44, format.encodedLength(1_000_000_000L));
+    }
+
+    @Test
+    public void round_trip() {
+        final Random random = new Random(36);
+        for (final int blockSize : BLOCK_SIZES) {
+            final Base58FramedFormat format = Base58.newFramedFormat(blockSize);
+            for (int n = 0; n < 3 * blockSize + 2; n++) {
+                final byte[] bytes = randomBytes(random, n);
+                if (n > 0 && random.nextBoolean())
+                    bytes[0] = 0;
+                assertArrayEquals(bytes, format.decode(format.encode(bytes)));
+            }
+        }
+    }
+
+    @Test
+    public void secure_and_alphabet() {
+        final byte[] bytes = randomBytes(new Random(36), 100);
+        final Base58FramedFormat format = Base58.newSecureFramedFormat(32, Base58Alphabet.FLICKR);
+        final String encoded = format.encode(bytes);
+        assertEquals(Base58.newFramedFormat(32, Base58Alphabet.FLICKR).encode(bytes), encoded);
+        assertArrayEquals(bytes, format.decode(encoded));
+    }
+
+    @Test
+    public void parallel_matches_sequential() throws InterruptedException {
+        final byte[] bytes = randomBytes(new Random(36), 32 * 3000 + 5);
+        final Base58FramedFormat format = Base58.newFramedFormat(32);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final String encoded = format.encode(bytes, executor);
+            assertEquals(format.encode(bytes), encoded);
+            assertArrayEquals(bytes, format.decode(encoded, executor));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void parallel_rethrows_bad_character() {
+        final Base58FramedFormat format = Base58.newFramedFormat(32);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertThatThrownBy(() -> format.decode(repeat('0', 44), executor))
+                    .isInstanceOf(BadCharacterException.class);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void streams_round_trip() throws IOException {
+        final Random random = new Random(36);
+        for (final int blockSize : BLOCK_SIZES) {
+            final Base58FramedFormat format = Base58.newFramedFormat(blockSize);
+            final byte[] bytes = randomBytes(random, 5 * blockSize + 3);
+            final String expected = format.encode(bytes);
+
+            final StringWriter encoded = new StringWriter();
+            try (OutputStream out = format.encodingOutputStream(encoded)) {
+                int offset = 0;
+                while (offset < bytes.length) {
+                    final int count = Math.min(bytes.length - offset, random.nextInt(blockSize + 2));
+                    out.write(bytes, offset, count);
+                    offset += count;
+                }
+            }
+            assertEquals(expected, encoded.toString());
+
+            assertEquals(expected, readAll(format.encodingReader(new ByteArrayInputStream(bytes))));
+
+            assertArrayEquals(bytes, readAll(format.decodingInputStream(new StringReader(expected))));
+
+            final ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+            try (Writer writer = format.decodingWriter(decoded)) {
+                for (final char c : expected.toCharArray()) {
+                    writer.write(c);
+                }
+            }
+            assertArrayEquals(bytes, decoded.toByteArray());
+        }
+    }
+
+    private static String readAll(final Reader reader) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+        final char[] buffer = new char[5];
+        int read;
+        while ((read = reader.read(buffer)) >= 0) {
+            sb.append(buffer, 0, read);
+        }
+        reader.close();
+        return sb.toString();
+    }
+
+    private static byte[] readAll(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) >= 0) {
+            out.write(b);
+        }
+        in.close();
+        return out.toByteArray();
+    }
+
+    @Test
+    public void write_after_close() throws IOException {
+        final OutputStream out = Base58.newFramedFormat(32).encodingOutputStream(new StringWriter());
+        out.close();
+        assertThatThrownBy(() -> out.write(1))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void impossible_final_group_width() {
+        final Base58FramedFormat format = Base58.newFramedFormat(32);
+        assertThatThrownBy(() -> format.decode(repeat('1', 44 + 4)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Final base58 group of 4 characters is not possible");
+        assertThatThrownBy(() -> readAll(format.decodingInputStream(new StringReader(repeat('1', 4)))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void group_too_large_for_block() {
+        assertThatThrownBy(() -> Base58.newFramedFormat(1).decode("zz"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Base58 group does not fit in 1 bytes");
+    }
+
+    @Test
+    public void bad_character() {
+        assertThatThrownBy(() -> Base58.newFramedFormat(1).decode("1l"))
+                .isInstanceOf(BadCharacterException.class);
+    }
+
+    @Test
+    public void block_size_bounds() {
+        assertThatThrownBy(() -> Base58.newFramedFormat(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Base58.newFramedFormat(Base58FramedFormat.MAX_BLOCK_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.BadCharacterException;
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.Base58IncrementalDecoder;
+import io.github.novacrypto.base58.Base58Limits;
+import io.github.novacrypto.base58.LengthLimitException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public final class Base58IncrementalDecoderTests {
+
+    @Test
+    public void empty() {
+        assertArrayEquals(new byte[0], Base58.newIncrementalDecoder().finish());
+    }
+
+    @Test
+    public void pieces() {
+        final Base58IncrementalDecoder decoder = Base58.newIncrementalDecoder();
+        decoder.update("L");
+        decoder.update("");
+        decoder.update(new char[]{'x', 'U', 'v', 'x'}, 1, 2);
+        assertEquals(3, decoder.inputLength());
+        assertArrayEquals(new byte[]{(byte) 255, (byte) 255}, decoder.finish());
+        assertEquals(0, decoder.inputLength());
+    }
+
+    @Test
+    public void leading_zeros_across_updates() {
+        final Base58IncrementalDecoder decoder = Base58.newSecureIncrementalDecoder();
+        decoder.update("1");
+        decoder.update("15");
+        decoder.update("R");
+        assertArrayEquals(new byte[]{0, 0, 1, 0}, decoder.finish());
+    }
+
+    @Test
+    public void char_buffer_is_consumed() {
+        final Base58IncrementalDecoder decoder = Base58.newIncrementalDecoder();
+        final CharBuffer buffer = CharBuffer.wrap("xLUv");
+        buffer.position(1);
+        decoder.update(buffer);
+        assertEquals(buffer.limit(), buffer.position());
+        assertArrayEquals(new byte[]{(byte) 255, (byte) 255}, decoder.finish());
+    }
+
+    @Test
+    public void reader() throws IOException {
+        final byte[] bytes = new byte[1000];
+        new Random(35).nextBytes(bytes);
+        final String base58 = Base58.base58Encode(bytes);
+        final Base58IncrementalDecoder decoder = Base58.newSecureIncrementalDecoder();
+        assertEquals(base58.length(), decoder.update(new StringReader(base58)));
+        assertArrayEquals(bytes, decoder.finish());
+    }
+
+    @Test
+    public void matches_whole_decode_for_random_splits() {
+        final Random random = new Random(35);
+        final Base58IncrementalDecoder insecure = Base58.newIncrementalDecoder();
+        final Base58IncrementalDecoder secure = Base58.newSecureIncrementalDecoder();
+        for (int i = 0; i < 200; i++) {
+            final byte[] bytes = new byte[random.nextInt(300)];
+            random.nextBytes(bytes);
+            if (bytes.length > 2 && random.nextBoolean()) {
+                Arrays.fill(bytes, 0, random.nextInt(bytes.length), (byte) 0);
+            }
+            final String base58 = Base58.base58Encode(bytes);
+            assertArrayEquals(bytes, decodeInPieces(insecure, base58, random));
+            assertArrayEquals(bytes, decodeInPieces(secure, base58, random));
+        }
+    }
+
+    private static byte[] decodeInPieces(final Base58IncrementalDecoder decoder, final String base58,
+                                         final Random random) {
+        int offset = 0;
+        while (offset < base58.length()) {
+            final int end = Math.min(base58.length(), offset + random.nextInt(70));
+            decoder.update(base58.subSequence(offset, end));
+            offset = end;
+        }
+        return decoder.finish();
+    }
+
+    @Test
+    public void bad_character_is_rejected_without_changing_state() {
+        final Base58IncrementalDecoder decoder = Base58.newIncrementalDecoder();
+        decoder.update("L");
+        assertThatThrownBy(() -> decoder.update("U0"))
+                .isInstanceOf(BadCharacterException.class)
+                .hasMessage("Bad character in base58 string, '0'");
+        assertEquals(1, decoder.inputLength());
+        decoder.update("Uv");
+        assertArrayEquals(new byte[]{(byte) 255, (byte) 255}, decoder.finish());
+    }
+
+    @Test
+    public void bad_high_character() {
+        assertThatThrownBy(() -> Base58.newIncrementalDecoder().update("ǿ"))
+                .isInstanceOf(BadCharacterException.class);
+    }
+
+    @Test
+    public void input_limit_applies_to_total_input() {
+        final Base58IncrementalDecoder decoder = Base58.newIncrementalDecoder(Base58Alphabet.BITCOIN,
+                Base58Limits.NONE.withMaxDecodeInputLength(3));
+        decoder.update("LU");
+        assertThatThrownBy(() -> decoder.update("vv"))
+                .isInstanceOf(LengthLimitException.class);
+        decoder.update("v");
+        assertArrayEquals(new byte[]{(byte) 255, (byte) 255}, decoder.finish());
+    }
+
+    @Test
+    public void expected_length_is_checked_on_finish() {
+        final Base58IncrementalDecoder decoder = Base58.newIncrementalDecoder(Base58Alphabet.BITCOIN,
+                Base58Limits.NONE.withExpectedDecodedLength(4));
+        decoder.update("LUv");
+        assertThatThrownBy(decoder::finish)
+                .isInstanceOf(LengthLimitException.class);
+        assertEquals(0, decoder.inputLength());
+    }
+
+    @Test
+    public void alphabet() {
+        final byte[] bytes = {0, 1, 2, 3};
+        final String ripple = Base58.newInstance(Base58Alphabet.RIPPLE).encode(bytes);
+        final Base58IncrementalDecoder decoder = Base58.newIncrementalDecoder(Base58Alphabet.RIPPLE,
+                Base58Limits.NONE);
+        decoder.update(ripple);
+        assertArrayEquals(bytes, decoder.finish());
+    }
+
+    @Test
+    public void bad_region() {
+        assertThatThrownBy(() -> Base58.newIncrementalDecoder().update(new char[2], 1, 2))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
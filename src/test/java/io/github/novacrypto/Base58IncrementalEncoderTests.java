@@ -0,0 +1,146 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.Base58IncrementalEncoder;
+import io.github.novacrypto.base58.Base58Limits;
+import io.github.novacrypto.base58.LengthLimitException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+public final class Base58IncrementalEncoderTests {
+
+    @Test
+    public void empty() {
+        assertEquals("", Base58.newIncrementalEncoder().finish());
+    }
+
+    @Test
+    public void single_update() {
+        final Base58IncrementalEncoder encoder = Base58.newIncrementalEncoder();
+        encoder.update(new byte[]{(byte) 255, (byte) 255});
+        assertEquals("LUv", encoder.finish());
+    }
+
+    @Test
+    public void leading_zeros_across_updates() {
+        final Base58IncrementalEncoder encoder = Base58.newIncrementalEncoder();
+        encoder.update(new byte[]{0});
+        encoder.update(new byte[]{});
+        encoder.update(new byte[]{0, 1});
+        encoder.update(new byte[]{0});
+        assertEquals("115R", encoder.finish());
+    }
+
+    @Test
+    public void only_zeros() {
+        final Base58IncrementalEncoder encoder = Base58.newSecureIncrementalEncoder();
+        encoder.update(new byte[3]);
+        assertEquals("111", encoder.finish());
+    }
+
+    @Test
+    public void matches_whole_encode_for_random_splits() {
+        final Random random = new Random(34);
+        final Base58IncrementalEncoder insecure = Base58.newIncrementalEncoder();
+        final Base58IncrementalEncoder secure = Base58.newSecureIncrementalEncoder();
+        for (int i = 0; i < 200; i++) {
+            final byte[] bytes = new byte[random.nextInt(400)];
+            random.nextBytes(bytes);
+            if (bytes.length > 2 && random.nextBoolean()) {
+                Arrays.fill(bytes, 0, random.nextInt(bytes.length), (byte) 0);
+            }
+            final String expected = Base58.base58Encode(bytes);
+            assertEquals(expected, encodeInPieces(insecure, bytes, random));
+            assertEquals(expected, encodeInPieces(secure, bytes, random));
+        }
+    }
+
+    private static String encodeInPieces(final Base58IncrementalEncoder encoder, final byte[] bytes,
+                                         final Random random) {
+        int offset = 0;
+        while (offset < bytes.length) {
+            final int count = Math.min(bytes.length - offset, random.nextInt(70));
+            encoder.update(bytes, offset, count);
+            offset += count;
+        }
+        assertEquals(bytes.length, encoder.inputLength());
+        return encoder.finish();
+    }
+
+    @Test
+    public void finish_to_target() {
+        final Base58IncrementalEncoder encoder = Base58.newIncrementalEncoder();
+        encoder.update(new byte[]{(byte) 255, (byte) 255});
+        final StringBuilder sb = new StringBuilder();
+        encoder.finish(sb::append);
+        assertEquals("LUv", sb.toString());
+        assertEquals(0, encoder.inputLength());
+    }
+
+    @Test
+    public void reset_discards_input() {
+        final Base58IncrementalEncoder encoder = Base58.newIncrementalEncoder();
+        encoder.update(new byte[]{1, 2, 3});
+        encoder.reset();
+        encoder.update(new byte[]{(byte) 255, (byte) 255});
+        assertEquals("LUv", encoder.finish());
+    }
+
+    @Test
+    public void alphabet() {
+        final Base58IncrementalEncoder encoder =
+                Base58.newIncrementalEncoder(Base58Alphabet.RIPPLE, Base58Limits.NONE);
+        encoder.update(new byte[]{0, (byte) 255});
+        encoder.update(new byte[]{(byte) 255});
+        assertEquals(Base58.newInstance(Base58Alphabet.RIPPLE).encode(new byte[]{0, (byte) 255, (byte) 255}),
+                encoder.finish());
+    }
+
+    @Test
+    public void limit_applies_to_total_input() {
+        final Base58IncrementalEncoder encoder =
+                Base58.newIncrementalEncoder(Base58Alphabet.BITCOIN, Base58Limits.NONE.withMaxEncodeInputLength(4));
+        encoder.update(new byte[]{1, 2, 3});
+        assertThatThrownBy(() -> encoder.update(new byte[]{4, 5}))
+                .isInstanceOf(LengthLimitException.class);
+        encoder.update(new byte[]{4});
+        assertEquals(Base58.base58Encode(new byte[]{1, 2, 3, 4}), encoder.finish());
+    }
+
+    @Test
+    public void bad_region() {
+        final Base58IncrementalEncoder encoder = Base58.newIncrementalEncoder();
+        assertThatThrownBy(() -> encoder.update(new byte[2], 1, 2))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> encoder.update(new byte[2], -1, 1))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
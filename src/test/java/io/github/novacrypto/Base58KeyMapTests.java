@@ -0,0 +1,156 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.Base58KeyMap;
+import io.github.novacrypto.base58.Base58Limits;
+import io.github.novacrypto.base58.BadCharacterException;
+import io.github.novacrypto.base58.LengthLimitException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class Base58KeyMapTests {
+
+    private static List<String> randomKeys(final long seed, final int count) {
+        final Random random = new Random(seed);
+        final List<String> keys = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final byte[] bytes = new byte[random.nextInt(30)];
+            random.nextBytes(bytes);
+            if (bytes.length > 0 && random.nextInt(4) == 0)
+                bytes[0] = 0;
+            keys.add(Base58.base58Encode(bytes));
+        }
+        return keys;
+    }
+
+    private static void assertMatchesHashMap(final Base58KeyMap map) {
+        final Map<String, Integer> expected = new HashMap<>();
+        final List<String> keys = randomKeys(44, 20000);
+        for (int i = 0; i < keys.size(); i++) {
+            final String key = keys.get(i);
+            assertEquals(!expected.containsKey(key), map.put(key, i));
+            expected.put(key, i);
+        }
+        assertEquals(expected.size(), map.size());
+        for (final Map.Entry<String, Integer> entry : expected.entrySet()) {
+            assertTrue(map.contains(entry.getKey()));
+            assertTrue(map.contains(new StringBuilder(entry.getKey())));
+            assertEquals((int) entry.getValue(), map.get(entry.getKey(), -1));
+        }
+        for (final String missing : randomKeys(45, 2000)) {
+            if (!expected.containsKey(missing)) {
+                assertFalse(map.contains(missing));
+                assertEquals(-1, map.get(missing, -1));
+            }
+        }
+    }
+
+    @Test
+    public void behaves_like_a_hash_map() {
+        assertMatchesHashMap(Base58.newKeyMap());
+    }
+
+    @Test
+    public void behaves_like_a_hash_map_off_heap() {
+        assertMatchesHashMap(Base58.newKeyMap(100, true));
+    }
+
+    @Test
+    public void presized() {
+        assertMatchesHashMap(Base58.newKeyMap(30000, false));
+    }
+
+    @Test
+    public void put_updates_existing_value() {
+        final Base58KeyMap map = Base58.newKeyMap();
+        assertTrue(map.put("LUv", 1));
+        assertFalse(map.put("LUv", 2));
+        assertEquals(2, map.get("LUv", 0));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void leading_zeros_are_part_of_the_key() {
+        final Base58KeyMap map = Base58.newKeyMap();
+        map.put("2", 1);
+        map.put("12", 2);
+        map.put("", 3);
+        map.put("1", 4);
+        assertEquals(1, map.get("2", 0));
+        assertEquals(2, map.get("12", 0));
+        assertEquals(3, map.get("", 0));
+        assertEquals(4, map.get("1", 0));
+        assertFalse(map.contains("112"));
+    }
+
+    @Test
+    public void arena_holds_decoded_keys() {
+        final Base58KeyMap map = Base58.newKeyMap();
+        map.put("1A1zP1eP5QGefi2DMPTfTL5SLmv7DivfNa", 0);
+        assertEquals(2 + 25, map.arenaBytes());
+    }
+
+    @Test
+    public void invalid_keys_are_not_contained() {
+        final Base58KeyMap map = Base58.newKeyMap();
+        map.put("2", 1);
+        assertFalse(map.contains("0"));
+        assertEquals(7, map.get("O", 7));
+    }
+
+    @Test
+    public void put_rejects_invalid_keys() {
+        final Base58KeyMap map = Base58.newKeyMap();
+        assertThatThrownBy(() -> map.put("0", 1))
+                .isInstanceOf(BadCharacterException.class);
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void put_applies_limits() {
+        final Base58KeyMap map = Base58.newKeyMap(0, false, Base58Alphabet.BITCOIN,
+                Base58Limits.NONE.withMaxDecodeInputLength(3));
+        assertThatThrownBy(() -> map.put("2222", 1))
+                .isInstanceOf(LengthLimitException.class);
+        assertFalse(map.contains("2222"));
+    }
+
+    @Test
+    public void rejects_negative_expected_keys() {
+        assertThatThrownBy(() -> Base58.newKeyMap(-1, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.Base58Limits;
+import io.github.novacrypto.base58.DecodeStatus;
+import io.github.novacrypto.base58.EncodeTarget;
+import io.github.novacrypto.base58.ExtendedEncoderDecoder;
+import io.github.novacrypto.base58.ExtendedSecureEncoderDecoder;
+import io.github.novacrypto.base58.LengthLimitException;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class Base58LimitsTests {
+
+    private static final String ADDRESS = Base58.base58Encode(addressBytes());
+
+    @Test
+    public void no_limits_by_default() {
+        final ExtendedEncoderDecoder instance = Base58.newInstance(Base58Alphabet.BITCOIN, Base58Limits.NONE);
+        final byte[] bytes = new byte[1000];
+        assertArrayEquals(bytes, instance.decode(instance.encode(bytes)));
+    }
+
+    @Test
+    public void encode_input_too_long() {
+        final ExtendedEncoderDecoder instance = Base58.newInstance(Base58Alphabet.BITCOIN,
+                Base58Limits.NONE.withMaxEncodeInputLength(2));
+        assertEquals("LUv", instance.encode(new byte[]{(byte) 255, (byte) 255}));
+        assertThatThrownBy(() -> instance.encode(new byte[3]))
+                .isInstanceOf(LengthLimitException.class)
+                .hasMessage("Input of 3 bytes exceeds the limit of 2 bytes");
+    }
+
+    @Test
+    public void encode_to_target_input_too_long() {
+        final ExtendedSecureEncoderDecoder instance = Base58.newSecureInstance(Base58Alphabet.BITCOIN,
+                Base58Limits.NONE.withMaxInputLength(2));
+        final StringBuilder sb = new StringBuilder();
+        assertThatThrownBy(() -> instance.encode(new byte[3], (EncodeTarget) sb::append))
+                .isInstanceOf(LengthLimitException.class);
+        assertThatThrownBy(() -> instance.encode(new byte[3], sb::ensureCapacity, sb::append))
+                .isInstanceOf(LengthLimitException.class);
+        assertThatThrownBy(() -> instance.encode(new byte[3], capacity -> sb::append))
+                .isInstanceOf(LengthLimitException.class);
+        assertEquals("", sb.toString());
+    }
+
+    @Test
+    public void decode_input_too_long() {
+        final ExtendedEncoderDecoder instance = Base58.newInstance(Base58Alphabet.BITCOIN,
+                Base58Limits.NONE.withMaxDecodeInputLength(3));
+        assertArrayEquals(new byte[]{(byte) 255, (byte) 255}, instance.decode("LUv"));
+        assertThatThrownBy(() -> instance.decode("LUvL"))
+                .isInstanceOf(LengthLimitException.class)
+                .hasMessage("Base58 string of 4 characters exceeds the limit of 3 characters");
+    }
+
+    @Test
+    public void decode_input_too_long_checked_before_characters() {
+        final ExtendedEncoderDecoder instance = Base58.newInstance(Base58Alphabet.BITCOIN,
+                Base58Limits.NONE.withMaxDecodeInputLength(3));
+        assertThatThrownBy(() -> instance.decode("0000"))
+                .isInstanceOf(LengthLimitException.class);
+    }
+
+    @Test
+    public void max_decoded_length() {
+        final ExtendedEncoderDecoder instance = Base58.newInstance(Base58Alphabet.BITCOIN,
+                Base58Limits.NONE.withMaxDecodedLength(2));
+        assertArrayEquals(new byte[]{(byte) 255, (byte) 255}, instance.decode("LUv"));
+        assertThatThrownBy(() -> instance.decode("LUvL"))
+                .isInstanceOf(LengthLimitException.class)
+                .hasMessage("Base58 string of 4 characters decodes to more than 2 bytes");
+    }
+
+    @Test
+    public void expected_decoded_length() {
+        final ExtendedEncoderDecoder instance = Base58.newInstance(Base58Alphabet.BITCOIN,
+                Base58Limits.NONE.withExpectedDecodedLength(25));
+        assertArrayEquals(addressBytes(), instance.decode(ADDRESS));
+        assertThatThrownBy(() -> instance.decode(ADDRESS.substring(3)))
+                .isInstanceOf(LengthLimitException.class)
+                .hasMessage("Base58 string of " + (ADDRESS.length() - 3) + " characters can not decode to 25 bytes");
+        assertThatThrownBy(() -> instance.decode("1" + ADDRESS))
+                .isInstanceOf(LengthLimitException.class);
+    }
+
+    @Test
+    public void expected_decoded_length_ascii() {
+        final ExtendedSecureEncoderDecoder instance = Base58.newSecureInstance(Base58Alphabet.BITCOIN,
+                Base58Limits.NONE.withExpectedDecodedLength(25));
+        final InsecureByteArrayTarget target = new InsecureByteArrayTarget();
+        instance.decode(ascii(ADDRESS), target);
+        assertArrayEquals(addressBytes(), target.asByteArray());
+        assertThatThrownBy(() -> instance.decode(ascii("1" + ADDRESS), new InsecureByteArrayTarget()))
+                .isInstanceOf(LengthLimitException.class);
+    }
+
+    @Test
+    public void try_decode_length_rejected() {
+        final ExtendedEncoderDecoder instance = Base58.newInstance(Base58Alphabet.BITCOIN,
+                Base58Limits.NONE.withMaxDecodeInputLength(3));
+        final int status = instance.tryDecode("LUvL", new byte[10], 0);
+        assertTrue(DecodeStatus.isLengthRejected(status));
+        assertEquals(2, instance.tryDecode("LUv", new byte[10], 0));
+    }
+
+    @Test
+    public void static_encode_with_limits() {
+        final Base58Limits limits = Base58Limits.NONE.withMaxInputLength(2);
+        assertEquals("LUv", Base58.base58Encode(new byte[]{(byte) 255, (byte) 255}, limits));
+        assertThatThrownBy(() -> Base58.base58Encode(new byte[3], limits))
+                .isInstanceOf(LengthLimitException.class);
+    }
+
+    @Test
+    public void static_decode_with_limits() {
+        final Base58Limits limits = Base58Limits.NONE.withExpectedDecodedLength(25);
+        assertArrayEquals(addressBytes(), Base58.base58Decode(ADDRESS, limits));
+        assertThatThrownBy(() -> Base58.base58Decode(ADDRESS + "2", limits))
+                .isInstanceOf(LengthLimitException.class);
+    }
+
+    @Test
+    public void negative_limit() {
+        assertThatThrownBy(() -> Base58Limits.NONE.withMaxDecodedLength(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void limit_exception_has_no_stack_trace() {
+        assertEquals(0, new LengthLimitException("").getStackTrace().length);
+    }
+
+    private static byte[] addressBytes() {
+        final byte[] bytes = new byte[25];
+        for (int i = 1; i < bytes.length; i++) {
+            bytes[i] = (byte) (i * 37);
+        }
+        return bytes;
+    }
+
+    private static ByteBuffer ascii(final String base58) {
+        return ByteBuffer.wrap(base58.getBytes(StandardCharsets.US_ASCII));
+    }
+}
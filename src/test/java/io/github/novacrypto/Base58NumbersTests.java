@@ -0,0 +1,179 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.Base58Numbers;
+import io.github.novacrypto.base58.BadCharacterException;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public final class Base58NumbersTests {
+
+    private final Base58Numbers numbers = Base58.numbers();
+
+    private static byte[] bytes(final long value) {
+        return ByteBuffer.allocate(8).putLong(value).array();
+    }
+
+    private static byte[] bytes(final long high, final long low) {
+        return ByteBuffer.allocate(16).putLong(high).putLong(low).array();
+    }
+
+    private void assertLong(final long value) {
+        final String expected = Base58.base58Encode(bytes(value));
+        assertEquals(expected, numbers.encodeLong(value));
+        final StringBuilder sb = new StringBuilder();
+        numbers.encodeLong(value, sb::append);
+        assertEquals(expected, sb.toString());
+        assertEquals(value, numbers.decodeLong(expected));
+    }
+
+    private void assert128(final long high, final long low) {
+        final String expected = Base58.base58Encode(bytes(high, low));
+        assertEquals(expected, numbers.encode128(high, low));
+        final long[] decoded = new long[3];
+        numbers.decode128(expected, decoded, 1);
+        assertEquals(high, decoded[1]);
+        assertEquals(low, decoded[2]);
+        final UUID uuid = new UUID(high, low);
+        assertEquals(expected, numbers.encodeUuid(uuid));
+        final StringBuilder sb = new StringBuilder();
+        numbers.encodeUuid(uuid, sb::append);
+        assertEquals(expected, sb.toString());
+        assertEquals(uuid, numbers.decodeUuid(expected));
+    }
+
+    @Test
+    public void long_edge_cases() {
+        for (final long value : new long[]{0, 1, -1, 57, 58, 255, 256, 0xffffffffL, 1L << 32,
+                Long.MAX_VALUE, Long.MIN_VALUE, 1L << 56, (1L << 56) - 1}) {
+            assertLong(value);
+        }
+    }
+
+    @Test
+    public void zero_long_is_eight_ones() {
+        assertEquals("11111111", numbers.encodeLong(0));
+    }
+
+    @Test
+    public void random_longs() {
+        final Random random = new Random(41);
+        for (int i = 0; i < 10000; i++) {
+            assertLong(random.nextLong() >>> random.nextInt(64));
+        }
+    }
+
+    @Test
+    public void edge_cases_128() {
+        final long[] values = {0, 1, -1, Long.MAX_VALUE, Long.MIN_VALUE, 1L << 32, 0xffffffffL};
+        for (final long high : values) {
+            for (final long low : values) {
+                assert128(high, low);
+            }
+        }
+    }
+
+    @Test
+    public void random_128() {
+        final Random random = new Random(128);
+        for (int i = 0; i < 10000; i++) {
+            assert128(random.nextLong() >>> random.nextInt(64), random.nextLong());
+            assert128(0, random.nextLong() >>> random.nextInt(64));
+        }
+    }
+
+    @Test
+    public void random_uuids() {
+        for (int i = 0; i < 1000; i++) {
+            final UUID uuid = UUID.randomUUID();
+            assert128(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        }
+    }
+
+    @Test
+    public void other_alphabet() {
+        final Base58Numbers ripple = Base58.numbers(Base58Alphabet.RIPPLE);
+        final String encoded = ripple.encodeLong(123456789L);
+        assertEquals(Base58.newInstance(Base58Alphabet.RIPPLE).encode(bytes(123456789L)), encoded);
+        assertEquals(123456789L, ripple.decodeLong(encoded));
+    }
+
+    @Test
+    public void decode_long_rejects_other_lengths() {
+        final String seven = Base58.base58Encode(new byte[7]);
+        assertThatThrownBy(() -> numbers.decodeLong(seven))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Base58 string does not decode to 8 bytes");
+        final String nine = Base58.base58Encode(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9});
+        assertThatThrownBy(() -> numbers.decodeLong(nine))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Base58 string does not decode to 8 bytes");
+        final String leadingZeroThenEight = Base58.base58Encode(new byte[]{0, -1, -1, -1, -1, -1, -1, -1, -1});
+        assertThatThrownBy(() -> numbers.decodeLong(leadingZeroThenEight))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> numbers.decodeLong(""))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void decode_128_rejects_too_large() {
+        final String seventeen = Base58.base58Encode(new byte[]{1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0});
+        assertThatThrownBy(() -> numbers.decodeUuid(seventeen))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Base58 string does not decode to 16 bytes");
+        assertThatThrownBy(() -> numbers.decodeUuid("zzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzzz"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void decode_rejects_bad_characters() {
+        assertThatThrownBy(() -> numbers.decodeLong("1111111O"))
+                .isInstanceOf(BadCharacterException.class);
+    }
+
+    @Test
+    public void decode_128_checks_output_room() {
+        final String encoded = numbers.encode128(1, 2);
+        assertThatThrownBy(() -> numbers.decode128(encoded, new long[2], 1))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    public void failed_decode_128_leaves_output_unchanged() {
+        final long[] output = {5, 6, 7};
+        final String seventeen = Base58.base58Encode(new byte[17]);
+        assertThatThrownBy(() -> numbers.decode128(seventeen, output, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertArrayEquals(new long[]{5, 6, 7}, output);
+    }
+}
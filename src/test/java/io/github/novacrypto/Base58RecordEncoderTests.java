@@ -0,0 +1,143 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.Base58RecordEncoder;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class Base58RecordEncoderTests {
+
+    private static ByteBuffer directRecords(final int recordSize, final int count) {
+        final byte[] bytes = new byte[recordSize * count];
+        final Random random = new Random(38);
+        random.nextBytes(bytes);
+        for (int r = 0; r < count; r += 7) {
+            Arrays.fill(bytes, r * recordSize, r * recordSize + random.nextInt(recordSize + 1), (byte) 0);
+        }
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.flip();
+        return buffer;
+    }
+
+    private static String expected(final ByteBuffer records, final int recordSize, final Base58Alphabet alphabet) {
+        final StringBuilder sb = new StringBuilder();
+        final ByteBuffer copy = records.duplicate();
+        final byte[] record = new byte[recordSize];
+        while (copy.hasRemaining()) {
+            copy.get(record);
+            sb.append(Base58.newInstance(alphabet).encode(record)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void encodes_each_record_on_a_line() throws IOException {
+        final ByteBuffer records = directRecords(20, 1000);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final Base58RecordEncoder.Stats stats = Base58.newRecordEncoder(20).encode(records, Channels.newChannel(out));
+        final String text = new String(out.toByteArray(), StandardCharsets.US_ASCII);
+        assertEquals(expected(records, 20, Base58Alphabet.BITCOIN), text);
+        assertEquals(1000, stats.records());
+        assertEquals(text.length(), stats.bytesWritten());
+        assertTrue(stats.recordsPerSecond() >= 0);
+        assertEquals(0, records.position());
+    }
+
+    @Test
+    public void parallel_across_many_blocks() throws IOException, InterruptedException {
+        final ByteBuffer records = directRecords(32, 200_000);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            final Base58RecordEncoder.Stats stats = Base58.newRecordEncoder(32)
+                    .encode(records, Channels.newChannel(out), executor, 3);
+            assertEquals(200_000, stats.records());
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(expected(records, 32, Base58Alphabet.BITCOIN),
+                new String(out.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void reads_from_position_to_limit() throws IOException {
+        final ByteBuffer records = ByteBuffer.wrap(new byte[]{9, 0, 1, (byte) 255, (byte) 255, 9});
+        records.position(1);
+        records.limit(5);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Base58.newRecordEncoder(2, Base58Alphabet.BITCOIN).encode(records, Channels.newChannel(out));
+        assertEquals("12\nLUv\n", new String(out.toByteArray(), StandardCharsets.US_ASCII));
+        assertEquals(1, records.position());
+    }
+
+    @Test
+    public void alphabet() throws IOException {
+        final ByteBuffer records = directRecords(20, 50);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Base58.newRecordEncoder(20, Base58Alphabet.RIPPLE).encode(records, Channels.newChannel(out));
+        assertEquals(expected(records, 20, Base58Alphabet.RIPPLE),
+                new String(out.toByteArray(), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void empty() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(0, Base58.newRecordEncoder(20).encode(ByteBuffer.allocate(0), Channels.newChannel(out))
+                .records());
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    public void partial_record() {
+        assertThatThrownBy(() -> Base58.newRecordEncoder(20)
+                .encode(ByteBuffer.allocate(30), Channels.newChannel(new ByteArrayOutputStream())))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("30 bytes is not a whole number of 20 byte records");
+    }
+
+    @Test
+    public void record_size_limit() {
+        assertEquals(Base58RecordEncoder.MAX_RECORD_SIZE,
+                Base58.newRecordEncoder(Base58RecordEncoder.MAX_RECORD_SIZE).recordSize());
+        assertThatThrownBy(() -> Base58.newRecordEncoder(Base58RecordEncoder.MAX_RECORD_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Record size must be from 1 to 4096");
+    }
+}
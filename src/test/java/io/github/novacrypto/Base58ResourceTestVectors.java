@@ -22,6 +22,9 @@
 
 package io.github.novacrypto;
 
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.SecureEncoderDecoder;
 import io.github.novacrypto.base58.json.TestVector;
 import io.github.novacrypto.base58.json.TestVectorCollection;
 import org.junit.Assert;
@@ -78,6 +81,41 @@ public final class Base58ResourceTestVectors {
         }
     }
 
+    @Test
+    public void encodeToAscii() {
+        for (final TestVector vector : collection.vectors) {
+            final byte[] bytes = fromHex(vector.dataHex);
+            Assert.assertEquals(vector.dataBase58, Base58EncodeTests.base58InstanceEncodeToAscii(bytes));
+        }
+    }
+
+    @Test
+    public void encodeToChars() {
+        for (final TestVector vector : collection.vectors) {
+            final byte[] bytes = fromHex(vector.dataHex);
+            Assert.assertEquals(vector.dataBase58, Base58EncodeTests.base58InstanceEncodeToChars(bytes));
+        }
+    }
+
+    @Test
+    public void encodeConstantTimeInstance() {
+        final SecureEncoderDecoder constantTime = Base58.newConstantTimeInstance();
+        for (final TestVector vector : collection.vectors) {
+            final InsecureStringBufferEncodeTarget target = new InsecureStringBufferEncodeTarget();
+            constantTime.encode(fromHex(vector.dataHex), target);
+            Assert.assertEquals(vector.dataBase58, target.toString());
+        }
+    }
+
+    @Test
+    public void encodedLength() {
+        for (final TestVector vector : collection.vectors) {
+            final byte[] bytes = fromHex(vector.dataHex);
+            Assert.assertEquals(vector.dataBase58.length(),
+                    Base58.newInstance(Base58Alphabet.BITCOIN).encodedLength(bytes));
+        }
+    }
+
     @Test
     public void encodeParallelStatic() throws InterruptedException {
         final ParallelTasks parallelTasks = new ParallelTasks();
@@ -138,6 +176,32 @@ public final class Base58ResourceTestVectors {
         }
     }
 
+    @Test
+    public void decodeConstantTimeInstance() {
+        final SecureEncoderDecoder constantTime = Base58.newConstantTimeInstance();
+        for (final TestVector vector : collection.vectors) {
+            final InsecureByteArrayTarget target = new InsecureByteArrayTarget();
+            constantTime.decode(vector.dataBase58, target);
+            Assert.assertArrayEquals(fromHex(vector.dataHex), target.asByteArray());
+        }
+    }
+
+    @Test
+    public void decodeStaticAscii() {
+        for (final TestVector vector : collection.vectors) {
+            final byte[] bytes = fromHex(vector.dataHex);
+            Assert.assertArrayEquals(bytes, Base58DecodeTests.base58StaticAsciiDecode(vector.dataBase58));
+        }
+    }
+
+    @Test
+    public void decodeSecureInstanceAscii() {
+        for (final TestVector vector : collection.vectors) {
+            final byte[] bytes = fromHex(vector.dataHex);
+            Assert.assertArrayEquals(bytes, Base58DecodeTests.base58SecureInstanceAsciiDecode(vector.dataBase58));
+        }
+    }
+
     @Test
     public void decodeParallelInstance() throws InterruptedException {
         final ParallelTasks parallelTasks = new ParallelTasks();
@@ -0,0 +1,154 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.Base58Limits;
+import io.github.novacrypto.base58.Base58Scanner;
+import io.github.novacrypto.base58.DecodeStatus;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class Base58ScannerTests {
+
+    private static final String GENESIS = "1A1zP1eP5QGefi2DMPTfTL5SLmv7DivfNa";
+    private static final String JSON = "{\"from\":\"" + GENESIS + "\",\"to\":\"LUv\",\"n\":0}";
+
+    private static List<String> tokens(final Base58Scanner scanner, final String text) {
+        final List<String> tokens = new ArrayList<>();
+        while (scanner.find()) {
+            tokens.add(text.substring(scanner.start(), scanner.end()));
+        }
+        return tokens;
+    }
+
+    @Test
+    public void finds_maximal_runs() {
+        final Base58Scanner scanner = Base58.newScanner().reset(JSON);
+        final List<String> tokens = tokens(scanner, JSON);
+        assertEquals("[from, " + GENESIS + ", to, LUv, n]", tokens.toString());
+    }
+
+    @Test
+    public void minimum_length_skips_short_runs() {
+        final Base58Scanner scanner = Base58.newScanner(Base58Alphabet.BITCOIN, 25, Base58Limits.NONE)
+                .reset(new StringBuilder(JSON));
+        assertTrue(scanner.find());
+        assertEquals(JSON.indexOf(GENESIS), scanner.start());
+        assertEquals(GENESIS.length(), scanner.length());
+        assertFalse(scanner.find());
+    }
+
+    @Test
+    public void decodes_tokens_in_place() {
+        final Base58Scanner scanner = Base58.newScanner(Base58Alphabet.BITCOIN, 3, Base58Limits.NONE).reset(JSON);
+        assertTrue(scanner.find());
+        assertEquals("from", JSON.substring(scanner.start(), scanner.end()));
+        assertTrue(scanner.find());
+        assertArrayEquals(Base58.base58Decode(GENESIS), scanner.decode());
+        assertTrue(scanner.find());
+        final byte[] output = new byte[2];
+        assertEquals(2, scanner.tryDecode(output, 0));
+        assertArrayEquals(new byte[]{(byte) 255, (byte) 255}, output);
+        assertFalse(scanner.find());
+    }
+
+    @Test
+    public void ascii_buffer() {
+        final ByteBuffer ascii = ByteBuffer.allocateDirect(JSON.length() + 2);
+        ascii.put((byte) 'x').put(JSON.getBytes(StandardCharsets.US_ASCII)).put((byte) 'y');
+        ascii.position(1);
+        ascii.limit(JSON.length() + 1);
+        final Base58Scanner scanner = Base58.newScanner(Base58Alphabet.BITCOIN, 20, Base58Limits.NONE).reset(ascii);
+        assertTrue(scanner.find());
+        assertEquals(JSON.indexOf(GENESIS) + 1, scanner.start());
+        assertArrayEquals(Base58.base58Decode(GENESIS), scanner.decode());
+        final byte[] output = new byte[25];
+        assertEquals(25, scanner.tryDecode(output, 0));
+        assertArrayEquals(Base58.base58Decode(GENESIS), output);
+        assertTrue(DecodeStatus.isOutputTooSmall(scanner.tryDecode(new byte[10], 0)));
+        assertFalse(scanner.find());
+        assertEquals(1, ascii.position());
+        assertEquals(JSON.length() + 1, ascii.limit());
+    }
+
+    @Test
+    public void high_bytes_and_chars_end_tokens() {
+        final Base58Scanner scanner = Base58.newScanner().reset("abcéde");
+        assertEquals("[abc, de]", tokens(scanner, "abcéde").toString());
+        final ByteBuffer ascii = ByteBuffer.wrap(new byte[]{'a', (byte) 0xe9, 'b'});
+        scanner.reset(ascii);
+        assertTrue(scanner.find());
+        assertEquals(1, scanner.end());
+        assertTrue(scanner.find());
+        assertEquals(2, scanner.start());
+    }
+
+    @Test
+    public void tokens_at_edges() {
+        final Base58Scanner scanner = Base58.newScanner().reset("LUv LUv");
+        assertEquals("[LUv, LUv]", tokens(scanner, "LUv LUv").toString());
+    }
+
+    @Test
+    public void limits_apply_to_tokens() {
+        final Base58Scanner scanner = Base58.newScanner(Base58Alphabet.BITCOIN, 1,
+                Base58Limits.NONE.withMaxDecodeInputLength(3)).reset(JSON);
+        scanner.find();
+        scanner.find();
+        assertTrue(DecodeStatus.isLengthRejected(scanner.tryDecode(new byte[100], 0)));
+    }
+
+    @Test
+    public void no_current_token() {
+        final Base58Scanner scanner = Base58.newScanner().reset("0");
+        assertThatThrownBy(scanner::start)
+                .isInstanceOf(IllegalStateException.class);
+        assertFalse(scanner.find());
+        assertThatThrownBy(scanner::decode)
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void no_text() {
+        assertThatThrownBy(() -> Base58.newScanner().find())
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void bad_minimum_length() {
+        assertThatThrownBy(() -> Base58.newScanner(Base58Alphabet.BITCOIN, 0, Base58Limits.NONE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
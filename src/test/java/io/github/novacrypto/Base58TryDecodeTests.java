@@ -0,0 +1,193 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.BadCharacterException;
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.Base58Limits;
+import io.github.novacrypto.base58.ByteArrayWorkingBuffer;
+import io.github.novacrypto.base58.DecodeStatus;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public final class Base58TryDecodeTests {
+
+    @Test
+    public void decodes_into_array() {
+        final byte[] output = new byte[4];
+        final int status = Base58.tryBase58Decode("LUv", output, 1);
+        assertTrue(DecodeStatus.isSuccess(status));
+        assertEquals(2, status);
+        assertArrayEquals(new byte[]{0, (byte) 255, (byte) 255, 0}, output);
+    }
+
+    @Test
+    public void decodes_empty() {
+        assertEquals(0, Base58.tryBase58Decode("", new byte[0], 0));
+    }
+
+    @Test
+    public void decodes_leading_zeros() {
+        final byte[] output = new byte[4];
+        assertEquals(4, Base58.newInstance(Base58Alphabet.BITCOIN).tryDecode("115R", output, 0));
+        assertArrayEquals(new byte[]{0, 0, 1, 0}, output);
+    }
+
+    @Test
+    public void bad_character() {
+        final byte[] output = new byte[10];
+        final int status = Base58.tryBase58Decode("LUv0", output, 0);
+        assertFalse(DecodeStatus.isSuccess(status));
+        assertTrue(DecodeStatus.isBadCharacter(status));
+        assertFalse(DecodeStatus.isOutputTooSmall(status));
+        assertEquals(3, DecodeStatus.badCharacterIndex(status));
+        assertArrayEquals(new byte[10], output);
+    }
+
+    @Test
+    public void bad_high_character() {
+        final int status = Base58.tryBase58Decode("ǿ", new byte[10], 0);
+        assertTrue(DecodeStatus.isBadCharacter(status));
+        assertEquals(0, DecodeStatus.badCharacterIndex(status));
+    }
+
+    @Test
+    public void output_too_small() {
+        final byte[] output = new byte[2];
+        final int status = Base58.tryBase58Decode("LUv", output, 1);
+        assertFalse(DecodeStatus.isSuccess(status));
+        assertTrue(DecodeStatus.isOutputTooSmall(status));
+        assertFalse(DecodeStatus.isBadCharacter(status));
+        assertEquals(2, DecodeStatus.requiredLength(status));
+        assertArrayEquals(new byte[2], output);
+    }
+
+    @Test
+    public void offset_past_end() {
+        assertTrue(DecodeStatus.isOutputTooSmall(Base58.tryBase58Decode("LUv", new byte[2], 3)));
+    }
+
+    @Test
+    public void exactly_fits() {
+        final byte[] output = new byte[2];
+        assertEquals(2, Base58.tryBase58Decode("LUv", output, 0));
+    }
+
+    @Test
+    public void to_target() {
+        final InsecureByteArrayTarget target = new InsecureByteArrayTarget();
+        assertEquals(2, Base58.newSecureInstance(Base58Alphabet.BITCOIN).tryDecode("5R", target));
+        assertArrayEquals(new byte[]{1, 0}, target.asByteArray());
+    }
+
+    @Test
+    public void to_target_bad_character_does_not_call_target() {
+        final InsecureByteArrayTarget target = new InsecureByteArrayTarget();
+        final int status = Base58.newSecureInstance(Base58Alphabet.BITCOIN).tryDecode("5Rl", target);
+        assertEquals(2, DecodeStatus.badCharacterIndex(status));
+        assertNull(target.asByteArray());
+    }
+
+    @Test
+    public void wrong_kind_of_status() {
+        assertThatThrownBy(() -> DecodeStatus.requiredLength(1234))
+                .isInstanceOf(IllegalArgumentException.class);
+        final int status = Base58.tryBase58Decode("0", new byte[1], 0);
+        assertThatThrownBy(() -> DecodeStatus.requiredLength(status))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void stackless_bad_character_exception() {
+        final BadCharacterException exception = BadCharacterException.withoutStackTrace('0');
+        assertEquals("Bad character in base58 string, '0'", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+        exception.addSuppressed(new RuntimeException());
+        assertEquals(0, exception.getSuppressed().length);
+    }
+
+    @Test
+    public void bad_character_exception_has_stack_trace_by_default() {
+        final BadCharacterException exception = new BadCharacterException('0');
+        assertTrue(exception.getStackTrace().length > 0);
+        exception.addSuppressed(new RuntimeException());
+        assertEquals(1, exception.getSuppressed().length);
+    }
+
+    @Test
+    public void components_throw_stackless_bad_character_exceptions_when_configured() {
+        final Base58Alphabet bitcoin = Base58Alphabet.BITCOIN;
+        assertStackless(() -> Base58.newInstanceWithBuffer(new ByteArrayWorkingBuffer(), bitcoin, Base58Limits.NONE,
+                false).decode("11O"));
+        assertStackless(() -> Base58.newInstanceWithBuffer(new ByteArrayWorkingBuffer(), bitcoin, Base58Limits.NONE,
+                false).decode(ByteBuffer.wrap(new byte[]{'1', '0'}), new InsecureByteArrayTarget()));
+        assertStackless(() -> Base58.newConstantTimeInstanceWithBuffer(new ByteArrayWorkingBuffer(), bitcoin,
+                Base58Limits.NONE, false).decode("1l", new InsecureByteArrayTarget()));
+        assertStackless(() -> Base58.newIncrementalDecoderWithBuffers(new ByteArrayWorkingBuffer(),
+                new ByteArrayWorkingBuffer(), bitcoin, Base58Limits.NONE, false).update("I"));
+        assertStackless(() -> Base58.numbers(bitcoin, false).decodeLong("0"));
+        assertStackless(() -> Base58.comparator(bitcoin, false).compare("2", "0"));
+        assertStackless(() -> Base58.newFramedFormat(1, bitcoin, false).decode("10"));
+        assertStackless(() -> Base58.newSecureFramedFormat(1, bitcoin, false).decode("10"));
+        assertStackless(() -> Base58.newFixedWidthFormat(bitcoin, false).decode("10"));
+        assertStackless(() -> Base58.newSecureFixedWidthFormat(bitcoin, false).decode("10"));
+        assertStackless(() -> Base58.valueOf("0", false));
+    }
+
+    @Test
+    public void components_capture_stack_traces_by_default() {
+        assertStackTrace(() -> Base58.newInstance(Base58Alphabet.BITCOIN).decode("0"));
+        assertStackTrace(() -> Base58.numbers(Base58Alphabet.BITCOIN, true).decodeLong("0"));
+        assertStackTrace(() -> Base58.comparator(Base58Alphabet.BITCOIN, true).compare("2", "0"));
+        assertStackTrace(() -> Base58.newFramedFormat(1).decode("10"));
+        assertStackTrace(() -> Base58.valueOf("0"));
+    }
+
+    private static void assertStackless(final Runnable decode) {
+        try {
+            decode.run();
+            fail();
+        } catch (final BadCharacterException e) {
+            assertEquals(0, e.getStackTrace().length);
+        }
+    }
+
+    private static void assertStackTrace(final Runnable decode) {
+        try {
+            decode.run();
+            fail();
+        } catch (final BadCharacterException e) {
+            assertTrue(e.getStackTrace().length > 0);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public final class Base58ValidationTests {
+
+    @Test
+    public void valid() {
+        assertTrue(Base58.isValidBase58(""));
+        assertTrue(Base58.isValidBase58("1"));
+        assertTrue(Base58.isValidBase58("LUv"));
+        assertTrue(Base58.isValidBase58("123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz"));
+    }
+
+    @Test
+    public void invalid() {
+        assertFalse(Base58.isValidBase58("0"));
+        assertFalse(Base58.isValidBase58("LUvl"));
+        assertFalse(Base58.isValidBase58("I"));
+        assertFalse(Base58.isValidBase58("O"));
+        assertFalse(Base58.isValidBase58("{"));
+        assertFalse(Base58.isValidBase58("ǿ"));
+    }
+
+    @Test
+    public void encoded_strings_are_valid_for_their_length() {
+        final Random random = new Random(58);
+        for (int length = 0; length < 100; length++) {
+            for (int zeros = 0; zeros <= Math.min(length, 3); zeros++) {
+                final byte[] bytes = new byte[length];
+                random.nextBytes(bytes);
+                for (int i = 0; i < zeros; i++) {
+                    bytes[i] = 0;
+                }
+                final String base58 = Base58.base58Encode(bytes);
+                assertTrue(base58, Base58.isValidBase58(base58, length));
+                assertTrue(base58, Base58Alphabet.BITCOIN.isValid(ascii(base58), length));
+            }
+        }
+    }
+
+    @Test
+    public void wrong_address_lengths_rejected() {
+        final byte[] bytes = new byte[25];
+        bytes[1] = (byte) 0x80;
+        final String address = Base58.base58Encode(bytes);
+        assertTrue(Base58.isValidBase58(address, 25));
+        assertFalse(Base58.isValidBase58(address, 23));
+        assertFalse(Base58.isValidBase58(address, 27));
+        assertFalse(Base58.isValidBase58(address.substring(2), 25));
+        assertFalse(Base58.isValidBase58(address + "zzz", 25));
+    }
+
+    @Test
+    public void leading_zeros_must_fit_expected_length() {
+        assertTrue(Base58.isValidBase58("111", 3));
+        assertFalse(Base58.isValidBase58("111", 2));
+        assertFalse(Base58.isValidBase58("1112", 3));
+        assertTrue(Base58.isValidBase58("1112", 4));
+    }
+
+    @Test
+    public void bad_character_rejected_with_expected_length() {
+        assertFalse(Base58.isValidBase58("LU0", 2));
+        assertFalse(Base58Alphabet.BITCOIN.isValid(ascii("LU0"), 2));
+    }
+
+    @Test
+    public void negative_expected_length() {
+        assertFalse(Base58.isValidBase58("", -1));
+    }
+
+    @Test
+    public void ascii_array_slice() {
+        final byte[] ascii = "0LUv0".getBytes(StandardCharsets.US_ASCII);
+        assertTrue(Base58Alphabet.BITCOIN.isValid(ascii, 1, 3));
+        assertFalse(Base58Alphabet.BITCOIN.isValid(ascii, 0, 3));
+        assertFalse(Base58Alphabet.BITCOIN.isValid(ascii, 1, 4));
+    }
+
+    @Test
+    public void ascii_long_input() {
+        final String base58 = "123456789ABCDEFGHJKLMNPQRSTUVWXYZabcdefghijkmnopqrstuvwxyz";
+        assertTrue(Base58Alphabet.BITCOIN.isValid(ascii(base58)));
+        for (int i = 0; i < base58.length(); i++) {
+            final ByteBuffer ascii = ascii(base58);
+            ascii.put(i, (byte) 0x80);
+            assertFalse(Base58Alphabet.BITCOIN.isValid(ascii));
+        }
+    }
+
+    @Test
+    public void other_alphabet() {
+        assertTrue(Base58Alphabet.RIPPLE.isValid("rpsh"));
+        assertFalse(Base58Alphabet.RIPPLE.isValid("0"));
+        assertTrue(Base58Alphabet.RIPPLE.isValid("rr", 2));
+    }
+
+    private static ByteBuffer ascii(final String base58) {
+        return ByteBuffer.wrap(base58.getBytes(StandardCharsets.US_ASCII));
+    }
+}
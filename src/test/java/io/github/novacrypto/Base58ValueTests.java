@@ -0,0 +1,114 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Value;
+import io.github.novacrypto.base58.BadCharacterException;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class Base58ValueTests {
+
+    private static final String GENESIS = "1A1zP1eP5QGefi2DMPTfTL5SLmv7DivfNa";
+
+    @Test
+    public void from_bytes() {
+        final byte[] bytes = Base58.base58Decode(GENESIS);
+        final Base58Value value = Base58.valueOf(bytes);
+        assertEquals(GENESIS, value.toString());
+        assertEquals(GENESIS.length(), value.length());
+        assertEquals('A', value.charAt(1));
+        assertEquals("A1z", value.subSequence(1, 4));
+        assertArrayEquals(bytes, value.toBytes());
+        assertEquals(bytes.length, value.byteLength());
+    }
+
+    @Test
+    public void from_text() {
+        final Base58Value value = Base58.valueOf(new StringBuilder(GENESIS));
+        assertArrayEquals(Base58.base58Decode(GENESIS), value.toBytes());
+        assertEquals(GENESIS, value.toString());
+        assertEquals(GENESIS, new StringBuilder().append(value).toString());
+    }
+
+    @Test
+    public void bytes_are_copied_in_and_out() {
+        final byte[] bytes = {1, 2, 3};
+        final Base58Value value = Base58.valueOf(bytes);
+        bytes[0] = 9;
+        final byte[] out = value.toBytes();
+        out[1] = 9;
+        assertArrayEquals(new byte[]{1, 2, 3}, value.toBytes());
+        final byte[] copy = new byte[5];
+        assertEquals(3, value.copyBytes(copy, 1));
+        assertArrayEquals(new byte[]{0, 1, 2, 3, 0}, copy);
+        final ByteBuffer view = value.asReadOnlyBuffer();
+        assertTrue(view.isReadOnly());
+        assertEquals(3, view.remaining());
+    }
+
+    @Test
+    public void equal_across_forms() {
+        final Random random = new Random(45);
+        for (int i = 0; i < 500; i++) {
+            final byte[] bytes = new byte[random.nextInt(30)];
+            random.nextBytes(bytes);
+            final Base58Value fromBytes = Base58.valueOf(bytes);
+            final Base58Value fromText = Base58.valueOf(Base58.base58Encode(bytes));
+            assertEquals(fromBytes, fromText);
+            assertEquals(fromText, fromBytes);
+            assertEquals(fromBytes.hashCode(), fromText.hashCode());
+            assertEquals(Arrays.hashCode(bytes), fromText.hashCode());
+            assertEquals(0, fromBytes.compareTo(fromText));
+        }
+    }
+
+    @Test
+    public void leading_zeros_differ() {
+        assertNotEquals(Base58.valueOf("12"), Base58.valueOf("2"));
+        assertNotEquals(Base58.valueOf(new byte[]{0, 1}), Base58.valueOf("2"));
+    }
+
+    @Test
+    public void compares_as_unsigned_bytes() {
+        assertTrue(Base58.valueOf(new byte[]{1}).compareTo(Base58.valueOf(new byte[]{(byte) 0x80})) < 0);
+        assertTrue(Base58.valueOf(new byte[]{1, 0}).compareTo(Base58.valueOf(new byte[]{1})) > 0);
+        assertTrue(Base58.valueOf("z").compareTo(Base58.valueOf(new byte[]{0, 1})) > 0);
+    }
+
+    @Test
+    public void rejects_bad_text() {
+        assertThatThrownBy(() -> Base58.valueOf("1O"))
+                .isInstanceOf(BadCharacterException.class);
+    }
+}
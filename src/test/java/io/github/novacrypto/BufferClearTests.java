@@ -24,8 +24,13 @@ package io.github.novacrypto;
 
 import io.github.novacrypto.base58.BadCharacterException;
 import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.Base58Alphabet;
+import io.github.novacrypto.base58.Base58IncrementalDecoder;
+import io.github.novacrypto.base58.Base58IncrementalEncoder;
+import io.github.novacrypto.base58.Base58Limits;
 import io.github.novacrypto.base58.ByteArrayWorkingBuffer;
 import io.github.novacrypto.base58.GeneralEncoderDecoder;
+import io.github.novacrypto.base58.SecureEncoderDecoder;
 import io.github.novacrypto.base58.WorkingBuffer;
 import org.junit.Test;
 
@@ -50,6 +55,66 @@ public final class BufferClearTests {
         spy.assertClearedLast();
     }
 
+    @Test
+    public void clearsBufferAfterConstantTimeEncodeAndDecode() {
+        final SpyWorkingBuffer spy = givenSpyBuffer();
+        final SecureEncoderDecoder engine = Base58.newConstantTimeInstanceWithBuffer(spy, Base58Alphabet.BITCOIN,
+                Base58Limits.NONE);
+        engine.encode(new byte[]{(byte) 1}, new InsecureStringBufferEncodeTarget());
+        spy.assertClearedLast();
+        engine.decode("a", new InsecureByteArrayTarget());
+        spy.assertClearedLast();
+    }
+
+    @Test
+    public void clearsBufferOnBadCharacterDuringConstantTimeDecode() {
+        final SpyWorkingBuffer spy = givenSpyBuffer();
+        final SecureEncoderDecoder engine = Base58.newConstantTimeInstanceWithBuffer(spy, Base58Alphabet.BITCOIN,
+                Base58Limits.NONE);
+        assertThatThrownBy(() -> engine.decode("a0", new InsecureByteArrayTarget()))
+                .isInstanceOf(BadCharacterException.class);
+        spy.assertClearedLast();
+    }
+
+    @Test
+    public void clearsBuffersAfterIncrementalEncode() {
+        final SpyWorkingBuffer first = givenSpyBuffer();
+        final SpyWorkingBuffer second = givenSpyBuffer();
+        final Base58IncrementalEncoder encoder = Base58.newIncrementalEncoderWithBuffers(first, second,
+                Base58Alphabet.BITCOIN, Base58Limits.NONE);
+        for (int i = 0; i < 100; i++) {
+            encoder.update(new byte[]{(byte) i});
+        }
+        encoder.finish();
+        first.assertClearedLast();
+        second.assertClearedLast();
+    }
+
+    @Test
+    public void clearsBuffersAfterIncrementalReset() {
+        final SpyWorkingBuffer first = givenSpyBuffer();
+        final SpyWorkingBuffer second = givenSpyBuffer();
+        final Base58IncrementalEncoder encoder = Base58.newIncrementalEncoderWithBuffers(first, second,
+                Base58Alphabet.BITCOIN, Base58Limits.NONE);
+        encoder.update(new byte[]{1, 2, 3});
+        encoder.reset();
+        second.assertClearedLast();
+    }
+
+    @Test
+    public void clearsBuffersAfterIncrementalDecode() {
+        final SpyWorkingBuffer first = givenSpyBuffer();
+        final SpyWorkingBuffer second = givenSpyBuffer();
+        final Base58IncrementalDecoder decoder = Base58.newIncrementalDecoderWithBuffers(first, second,
+                Base58Alphabet.BITCOIN, Base58Limits.NONE);
+        for (int i = 0; i < 100; i++) {
+            decoder.update("a");
+        }
+        decoder.finish();
+        first.assertClearedLast();
+        second.assertClearedLast();
+    }
+
     @Test
     public void clearsBufferOnGetExceptionDuringEncode() {
         final SpyWorkingBuffer spy = givenSpyBuffer();
@@ -0,0 +1,229 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto;
+
+import io.github.novacrypto.base58.BadCharacterException;
+import io.github.novacrypto.base58.Base58;
+import io.github.novacrypto.base58.CachingDecoder;
+import io.github.novacrypto.base58.DecodeStatus;
+import io.github.novacrypto.base58.Decoder;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public final class CachingDecoderTests {
+
+    @Test
+    public void decodes() {
+        final CachingDecoder decoder = Base58.newCachingDecoder(10, 1000);
+        assertArrayEquals(new byte[]{(byte) 255, (byte) 255}, decoder.decode("LUv"));
+        assertEquals(0, decoder.hitCount());
+        assertEquals(1, decoder.missCount());
+    }
+
+    @Test
+    public void second_decode_is_a_hit() {
+        final CountingDecoder counting = new CountingDecoder();
+        final CachingDecoder decoder = Base58.newCachingDecoder(counting, 10, 1000);
+        decoder.decode("LUv");
+        assertArrayEquals(new byte[]{(byte) 255, (byte) 255}, decoder.decode("LUv"));
+        assertEquals(1, counting.calls);
+        assertEquals(1, decoder.hitCount());
+        assertEquals(1, decoder.missCount());
+    }
+
+    @Test
+    public void non_string_char_sequence_hits_string_entry() {
+        final CountingDecoder counting = new CountingDecoder();
+        final CachingDecoder decoder = Base58.newCachingDecoder(counting, 10, 1000);
+        decoder.decode("LUv");
+        assertArrayEquals(new byte[]{(byte) 255, (byte) 255}, decoder.decode(new StringBuilder("LUv")));
+        assertEquals(1, counting.calls);
+    }
+
+    @Test
+    public void results_are_copies() {
+        final CachingDecoder decoder = Base58.newCachingDecoder(10, 1000);
+        final byte[] first = decoder.decode("LUv");
+        first[0] = 0;
+        final byte[] second = decoder.decode("LUv");
+        assertNotSame(first, second);
+        assertArrayEquals(new byte[]{(byte) 255, (byte) 255}, second);
+    }
+
+    @Test
+    public void decode_into_array() {
+        final CachingDecoder decoder = Base58.newCachingDecoder(10, 1000);
+        final byte[] output = new byte[4];
+        assertEquals(2, decoder.decode("LUv", output, 1));
+        assertArrayEquals(new byte[]{0, (byte) 255, (byte) 255, 0}, output);
+    }
+
+    @Test
+    public void decode_into_target() {
+        final CachingDecoder decoder = Base58.newCachingDecoder(10, 1000);
+        final InsecureByteArrayTarget target = new InsecureByteArrayTarget();
+        decoder.decode("5R", target);
+        assertArrayEquals(new byte[]{1, 0}, target.asByteArray());
+    }
+
+    @Test
+    public void read_only_view() {
+        final CachingDecoder decoder = Base58.newCachingDecoder(10, 1000);
+        final ByteBuffer view = decoder.decodeReadOnly("LUv");
+        assertEquals(2, view.remaining());
+        assertEquals((byte) 255, view.get(0));
+        assertThatThrownBy(() -> view.put(0, (byte) 0))
+                .isInstanceOf(ReadOnlyBufferException.class);
+    }
+
+    @Test
+    public void evicts_oldest_by_entry_count() {
+        final CountingDecoder counting = new CountingDecoder();
+        final CachingDecoder decoder = Base58.newCachingDecoder(counting, 2, 1000);
+        decoder.decode("2");
+        decoder.decode("3");
+        decoder.decode("4");
+        assertEquals(2, decoder.size());
+        assertEquals(1, decoder.evictionCount());
+        decoder.decode("4");
+        decoder.decode("3");
+        assertEquals(3, counting.calls);
+        decoder.decode("2");
+        assertEquals(4, counting.calls);
+    }
+
+    @Test
+    public void evicts_by_total_bytes() {
+        final CachingDecoder decoder = Base58.newCachingDecoder(10, 3);
+        decoder.decode("LUv");
+        decoder.decode("5R");
+        assertEquals(1, decoder.size());
+        assertEquals(2, decoder.cachedBytes());
+        assertEquals(1, decoder.evictionCount());
+    }
+
+    @Test
+    public void does_not_cache_results_larger_than_max_bytes() {
+        final CachingDecoder decoder = Base58.newCachingDecoder(10, 1);
+        assertArrayEquals(new byte[]{(byte) 255, (byte) 255}, decoder.decode("LUv"));
+        assertEquals(0, decoder.size());
+        assertEquals(0, decoder.cachedBytes());
+    }
+
+    @Test
+    public void clear() {
+        final CachingDecoder decoder = Base58.newCachingDecoder(10, 1000);
+        decoder.decode("LUv");
+        decoder.decode("5R");
+        decoder.clear();
+        assertEquals(0, decoder.size());
+        assertEquals(0, decoder.cachedBytes());
+    }
+
+    @Test
+    public void bad_characters_are_not_cached() {
+        final CachingDecoder decoder = Base58.newCachingDecoder(10, 1000);
+        assertThatThrownBy(() -> decoder.decode("0"))
+                .isInstanceOf(BadCharacterException.class);
+        assertEquals(0, decoder.size());
+    }
+
+    @Test
+    public void negative_max_entries() {
+        assertThatThrownBy(() -> Base58.newCachingDecoder(-1, 1000))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void parallel_decode() throws InterruptedException {
+        final CachingDecoder decoder = Base58.newCachingDecoder(100, 100000);
+        final ParallelTasks parallelTasks = new ParallelTasks();
+        for (int i = 0; i < 1000; i++) {
+            final byte[] expected = new byte[]{(byte) (i % 50), 1};
+            final String base58 = Base58.base58Encode(expected);
+            parallelTasks.add(() -> {
+                final byte[] actual = decoder.decode(base58);
+                return () -> assertArrayEquals(expected, actual);
+            });
+        }
+        parallelTasks.go();
+    }
+
+    @Test
+    public void try_decode_caches() {
+        final CountingDecoder counting = new CountingDecoder();
+        final CachingDecoder decoder = Base58.newCachingDecoder(counting, 10, 1000);
+        final byte[] output = new byte[3];
+        assertEquals(2, decoder.tryDecode("LUv", output, 1));
+        assertEquals(2, decoder.tryDecode("LUv", output, 0));
+        assertArrayEquals(new byte[]{(byte) 255, (byte) 255, (byte) 255}, output);
+        assertEquals(1, counting.calls);
+        assertEquals(1, decoder.hitCount());
+    }
+
+    @Test
+    public void try_decode_output_too_small_on_hit() {
+        final CachingDecoder decoder = Base58.newCachingDecoder(10, 1000);
+        decoder.decode("LUv");
+        final int status = decoder.tryDecode("LUv", new byte[2], 1);
+        assertTrue(DecodeStatus.isOutputTooSmall(status));
+        assertEquals(2, DecodeStatus.requiredLength(status));
+    }
+
+    @Test
+    public void try_decode_bad_character_not_cached() {
+        final CachingDecoder decoder = Base58.newCachingDecoder(10, 1000);
+        final int status = decoder.tryDecode("LU0", new byte[2], 0);
+        assertTrue(DecodeStatus.isBadCharacter(status));
+        assertEquals(2, DecodeStatus.badCharacterIndex(status));
+        assertEquals(0, decoder.size());
+    }
+
+    @Test
+    public void try_decode_with_plain_decoder_delegate() {
+        final CachingDecoder decoder = Base58.newCachingDecoder(Base58::base58Decode, 10, 1000);
+        final byte[] output = new byte[2];
+        assertEquals(2, decoder.tryDecode("LUv", output, 0));
+        assertArrayEquals(new byte[]{(byte) 255, (byte) 255}, output);
+        assertThatThrownBy(() -> decoder.tryDecode("0", output, 0))
+                .isInstanceOf(BadCharacterException.class);
+    }
+
+    private static final class CountingDecoder implements Decoder {
+        int calls;
+
+        @Override
+        public byte[] decode(final CharSequence base58) {
+            calls++;
+            return Base58.base58Decode(base58);
+        }
+    }
+}
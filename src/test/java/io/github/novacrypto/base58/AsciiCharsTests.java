@@ -0,0 +1,68 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+
+public final class AsciiCharsTests {
+
+    private static CharSequence chars(final String ascii) {
+        final ByteBuffer buffer = ByteBuffer.wrap(("xx" + ascii + "yy").getBytes(StandardCharsets.US_ASCII));
+        buffer.position(2);
+        buffer.limit(2 + ascii.length());
+        return new ConstantTimeEncoderDecoder.AsciiChars().of(buffer);
+    }
+
+    @Test
+    public void reads_between_position_and_limit() {
+        final CharSequence chars = chars("3mJr7");
+        assertEquals(5, chars.length());
+        assertEquals('3', chars.charAt(0));
+        assertEquals("3mJr7", chars.toString());
+    }
+
+    @Test
+    public void sub_sequence() {
+        final CharSequence chars = chars("3mJr7");
+        assertEquals("mJr", chars.subSequence(1, 4).toString());
+        assertEquals("J", chars.subSequence(1, 4).subSequence(1, 2).toString());
+        assertEquals("", chars.subSequence(5, 5).toString());
+    }
+
+    @Test
+    public void sub_sequence_out_of_range() {
+        final CharSequence chars = chars("3mJr7");
+        assertThatThrownBy(() -> chars.subSequence(0, 6))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> chars.subSequence(3, 2))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> chars.subSequence(-1, 2))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
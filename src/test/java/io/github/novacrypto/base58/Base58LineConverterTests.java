@@ -0,0 +1,239 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static io.github.novacrypto.base58.Base58LineConverter.Conversion.BASE58_TO_BINARY;
+import static io.github.novacrypto.base58.Base58LineConverter.Conversion.BASE58_TO_HEX;
+import static io.github.novacrypto.base58.Base58LineConverter.Conversion.BINARY_TO_BASE58;
+import static io.github.novacrypto.base58.Base58LineConverter.Conversion.HEX_TO_BASE58;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public final class Base58LineConverterTests {
+
+    private Path input;
+    private Path output;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws IOException {
+        input = Files.createTempFile("base58", ".in");
+        output = Files.createTempFile("base58", ".out");
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        executor.shutdown();
+        Files.deleteIfExists(input);
+        Files.deleteIfExists(output);
+    }
+
+    private static byte[][] randomIds(final int count) {
+        final Random random = new Random(37);
+        final byte[][] ids = new byte[count][];
+        for (int i = 0; i < count; i++) {
+            ids[i] = new byte[random.nextInt(40)];
+            random.nextBytes(ids[i]);
+            if (ids[i].length > 0 && random.nextInt(4) == 0)
+                ids[i][0] = 0;
+        }
+        return ids;
+    }
+
+    private static String hex(final byte[] bytes) {
+        final StringBuilder sb = new StringBuilder();
+        for (final byte b : bytes) {
+            sb.append(String.format("%02x", b & 0xff));
+        }
+        return sb.toString();
+    }
+
+    private static String base58Lines(final byte[][] ids) {
+        final StringBuilder sb = new StringBuilder();
+        for (final byte[] id : ids) {
+            sb.append(Base58.base58Encode(id)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String hexLines(final byte[][] ids) {
+        final StringBuilder sb = new StringBuilder();
+        for (final byte[] id : ids) {
+            sb.append(hex(id)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static byte[] binaryRecords(final byte[][] ids) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        for (final byte[] id : ids) {
+            out.writeInt(id.length);
+            out.write(id);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void givenInput(final String text) throws IOException {
+        Files.write(input, text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String outputText() throws IOException {
+        return new String(Files.readAllBytes(output), StandardCharsets.US_ASCII);
+    }
+
+    private static Base58LineConverter converter(final Base58LineConverter.Conversion conversion,
+                                                 final int windowSize) {
+        return new Base58LineConverter(conversion, Base58Alphabet.BITCOIN, windowSize);
+    }
+
+    @Test
+    public void base58_to_hex() throws IOException {
+        final byte[][] ids = randomIds(500);
+        givenInput(base58Lines(ids));
+        assertEquals(500, Base58.newLineConverter(BASE58_TO_HEX).convert(input, output));
+        assertEquals(hexLines(ids), outputText());
+    }
+
+    @Test
+    public void base58_to_hex_in_parallel_small_windows() throws IOException, InterruptedException {
+        final byte[][] ids = randomIds(2000);
+        givenInput(base58Lines(ids));
+        assertEquals(2000, converter(BASE58_TO_HEX, 1000).convert(input, output, executor, 3));
+        assertEquals(hexLines(ids), outputText());
+    }
+
+    @Test
+    public void hex_to_base58() throws IOException, InterruptedException {
+        final byte[][] ids = randomIds(2000);
+        givenInput(hexLines(ids).toUpperCase());
+        assertEquals(2000, converter(HEX_TO_BASE58, 999).convert(input, output, executor, 3));
+        assertEquals(base58Lines(ids), outputText());
+    }
+
+    @Test
+    public void base58_to_binary_and_back() throws IOException, InterruptedException {
+        final byte[][] ids = randomIds(2000);
+        givenInput(base58Lines(ids));
+        assertEquals(2000, converter(BASE58_TO_BINARY, 1001).convert(input, output, executor, 3));
+        assertArrayEquals(binaryRecords(ids), Files.readAllBytes(output));
+
+        Files.write(input, binaryRecords(ids));
+        assertEquals(2000, converter(BINARY_TO_BASE58, 997).convert(input, output, executor, 2));
+        assertEquals(base58Lines(ids), outputText());
+    }
+
+    @Test
+    public void crlf_and_no_final_newline() throws IOException {
+        givenInput("LUv\r\n\r\n115R");
+        assertEquals(3, Base58.newLineConverter(BASE58_TO_HEX).convert(input, output));
+        assertEquals("ffff\n\n00000100\n", outputText());
+    }
+
+    @Test
+    public void empty_file() throws IOException {
+        givenInput("");
+        assertEquals(0, Base58.newLineConverter(BASE58_TO_HEX).convert(input, output));
+        assertEquals("", outputText());
+    }
+
+    @Test
+    public void line_longer_than_window() throws IOException {
+        final byte[][] ids = randomIds(50);
+        givenInput(base58Lines(ids));
+        assertEquals(50, converter(BASE58_TO_HEX, 4).convert(input, output));
+        assertEquals(hexLines(ids), outputText());
+    }
+
+    @Test
+    public void alphabet() throws IOException {
+        final byte[] id = {0, 1, 2, 3};
+        givenInput(Base58.newInstance(Base58Alphabet.RIPPLE).encode(id) + "\n");
+        Base58.newLineConverter(BASE58_TO_HEX, Base58Alphabet.RIPPLE).convert(input, output);
+        assertEquals("00010203\n", outputText());
+    }
+
+    @Test
+    public void bad_character() throws IOException {
+        givenInput("LUv\nLU0\n");
+        assertThatThrownBy(() -> converter(BASE58_TO_HEX, 100).convert(input, output, executor, 2))
+                .isInstanceOf(BadCharacterException.class)
+                .hasMessage("Bad character in base58 string, '0' in line at 4")
+                .hasCauseInstanceOf(BadCharacterException.class);
+    }
+
+    @Test
+    public void error_positions_are_in_the_file_not_the_window() throws IOException {
+        givenInput("ff\nff\nff\nfg\n");
+        assertThatThrownBy(() -> converter(HEX_TO_BASE58, 4).convert(input, output))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Bad hex character at 10");
+        givenInput("ff\nff\nfff\n");
+        assertThatThrownBy(() -> converter(HEX_TO_BASE58, 4).convert(input, output))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Odd number of hex characters in line at 6");
+        givenInput("LUv\nLUv\nLU0\n");
+        assertThatThrownBy(() -> converter(BASE58_TO_BINARY, 4).convert(input, output))
+                .isInstanceOf(BadCharacterException.class)
+                .hasMessage("Bad character in base58 string, '0' in line at 8");
+        Files.write(input, new byte[]{0, 0, 0, 1, 1, 0, 0, 0, 5, 1, 2});
+        assertThatThrownBy(() -> converter(BINARY_TO_BASE58, 4).convert(input, output))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Truncated record at 5");
+    }
+
+    @Test
+    public void bad_hex() throws IOException {
+        givenInput("ff\nfg\n");
+        assertThatThrownBy(() -> Base58.newLineConverter(HEX_TO_BASE58).convert(input, output))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Bad hex character at 4");
+        givenInput("fff\n");
+        assertThatThrownBy(() -> Base58.newLineConverter(HEX_TO_BASE58).convert(input, output))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void truncated_binary_record() throws IOException {
+        Files.write(input, new byte[]{0, 0, 0, 5, 1, 2});
+        assertThatThrownBy(() -> Base58.newLineConverter(BINARY_TO_BASE58).convert(input, output))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Truncated record at 0");
+    }
+}
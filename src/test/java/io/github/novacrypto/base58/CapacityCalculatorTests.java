@@ -24,9 +24,17 @@ package io.github.novacrypto.base58;
 
 import org.junit.Test;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
 import static io.github.novacrypto.base58.Base58.base58Encode;
+import static io.github.novacrypto.base58.CapacityCalculator.isPlausibleLength;
+import static io.github.novacrypto.base58.CapacityCalculator.isPossibleLength;
 import static io.github.novacrypto.base58.CapacityCalculator.maximumBase58StringLength;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public final class CapacityCalculatorTests {
 
@@ -44,6 +52,92 @@ public final class CapacityCalculatorTests {
         }
     }
 
+    @Test
+    public void zero_and_negative_lengths() {
+        assertEquals(0, maximumBase58StringLength(0));
+        assertEquals(0, maximumBase58StringLength(-1));
+    }
+
+    @Test
+    public void integer_calculation_matches_high_precision_ceiling() {
+        final Random random = new Random(58);
+        for (int i = 0; i < 100_000; i++) {
+            final int byteLength = random.nextInt(Integer.MAX_VALUE / 2) + 1;
+            assertEquals(highPrecisionMaxLength(byteLength), maximumBase58StringLength(byteLength));
+        }
+    }
+
+    @Test
+    public void integer_calculation_near_whole_numbers() {
+        // Denominators of the best rational approximations of 8 / Log2(58), and their multiples
+        final int[] nearWhole = {2, 3, 8, 11, 41, 93, 134, 495, 1124, 6115, 7239, 49549, 2137846, 2187395,
+                4325241, 10837877, 979734171, 10837877 + 2 * 979734171};
+        for (final int byteLength : nearWhole) {
+            for (int multiple = 1; multiple < 20 && (long) byteLength * multiple < Integer.MAX_VALUE / 2; multiple++) {
+                assertEquals(highPrecisionMaxLength(byteLength * multiple),
+                        maximumBase58StringLength(byteLength * multiple));
+            }
+            assertEquals(highPrecisionMaxLength(byteLength), maximumBase58StringLength(byteLength));
+        }
+    }
+
+    @Test
+    public void public_maximum_encoded_length() {
+        assertEquals(maximumBase58StringLength(25), Base58.maximumEncodedLength(25));
+    }
+
+    @Test
+    public void smallest_significant_value_has_as_many_characters_as_max_value_one_byte_shorter() {
+        for (int byteLength = 2; byteLength < 500; byteLength++) {
+            final byte[] smallest = new byte[byteLength];
+            smallest[0] = 1;
+            assertEquals(maximumBase58StringLength(byteLength - 1), base58Encode(smallest).length());
+        }
+    }
+
+    @Test
+    public void plausible_lengths_include_smallest_and_largest_values() {
+        for (int byteLength = 1; byteLength < 300; byteLength++) {
+            final byte[] smallest = new byte[byteLength];
+            smallest[0] = 1;
+            assertTrue(isPlausibleLength(base58Encode(smallest).length(), byteLength));
+            assertTrue(isPlausibleLength(actualMaxLengthOfBytes(byteLength), byteLength));
+            assertTrue(isPossibleLength(base58Encode(smallest).length(), byteLength));
+            assertTrue(isPossibleLength(actualMaxLengthOfBytes(byteLength), byteLength));
+            assertTrue(isPossibleLength(byteLength, byteLength));
+        }
+    }
+
+    @Test
+    public void implausible_lengths() {
+        assertTrue(isPlausibleLength(0, 0));
+        assertFalse(isPlausibleLength(1, 0));
+        assertFalse(isPlausibleLength(0, 1));
+        assertFalse(isPlausibleLength(0, -1));
+        assertFalse(isPlausibleLength(3, 1));
+        assertFalse(isPlausibleLength(34, 32));
+        assertFalse(isPlausibleLength(45, 32));
+        assertFalse(isPlausibleLength(43, 33));
+    }
+
+    @Test
+    public void impossible_lengths() {
+        assertTrue(isPossibleLength(0, 0));
+        assertFalse(isPossibleLength(1, 0));
+        assertFalse(isPossibleLength(0, -1));
+        assertFalse(isPossibleLength(31, 32));
+        assertFalse(isPossibleLength(45, 32));
+    }
+
+    private static final BigDecimal STORAGE_RATIO =
+            new BigDecimal("1.3656582373097610369574041812076424320848143970072298011945835586277917674736090");
+
+    private static int highPrecisionMaxLength(final int byteLength) {
+        final BigDecimal exact = STORAGE_RATIO.multiply(BigDecimal.valueOf(byteLength));
+        final long ceiling = exact.setScale(0, RoundingMode.CEILING).longValueExact();
+        return (int) Math.min(ceiling, Integer.MAX_VALUE);
+    }
+
     private static int actualMaxLengthOfBytes(final int byteLength) {
         return base58Encode(getBytesWithMaxValue(byteLength)).length();
     }
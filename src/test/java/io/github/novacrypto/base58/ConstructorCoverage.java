@@ -40,4 +40,34 @@ public final class ConstructorCoverage {
         assertNotNull(new CapacityCalculator());
     }
 
+    @Test
+    public void asciiWords_constructor_for_coverage_only() {
+        //noinspection ObviousNullCheck
+        assertNotNull(new AsciiWords());
+    }
+
+    @Test
+    public void latin1Strings_constructor_for_coverage_only() {
+        //noinspection ObviousNullCheck
+        assertNotNull(new Latin1Strings());
+    }
+
+    @Test
+    public void decodeStatus_constructor_for_coverage_only() {
+        //noinspection ObviousNullCheck
+        assertNotNull(new DecodeStatus());
+    }
+
+    @Test
+    public void charSequences_constructor_for_coverage_only() {
+        //noinspection ObviousNullCheck
+        assertNotNull(new CharSequences());
+    }
+
+    @Test
+    public void tasks_constructor_for_coverage_only() {
+        //noinspection ObviousNullCheck
+        assertNotNull(new Tasks());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+/*
+ *  Base58 library, a Java implementation of Base58 encode/decode
+ *
+ *  Copyright (C) 2017-2022 Alan Evans, NovaCrypto
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 3 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ *  Original source: https://github.com/NovaCrypto/Base58
+ *  You can contact the authors via github issues.
+ */
+
+package io.github.novacrypto.base58;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public final class SameLengthKernelTests {
+
+    @Test
+    public void divide_by_58_is_exact_for_every_intermediate_value() {
+        for (int n = 0; n < 58 * 256; n++) {
+            assertEquals(n / 58, (n * SameLengthKernel.DIVIDE_BY_58) >>> SameLengthKernel.DIVIDE_BY_58_SHIFT);
+        }
+    }
+
+    @Test
+    public void interleaved_kernel_matches_engine_digits() {
+        assertKernelMatchesEngine(new InterleavedSameLengthKernel());
+    }
+
+    @Test
+    public void selected_kernel_matches_engine_digits() {
+        final SameLengthKernel kernel = SameLengthKernels.create();
+        assertTrue(kernel.lanes() >= 4 && kernel.lanes() <= 16);
+        assertKernelMatchesEngine(kernel);
+    }
+
+    private static void assertKernelMatchesEngine(final SameLengthKernel kernel) {
+        final Random random = new Random(48);
+        final int lanes = kernel.lanes();
+        for (final int length : new int[]{1, 5, 25, 32}) {
+            final int width = CapacityCalculator.maximumBase58StringLength(length);
+            final byte[] data = new byte[lanes * length];
+            random.nextBytes(data);
+            final int[] digits = new int[width * lanes];
+            kernel.toDigits(data, 0, length, digits, width);
+            final WorkingBuffer d = new ByteArrayWorkingBuffer();
+            for (int l = 0; l < lanes; l++) {
+                d.setCapacity(width);
+                int dlen = -1;
+                for (int i = 0; i < length; i++) {
+                    dlen = Base58EncoderDecoder.multiplyAdd256(d, dlen, data[l * length + i] & 0xff);
+                }
+                for (int j = 0; j < width; j++) {
+                    assertEquals(j <= dlen ? d.get(j) : 0, digits[j * lanes + l]);
+                }
+            }
+        }
+    }
+}